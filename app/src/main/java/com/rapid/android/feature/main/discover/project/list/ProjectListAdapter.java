@@ -14,29 +14,37 @@ import com.rapid.android.R;
 import com.rapid.android.core.domain.model.ProjectPageBean;
 import com.rapid.android.core.image.ImageLoader;
 import com.rapid.android.feature.web.ArticleWebViewUtil;
+import com.rapid.android.ui.common.BackgroundDiffer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class ProjectListAdapter extends RecyclerView.Adapter<ProjectListAdapter.ProjectViewHolder> {
 
-    private final List<ProjectPageBean.ProjectItemBean> items = new ArrayList<>();
+    private static final BackgroundDiffer.ItemKeys<ProjectPageBean.ProjectItemBean> PROJECT_KEYS =
+            new BackgroundDiffer.ItemKeys<ProjectPageBean.ProjectItemBean>() {
+                @Override
+                public long id(@NonNull ProjectPageBean.ProjectItemBean item) {
+                    return item.getId();
+                }
+
+                @Override
+                public long contentHash(@NonNull ProjectPageBean.ProjectItemBean item) {
+                    return Objects.hash(item.getTitle(), item.getDesc(), item.getAuthor(), item.getShareUser(),
+                            item.getNiceDate(), item.getSuperChapterName(), item.getEnvelopePic(),
+                            item.getLink(), item.getProjectLink());
+                }
+            };
+
+    private final BackgroundDiffer<ProjectPageBean.ProjectItemBean> differ = new BackgroundDiffer<>(this, PROJECT_KEYS);
 
     public void submitNewList(List<ProjectPageBean.ProjectItemBean> data) {
-        items.clear();
-        if (data != null) {
-            items.addAll(data);
-        }
-        notifyDataSetChanged();
+        differ.submitList(data != null ? new ArrayList<>(data) : null);
     }
 
     public void appendList(List<ProjectPageBean.ProjectItemBean> more) {
-        if (more == null || more.isEmpty()) {
-            return;
-        }
-        int start = items.size();
-        items.addAll(more);
-        notifyItemRangeInserted(start, more.size());
+        differ.append(more);
     }
 
     @NonNull
@@ -49,7 +57,7 @@ public class ProjectListAdapter extends RecyclerView.Adapter<ProjectListAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ProjectViewHolder holder, int position) {
-        ProjectPageBean.ProjectItemBean item = items.get(position);
+        ProjectPageBean.ProjectItemBean item = differ.getCurrentList().get(position);
         holder.title.setText(item.getTitle());
         if (!TextUtils.isEmpty(item.getDesc())) {
             holder.desc.setVisibility(View.VISIBLE);
@@ -90,7 +98,7 @@ public class ProjectListAdapter extends RecyclerView.Adapter<ProjectListAdapter.
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return differ.getCurrentList().size();
     }
 
     static class ProjectViewHolder extends RecyclerView.ViewHolder {
@@ -9,7 +9,6 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.core.ui.presentation.BaseFragment;
 import com.rapid.android.databinding.FragmentSystemCategoryChildBinding;
@@ -18,6 +17,7 @@ import com.rapid.android.feature.main.discover.system.list.SystemArticleListView
 import com.rapid.android.ui.common.BackToTopController;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 
 public class SystemCategoryChildFragment extends BaseFragment<SystemArticleListViewModel, FragmentSystemCategoryChildBinding> {
 
@@ -61,27 +61,7 @@ public class SystemCategoryChildFragment extends BaseFragment<SystemArticleListV
 
         backToTopController = BackToTopController.attach(binding.fabBackToTop, binding.recyclerView);
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                if (dy <= 0) {
-                    return;
-                }
-                RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
-                if (!(layoutManager instanceof LinearLayoutManager)) {
-                    return;
-                }
-                LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
-                int totalItemCount = linearLayoutManager.getItemCount();
-                int lastVisible = linearLayoutManager.findLastVisibleItemPosition();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                if (lastVisible >= totalItemCount - 3) {
-                    viewModel.loadMore();
-                }
-            }
-        });
+        binding.recyclerView.addOnScrollListener(new PagingScrollListener(viewModel::onListScrolled));
     }
 
     @Override
@@ -7,7 +7,6 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
 import com.rapid.android.core.ui.presentation.BaseActivity;
@@ -15,6 +14,7 @@ import com.rapid.android.databinding.ActivitySystemArticleListBinding;
 import com.rapid.android.ui.common.BackToTopController;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 
 public class SystemArticleListActivity extends BaseActivity<SystemArticleListViewModel, ActivitySystemArticleListBinding> {
 
@@ -67,27 +67,7 @@ public class SystemArticleListActivity extends BaseActivity<SystemArticleListVie
 
         backToTopController = BackToTopController.attach(binding.fabBackToTop, binding.recyclerView);
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                if (dy <= 0) {
-                    return;
-                }
-                RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
-                if (!(layoutManager instanceof LinearLayoutManager)) {
-                    return;
-                }
-                LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
-                int totalItemCount = linearLayoutManager.getItemCount();
-                int lastVisible = linearLayoutManager.findLastVisibleItemPosition();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                if (lastVisible >= totalItemCount - 3) {
-                    viewModel.loadMore();
-                }
-            }
-        });
+        binding.recyclerView.addOnScrollListener(new PagingScrollListener(viewModel::onListScrolled));
     }
 
     @Override
@@ -12,20 +12,19 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.rapid.android.R;
 import com.rapid.android.core.domain.model.ArticleListBean;
 import com.rapid.android.feature.web.ArticleWebViewUtil;
+import com.rapid.android.ui.common.ArticleItemKeys;
+import com.rapid.android.ui.common.BackgroundDiffer;
+import com.rapid.android.ui.common.paging.ChunkedList;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public final class SystemArticleListAdapter extends RecyclerView.Adapter<SystemArticleListAdapter.SystemArticleViewHolder> {
 
-    private final List<ArticleListBean.Data> items = new ArrayList<>();
+    private final BackgroundDiffer<ArticleListBean.Data> differ = new BackgroundDiffer<>(this, ArticleItemKeys.INSTANCE);
 
     public void submitNewList(List<ArticleListBean.Data> data) {
-        items.clear();
-        if (data != null) {
-            items.addAll(data);
-        }
-        notifyDataSetChanged();
+        differ.submitList(data instanceof ChunkedList || data == null ? data : new ArrayList<>(data));
     }
 
     @NonNull
@@ -38,12 +37,12 @@ public final class SystemArticleListAdapter extends RecyclerView.Adapter<SystemA
 
     @Override
     public void onBindViewHolder(@NonNull SystemArticleViewHolder holder, int position) {
-        holder.bind(items.get(position));
+        holder.bind(differ.getCurrentList().get(position));
     }
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return differ.getCurrentList().size();
     }
 
     static class SystemArticleViewHolder extends RecyclerView.ViewHolder {
@@ -25,7 +25,8 @@ public class SystemArticleListViewModel extends BaseViewModel {
     private final ContentRepository repository = RepositoryProvider.getContentRepository();
     private int categoryId;
     private final PagingController<ArticleListBean.Data> pagingController =
-            new PagingController<>(this, 0, this::fetchArticlesPage);
+            new PagingController<ArticleListBean.Data>(this, 0, this::fetchArticlesPage)
+                    .setKeepReservePage(true);
 
     public MutableLiveData<List<ArticleListBean.Data>> getArticleItems() {
         return pagingController.getItemsLiveData();
@@ -74,6 +75,13 @@ public class SystemArticleListViewModel extends BaseViewModel {
         pagingController.loadMore();
     }
 
+    public void onListScrolled(int lastVisiblePosition, int itemCount) {
+        if (categoryId <= 0) {
+            return;
+        }
+        pagingController.onScrollPosition(lastVisiblePosition, itemCount);
+    }
+
     private Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> fetchArticlesPage(int page) {
         if (categoryId <= 0) {
             errorMessage.setValue(BaseApplication.getAppContext()
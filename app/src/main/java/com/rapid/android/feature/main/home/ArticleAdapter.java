@@ -7,34 +7,33 @@ import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
+import com.rapid.android.core.common.app.BaseApplication;
 import com.rapid.android.core.common.text.StringUtils;
-import com.rapid.android.core.data.repository.RepositoryProvider;
+import com.rapid.android.core.data.collect.CollectMutationQueue;
+import com.rapid.android.core.data.collect.CollectedArticleIndex;
 import com.rapid.android.core.data.session.SessionManager;
 import com.rapid.android.core.domain.model.ArticleListBean;
-import com.rapid.android.core.domain.repository.UserRepository;
-import com.rapid.android.core.domain.result.DomainResult;
 import com.rapid.android.core.ui.components.dialog.DialogController;
 import com.rapid.android.core.ui.utils.ToastViewUtils;
 import com.rapid.android.databinding.ItemArticleBinding;
 import com.rapid.android.feature.login.LoginActivity;
 import com.rapid.android.feature.web.ArticleWebViewUtil;
+import com.rapid.android.ui.common.ArticleItemKeys;
+import com.rapid.android.ui.common.BackgroundDiffer;
+import com.rapid.android.ui.common.paging.ChunkedList;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.disposables.CompositeDisposable;
-import io.reactivex.rxjava3.disposables.Disposable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
-
 public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleViewHolder> {
-    private final List<ArticleListBean.Data> items = new ArrayList<>();
-    private final UserRepository userRepository = RepositoryProvider.getUserRepository();
-    private final CompositeDisposable disposables = new CompositeDisposable();
+    private final BackgroundDiffer<ArticleListBean.Data> differ = new BackgroundDiffer<>(this, ArticleItemKeys.INSTANCE);
+    private final CollectMutationQueue collectQueue = CollectMutationQueue.getInstance();
+    private final CollectMutationQueue.Listener revertListener = this::onCollectReverted;
+    private final CollectedArticleIndex collectedIndex = CollectedArticleIndex.getInstance();
+    private final CollectedArticleIndex.Listener indexListener = this::onCollectChanged;
     @Nullable
     private final DialogController dialogController;
     private final boolean forceTopFlag;
@@ -55,20 +54,12 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
     }
 
     public void submitList(List<ArticleListBean.Data> data) {
-        List<ArticleListBean.Data> newItems = data != null ? new ArrayList<>(data) : new ArrayList<>();
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new FeedDiffCallback(items, newItems));
-        items.clear();
-        items.addAll(newItems);
-        diffResult.dispatchUpdatesTo(this);
+        // ChunkedList 不可变，可直接交给 differ 持有，其它列表先复制一份
+        differ.submitList(data instanceof ChunkedList || data == null ? data : new ArrayList<>(data));
     }
 
     public void appendList(List<ArticleListBean.Data> more) {
-        if (more == null || more.isEmpty()) {
-            return;
-        }
-        int start = items.size();
-        items.addAll(more);
-        notifyItemRangeInserted(start, more.size());
+        differ.append(more);
     }
 
     @NonNull
@@ -79,24 +70,72 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
                 parent,
                 false
         );
-        return new ArticleViewHolder(binding, userRepository, disposables, dialogController);
+        return new ArticleViewHolder(binding, collectQueue, collectedIndex, dialogController);
     }
 
     @Override
     public void onBindViewHolder(@NonNull ArticleViewHolder holder, int position) {
-        ArticleListBean.Data item = items.get(position);
+        ArticleListBean.Data item = differ.getCurrentList().get(position);
+        // 分页窗口回收的条目为 null，重新填充前先显示占位
+        if (item == null) {
+            holder.bindPlaceholder();
+            return;
+        }
         holder.bind(item, isTopArticle(item));
     }
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        collectQueue.addListener(revertListener);
+        collectedIndex.addListener(indexListener);
     }
 
     @Override
     public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
         super.onDetachedFromRecyclerView(recyclerView);
-        disposables.clear();
+        collectQueue.removeListener(revertListener);
+        collectedIndex.removeListener(indexListener);
+    }
+
+    /**
+     * 收藏索引变化（包括其它页面的操作），重新绑定对应条目。
+     * 条目对象同时被后台 diff 线程读取，这里不修改它们，绑定时直接从索引读取状态
+     */
+    private void onCollectChanged(int articleId, boolean collected) {
+        List<ArticleListBean.Data> items = differ.getCurrentList();
+        if (articleId == CollectedArticleIndex.ALL_ARTICLES) {
+            notifyItemRangeChanged(0, items.size());
+            return;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            ArticleListBean.Data item = items.get(i);
+            if (item != null && item.getId() == articleId) {
+                notifyItemChanged(i);
+            }
+        }
+    }
+
+    /**
+     * 服务端拒绝了乐观更新，条目已随索引回滚，这里只负责提示
+     */
+    private void onCollectReverted(int articleId, boolean collected) {
+        boolean shown = false;
+        for (ArticleListBean.Data item : differ.getCurrentList()) {
+            if (item != null && item.getId() == articleId) {
+                shown = true;
+                break;
+            }
+        }
+        if (shown && dialogController != null) {
+            ToastViewUtils.showShortToast(dialogController,
+                    BaseApplication.getAppContext().getString(R.string.article_collect_failed));
+        }
     }
 
     private boolean isTopArticle(@NonNull ArticleListBean.Data item) {
@@ -105,20 +144,19 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
 
     public static class ArticleViewHolder extends RecyclerView.ViewHolder {
         private final ItemArticleBinding binding;
-        private final UserRepository userRepository;
-        private final CompositeDisposable disposables;
+        private final CollectMutationQueue collectQueue;
+        private final CollectedArticleIndex collectedIndex;
         @Nullable
         private final DialogController dialogController;
-        private boolean collectRequestRunning = false;
 
         public ArticleViewHolder(@NonNull ItemArticleBinding binding,
-                                 @NonNull UserRepository userRepository,
-                                 @NonNull CompositeDisposable disposables,
+                                 @NonNull CollectMutationQueue collectQueue,
+                                 @NonNull CollectedArticleIndex collectedIndex,
                                  @Nullable DialogController dialogController) {
             super(binding.getRoot());
             this.binding = binding;
-            this.userRepository = userRepository;
-            this.disposables = disposables;
+            this.collectQueue = collectQueue;
+            this.collectedIndex = collectedIndex;
             this.dialogController = dialogController;
         }
 
@@ -135,8 +173,9 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
             binding.tvClass.setText(data.getSuperChapterName());
             renderTopTag(isTopArticle);
             binding.ivFavorite.setEnabled(true);
-            collectRequestRunning = false;
-            renderFavorite(data.isCollect());
+            // 以进程内收藏索引为准，其它页面的收藏操作与未同步的本地意图都已反映在索引中；
+            // 只用于渲染，不回写到与 diff 线程共享的条目
+            renderFavorite(collectedIndex.isCollected(data.getId(), data.isCollect()));
 
             binding.getRoot().setOnClickListener(v -> ArticleWebViewUtil.start(binding.getRoot().getContext(), data));
 
@@ -145,10 +184,18 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
             });
         }
 
+        public void bindPlaceholder() {
+            binding.tvAuthor.setText(null);
+            binding.tvTitle.setText(null);
+            binding.tvTime.setText(null);
+            binding.tvClass.setText(null);
+            renderTopTag(false);
+            binding.ivFavorite.setEnabled(false);
+            binding.getRoot().setOnClickListener(null);
+            binding.ivFavorite.setOnClickListener(null);
+        }
+
         private void handleFavoriteToggle(@NonNull ArticleListBean.Data data) {
-            if (collectRequestRunning) {
-                return;
-            }
             int articleId = data.getId();
             if (articleId <= 0) {
                 showShortToast(binding.getRoot().getContext().getString(R.string.article_collect_failed));
@@ -159,44 +206,14 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
                 binding.getRoot().getContext().startActivity(new Intent(binding.getRoot().getContext(), LoginActivity.class));
                 return;
             }
-            boolean targetCollect = !data.isCollect();
-            binding.ivFavorite.setEnabled(false);
-            collectRequestRunning = true;
-            Disposable disposable;
-            if (targetCollect) {
-                disposable = userRepository.collectArticle(articleId)
-                        .subscribeOn(Schedulers.io())
-                        .observeOn(AndroidSchedulers.mainThread())
-                        .subscribe(result -> handleCollectResult(data, true, result), this::handleCollectError);
-            } else {
-                disposable = userRepository.unCollectArticle(articleId)
-                        .subscribeOn(Schedulers.io())
-                        .observeOn(AndroidSchedulers.mainThread())
-                        .subscribe(result -> handleCollectResult(data, false, result), this::handleCollectError);
-            }
-            disposables.add(disposable);
-        }
-
-        private void handleCollectResult(@NonNull ArticleListBean.Data data,
-                                         boolean targetCollect,
-                                         DomainResult<String> result) {
-            collectRequestRunning = false;
-            binding.ivFavorite.setEnabled(true);
-            if (result != null && result.isSuccess()) {
-                data.setCollect(targetCollect);
-                renderFavorite(targetCollect);
-                showShortToast(binding.getRoot().getContext().getString(
-                        targetCollect ? R.string.article_collect_success : R.string.article_uncollect_success
-                ));
-            } else {
-                showShortToast(binding.getRoot().getContext().getString(R.string.article_collect_failed));
-            }
-        }
-
-        private void handleCollectError(@NonNull Throwable throwable) {
-            collectRequestRunning = false;
-            binding.ivFavorite.setEnabled(true);
-            showShortToast(binding.getRoot().getContext().getString(R.string.article_collect_failed));
+            // 乐观更新：先改界面，再交给写队列合并与同步；队列同步更新索引，失败时随索引回滚
+            boolean collected = collectedIndex.isCollected(articleId, data.isCollect());
+            boolean targetCollect = !collected;
+            renderFavorite(targetCollect);
+            collectQueue.enqueue(articleId, collected, targetCollect);
+            showShortToast(binding.getRoot().getContext().getString(
+                    targetCollect ? R.string.article_collect_success : R.string.article_uncollect_success
+            ));
         }
 
         private void renderFavorite(boolean collected) {
@@ -217,42 +234,4 @@ public class ArticleAdapter extends RecyclerView.Adapter<ArticleAdapter.ArticleV
             ToastViewUtils.showShortToast(dialogController, message);
         }
     }
-
-    private static class FeedDiffCallback extends DiffUtil.Callback {
-        private final List<ArticleListBean.Data> oldList;
-        private final List<ArticleListBean.Data> newList;
-
-        FeedDiffCallback(List<ArticleListBean.Data> oldList, List<ArticleListBean.Data> newList) {
-            this.oldList = oldList;
-            this.newList = newList;
-        }
-
-        @Override
-        public int getOldListSize() {
-            return oldList.size();
-        }
-
-        @Override
-        public int getNewListSize() {
-            return newList.size();
-        }
-
-        @Override
-        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-            return oldList.get(oldItemPosition).getId() == newList.get(newItemPosition).getId();
-        }
-
-        @Override
-        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-            ArticleListBean.Data oldItem = oldList.get(oldItemPosition);
-            ArticleListBean.Data newItem = newList.get(newItemPosition);
-            return oldItem.isCollect() == newItem.isCollect()
-                    && StringUtils.equals(oldItem.getTitle(), newItem.getTitle())
-                    && StringUtils.equals(oldItem.getAuthor(), newItem.getAuthor())
-                    && StringUtils.equals(oldItem.getShareUser(), newItem.getShareUser())
-                    && StringUtils.equals(oldItem.getNiceShareDate(), newItem.getNiceShareDate())
-                    && StringUtils.equals(oldItem.getNiceDate(), newItem.getNiceDate())
-                    && StringUtils.equals(oldItem.getSuperChapterName(), newItem.getSuperChapterName());
-        }
-    }
 }
@@ -8,7 +8,6 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.core.domain.model.ArticleListBean;
 import com.rapid.android.core.ui.presentation.BaseFragment;
@@ -18,6 +17,7 @@ import com.rapid.android.feature.main.home.ArticleAdapter;
 import com.rapid.android.ui.common.BackToTopController;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 
 
 public class LastProjectFragment extends BaseFragment<LastProjectViewModel, FragmentLastProjectBinding> {
@@ -93,27 +93,7 @@ public class LastProjectFragment extends BaseFragment<LastProjectViewModel, Frag
 
         backToTopController = BackToTopController.attach(binding.fabBackToTop, binding.recyclerView, tabNavigator);
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-                if (dy <= 0) {
-                    return;
-                }
-                if (layoutManager == null) {
-                    return;
-                }
-                int totalItemCount = layoutManager.getItemCount();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                int lastVisible = layoutManager.findLastVisibleItemPosition();
-                if (lastVisible >= totalItemCount - 3) {
-                    viewModel.loadMore();
-                }
-            }
-
-        });
+        binding.recyclerView.addOnScrollListener(new PagingScrollListener(viewModel::onListScrolled));
 
     }
 
@@ -23,7 +23,8 @@ public class LastProjectViewModel extends BaseViewModel {
     private final HomeRepository repository = RepositoryProvider.getHomeRepository();
 
     private final PagingController<ArticleListBean.Data> pagingController =
-            new PagingController<>(this, 0, this::fetchProjectPage);
+            new PagingController<ArticleListBean.Data>(this, 0, this::fetchProjectPage)
+                    .setKeepReservePage(true);
 
     public MutableLiveData<String> getErrorMessage() {
         return errorMessage;
@@ -57,6 +58,10 @@ public class LastProjectViewModel extends BaseViewModel {
         pagingController.loadMore();
     }
 
+    public void onListScrolled(int lastVisiblePosition, int itemCount) {
+        pagingController.onScrollPosition(lastVisiblePosition, itemCount);
+    }
+
     private io.reactivex.rxjava3.core.Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> fetchProjectPage(int page) {
         return repository.projectArticles(page)
                 .subscribeOn(Schedulers.io())
@@ -9,7 +9,6 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.ConcatAdapter;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.core.domain.model.ArticleListBean;
 import com.rapid.android.core.ui.presentation.BaseFragment;
@@ -20,6 +19,7 @@ import com.rapid.android.feature.main.home.BannerAdapter;
 import com.rapid.android.ui.common.BackToTopController;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 import com.rapid.android.ui.common.RecyclerViewOptimizer;
 
 import java.util.ArrayList;
@@ -122,27 +122,7 @@ public class RecommendFragment extends BaseFragment<RecommendViewModel, Fragment
 
         backToTopController = BackToTopController.attach(binding.fabBackToTop, binding.recyclerView, tabNavigator);
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-                if (dy <= 0) {
-                    return;
-                }
-                if (layoutManager == null) {
-                    return;
-                }
-                int totalItemCount = layoutManager.getItemCount();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                int lastVisible = layoutManager.findLastVisibleItemPosition();
-                if (lastVisible >= totalItemCount - 3) {
-                    viewModel.loadMoreArticles();
-                }
-            }
-
-        });
+        binding.recyclerView.addOnScrollListener(new PagingScrollListener(viewModel::onListScrolled));
     }
 
     private void renderTopArticles(List<ArticleListBean.Data> articles) {
@@ -38,7 +38,16 @@ public class RecommendViewModel extends BaseViewModel {
     private final ContentRepository contentRepository = RepositoryProvider.getContentRepository();
 
     private final PagingController<ArticleListBean.Data> pagingController =
-            new PagingController<>(this, 0, this::fetchArticlePage);
+            new PagingController<ArticleListBean.Data>(this, 0, this::fetchArticlePage)
+                    .setKeepReservePage(true);
+
+    public RecommendViewModel() {
+        // 置顶开关在设置页修改后直接刷新置顶区，首个值为当前值，由 refreshAll 负责加载
+        autoDispose(AppPreferencesStorage.homeTopEnabled().observe()
+                .skip(1)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(enabled -> loadHighlights()));
+    }
 
     public MutableLiveData<String> getErrorMessage() {
         return errorMessage;
@@ -91,6 +100,10 @@ public class RecommendViewModel extends BaseViewModel {
         pagingController.loadMore();
     }
 
+    public void onListScrolled(int lastVisiblePosition, int itemCount) {
+        pagingController.onScrollPosition(lastVisiblePosition, itemCount);
+    }
+
     private void loadBanner() {
         autoDispose(repository.banner()
                 .subscribeOn(Schedulers.io())
@@ -7,7 +7,6 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
 import com.rapid.android.core.data.session.SessionManager;
@@ -17,6 +16,7 @@ import com.rapid.android.core.ui.presentation.BaseActivity;
 import com.rapid.android.databinding.ActivityCoinBinding;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 
 import java.util.List;
 
@@ -95,31 +95,13 @@ public class CoinActivity extends BaseActivity<CoinViewModel, ActivityCoinBindin
             }
         });
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-                if (dy <= 0) {
-                    return;
-                }
-                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
-                if (layoutManager == null) {
-                    return;
-                }
-                int totalItemCount = layoutManager.getItemCount();
-                int lastVisible = layoutManager.findLastVisibleItemPosition();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                if (lastVisible >= totalItemCount - 3) {
-                    if (currentTab == TAB_RECORDS) {
-                        viewModel.loadMoreRecords();
-                    } else {
-                        viewModel.loadMoreRank();
-                    }
-                }
+        binding.recyclerView.addOnScrollListener(PagingScrollListener.ofRange((first, last, itemCount) -> {
+            if (currentTab == TAB_RECORDS) {
+                viewModel.onRecordsScrolled(first, last, itemCount);
+            } else {
+                viewModel.onRankScrolled(first, last, itemCount);
             }
-        });
+        }));
     }
 
     @Override
@@ -11,20 +11,33 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
 import com.rapid.android.core.domain.model.CoinRankBean;
+import com.rapid.android.ui.common.BackgroundDiffer;
+import com.rapid.android.ui.common.paging.ChunkedList;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 class CoinRankAdapter extends RecyclerView.Adapter<CoinRankAdapter.RankViewHolder> {
 
-    private final List<CoinRankBean> items = new ArrayList<>();
+    private static final BackgroundDiffer.ItemKeys<CoinRankBean> RANK_KEYS =
+            new BackgroundDiffer.ItemKeys<CoinRankBean>() {
+                @Override
+                public long id(@NonNull CoinRankBean item) {
+                    return item.getUserId();
+                }
+
+                @Override
+                public long contentHash(@NonNull CoinRankBean item) {
+                    return Objects.hash(item.getRank(), item.getNickname(), item.getUsername(),
+                            item.getLevel(), item.getCoinCount());
+                }
+            };
+
+    private final BackgroundDiffer<CoinRankBean> differ = new BackgroundDiffer<>(this, RANK_KEYS);
 
     void submitNewList(List<CoinRankBean> data) {
-        items.clear();
-        if (data != null) {
-            items.addAll(data);
-        }
-        notifyDataSetChanged();
+        differ.submitList(data instanceof ChunkedList || data == null ? data : new ArrayList<>(data));
     }
 
     @NonNull
@@ -37,7 +50,15 @@ class CoinRankAdapter extends RecyclerView.Adapter<CoinRankAdapter.RankViewHolde
 
     @Override
     public void onBindViewHolder(@NonNull RankViewHolder holder, int position) {
-        CoinRankBean item = items.get(position);
+        CoinRankBean item = differ.getCurrentList().get(position);
+        // 分页窗口回收的条目为 null，重新填充前先显示占位
+        if (item == null) {
+            holder.rank.setText("#" + (position + 1));
+            holder.userName.setText(R.string.mine_placeholder_dash);
+            holder.level.setText(null);
+            holder.coinCount.setText(null);
+            return;
+        }
 
         String rankValue = !TextUtils.isEmpty(item.getRank()) ? item.getRank() : String.valueOf(position + 1);
         String rankDisplay = rankValue.startsWith("#") ? rankValue : "#" + rankValue;
@@ -57,7 +78,7 @@ class CoinRankAdapter extends RecyclerView.Adapter<CoinRankAdapter.RankViewHolde
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return differ.getCurrentList().size();
     }
 
     static class RankViewHolder extends RecyclerView.ViewHolder {
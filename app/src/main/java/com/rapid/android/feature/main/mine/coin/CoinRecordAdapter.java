@@ -11,24 +11,36 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
 import com.rapid.android.core.domain.model.CoinRecordBean;
+import com.rapid.android.ui.common.BackgroundDiffer;
+import com.rapid.android.ui.common.paging.ChunkedList;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 class CoinRecordAdapter extends RecyclerView.Adapter<CoinRecordAdapter.RecordViewHolder> {
 
-    private final List<CoinRecordBean> items = new ArrayList<>();
+    private static final BackgroundDiffer.ItemKeys<CoinRecordBean> RECORD_KEYS =
+            new BackgroundDiffer.ItemKeys<CoinRecordBean>() {
+                @Override
+                public long id(@NonNull CoinRecordBean item) {
+                    return item.getId();
+                }
+
+                @Override
+                public long contentHash(@NonNull CoinRecordBean item) {
+                    return Objects.hash(item.getReason(), item.getDesc(), item.getCoinCount(), item.getDate());
+                }
+            };
+
+    private final BackgroundDiffer<CoinRecordBean> differ = new BackgroundDiffer<>(this, RECORD_KEYS);
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
 
     void submitNewList(List<CoinRecordBean> data) {
-        items.clear();
-        if (data != null) {
-            items.addAll(data);
-        }
-        notifyDataSetChanged();
+        differ.submitList(data instanceof ChunkedList || data == null ? data : new ArrayList<>(data));
     }
 
     @NonNull
@@ -41,7 +53,15 @@ class CoinRecordAdapter extends RecyclerView.Adapter<CoinRecordAdapter.RecordVie
 
     @Override
     public void onBindViewHolder(@NonNull RecordViewHolder holder, int position) {
-        CoinRecordBean item = items.get(position);
+        CoinRecordBean item = differ.getCurrentList().get(position);
+        // 分页窗口回收的条目为 null，重新填充前先显示占位
+        if (item == null) {
+            holder.reason.setText(R.string.mine_placeholder_dash);
+            holder.description.setVisibility(View.GONE);
+            holder.coinChange.setText(null);
+            holder.date.setText(null);
+            return;
+        }
 
         String reason = !TextUtils.isEmpty(item.getReason()) ? item.getReason() : holder.reason.getContext().getString(R.string.mine_placeholder_dash);
         holder.reason.setText(reason);
@@ -68,7 +88,7 @@ class CoinRecordAdapter extends RecyclerView.Adapter<CoinRecordAdapter.RecordVie
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return differ.getCurrentList().size();
     }
 
     static class RecordViewHolder extends RecyclerView.ViewHolder {
@@ -25,19 +25,23 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public class CoinViewModel extends BaseViewModel {
 
+    /** 积分记录与排行最多常驻的页数，更早的页回收后按需从缓存重新填充 */
+    private static final int WINDOW_PAGES = 6;
+
     private final MutableLiveData<CoinHeaderUiState> headerState =
             new MutableLiveData<>(CoinHeaderUiState.empty());
 
-    private final MutableLiveData<String> recordError = new MutableLiveData<>();
-    private final MutableLiveData<String> rankError = new MutableLiveData<>();
-
     private final ContentRepository contentRepository = RepositoryProvider.getContentRepository();
     private final SessionManager sessionManager = SessionManager.getInstance();
 
     private final PagingController<CoinRecordBean> recordPaging =
-            new PagingController<>(this, 1, this::fetchCoinRecords);
+            new PagingController<CoinRecordBean>(this, 1, page -> fetchCoinRecords(page, false))
+                    .setWindow(WINDOW_PAGES, page -> fetchCoinRecords(page, true))
+                    .setFallbackErrorMessage(BaseApplication.getAppContext().getString(R.string.coin_error_load_records));
     private final PagingController<CoinRankBean> rankPaging =
-            new PagingController<>(this, 1, this::fetchCoinRank);
+            new PagingController<CoinRankBean>(this, 1, page -> fetchCoinRank(page, false))
+                    .setWindow(WINDOW_PAGES, page -> fetchCoinRank(page, true))
+                    .setFallbackErrorMessage(BaseApplication.getAppContext().getString(R.string.coin_error_load_rank));
 
     public MutableLiveData<CoinHeaderUiState> getHeaderState() {
         return headerState;
@@ -64,7 +68,7 @@ public class CoinViewModel extends BaseViewModel {
     }
 
     public MutableLiveData<String> getRecordError() {
-        return recordError;
+        return recordPaging.getErrorLiveData();
     }
 
     public MutableLiveData<List<CoinRankBean>> getRankItems() {
@@ -88,7 +92,7 @@ public class CoinViewModel extends BaseViewModel {
     }
 
     public MutableLiveData<String> getRankError() {
-        return rankError;
+        return rankPaging.getErrorLiveData();
     }
 
     public void applySessionState(SessionManager.SessionState state) {
@@ -139,6 +143,14 @@ public class CoinViewModel extends BaseViewModel {
         rankPaging.loadMore();
     }
 
+    public void onRecordsScrolled(int firstVisiblePosition, int lastVisiblePosition, int itemCount) {
+        recordPaging.onVisibleRange(firstVisiblePosition, lastVisiblePosition, itemCount);
+    }
+
+    public void onRankScrolled(int firstVisiblePosition, int lastVisiblePosition, int itemCount) {
+        rankPaging.onVisibleRange(firstVisiblePosition, lastVisiblePosition, itemCount);
+    }
+
     public void ensureRecords() {
         if (!recordPaging.isInitialized()) {
             refreshRecords();
@@ -151,8 +163,8 @@ public class CoinViewModel extends BaseViewModel {
         }
     }
 
-    private Observable<DomainResult<PagingPayload<CoinRecordBean>>> fetchCoinRecords(int page) {
-        return contentRepository.coinRecords(page)
+    private Observable<DomainResult<PagingPayload<CoinRecordBean>>> fetchCoinRecords(int page, boolean preferCache) {
+        return contentRepository.coinRecords(page, preferCache)
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .map(result -> {
@@ -163,17 +175,13 @@ public class CoinViewModel extends BaseViewModel {
                         return DomainResult.success(new PagingPayload<>(pageBean.getDatas(), next, more));
                     }
                     DomainError error = result.getError();
-                    String message = (error != null && !TextUtils.isEmpty(error.getMessage()))
-                            ? error.getMessage()
-                            : BaseApplication.getAppContext().getString(R.string.coin_error_load_records);
-                    recordError.setValue(message);
                     return DomainResult.failure(error != null ? error
-                            : DomainError.of(DomainError.UNKNOWN_CODE, message));
+                            : DomainError.of(DomainError.UNKNOWN_CODE, null));
                 });
     }
 
-    private Observable<DomainResult<PagingPayload<CoinRankBean>>> fetchCoinRank(int page) {
-        return contentRepository.coinRank(page)
+    private Observable<DomainResult<PagingPayload<CoinRankBean>>> fetchCoinRank(int page, boolean preferCache) {
+        return contentRepository.coinRank(page, preferCache)
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .map(result -> {
@@ -184,12 +192,8 @@ public class CoinViewModel extends BaseViewModel {
                         return DomainResult.success(new PagingPayload<>(pageBean.getDatas(), next, more));
                     }
                     DomainError error = result.getError();
-                    String message = (error != null && !TextUtils.isEmpty(error.getMessage()))
-                            ? error.getMessage()
-                            : BaseApplication.getAppContext().getString(R.string.coin_error_load_rank);
-                    rankError.setValue(message);
                     return DomainResult.failure(error != null ? error
-                            : DomainError.of(DomainError.UNKNOWN_CODE, message));
+                            : DomainError.of(DomainError.UNKNOWN_CODE, null));
                 });
     }
 
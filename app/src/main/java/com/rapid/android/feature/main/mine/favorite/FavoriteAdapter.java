@@ -8,11 +8,11 @@ import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
 import com.rapid.android.core.common.text.StringUtils;
+import com.rapid.android.core.data.collect.CollectedArticleIndex;
 import com.rapid.android.core.data.repository.RepositoryProvider;
 import com.rapid.android.core.data.session.SessionManager;
 import com.rapid.android.core.domain.model.ArticleListBean;
@@ -23,6 +23,8 @@ import com.rapid.android.core.ui.utils.ToastViewUtils;
 import com.rapid.android.databinding.ItemArticleBinding;
 import com.rapid.android.feature.login.LoginActivity;
 import com.rapid.android.feature.web.ArticleWebViewUtil;
+import com.rapid.android.ui.common.ArticleItemKeys;
+import com.rapid.android.ui.common.BackgroundDiffer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,9 +36,11 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 
 final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.FavoriteViewHolder> {
 
-    private final List<ArticleListBean.Data> items = new ArrayList<>();
+    private final BackgroundDiffer<ArticleListBean.Data> differ = new BackgroundDiffer<>(this, ArticleItemKeys.INSTANCE);
     private final UserRepository userRepository = RepositoryProvider.getUserRepository();
     private final CompositeDisposable disposables = new CompositeDisposable();
+    private final CollectedArticleIndex collectedIndex = CollectedArticleIndex.getInstance();
+    private final CollectedArticleIndex.Listener indexListener = this::onCollectChanged;
     @Nullable
     private final DialogController dialogController;
     @Nullable
@@ -58,10 +62,7 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
     void submitNewList(List<ArticleListBean.Data> data) {
         List<ArticleListBean.Data> newItems = data != null ? new ArrayList<>(data) : new ArrayList<>();
         markItemsAsCollected(newItems);
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new FavoriteDiffCallback(items, newItems));
-        items.clear();
-        items.addAll(newItems);
-        diffResult.dispatchUpdatesTo(this);
+        differ.submitList(newItems);
     }
 
     void appendList(List<ArticleListBean.Data> more) {
@@ -69,27 +70,56 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
             return;
         }
         markItemsAsCollected(more);
-        int start = items.size();
-        items.addAll(more);
-        notifyItemRangeInserted(start, more.size());
+        differ.append(more);
     }
 
     @Override
     public void onBindViewHolder(@NonNull FavoriteViewHolder holder, int position) {
-        holder.bind(items.get(position));
+        holder.bind(differ.getCurrentList().get(position));
     }
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        collectedIndex.addListener(indexListener);
     }
 
     @Override
     public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
         super.onDetachedFromRecyclerView(recyclerView);
+        collectedIndex.removeListener(indexListener);
         disposables.clear();
     }
 
+    /**
+     * 其它页面改变了收藏状态时重新绑定对应条目；收藏夹条目以 originId 对应原文章。
+     * 条目对象同时被后台 diff 线程读取，这里不修改它们
+     */
+    private void onCollectChanged(int articleId, boolean collected) {
+        List<ArticleListBean.Data> items = differ.getCurrentList();
+        if (articleId == CollectedArticleIndex.ALL_ARTICLES) {
+            notifyItemRangeChanged(0, items.size());
+            return;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            ArticleListBean.Data item = items.get(i);
+            if (item != null && item.getOriginId() == articleId) {
+                notifyItemChanged(i);
+            }
+        }
+    }
+
+    private boolean isCollected(@NonNull ArticleListBean.Data data) {
+        return data.getOriginId() > 0
+                ? collectedIndex.isCollected(data.getOriginId(), data.isCollect())
+                : data.isCollect();
+    }
+
     private void markItemsAsCollected(@NonNull List<ArticleListBean.Data> list) {
         for (ArticleListBean.Data item : list) {
             if (item != null && !item.isCollect()) {
@@ -102,46 +132,6 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
         void onFavoriteRemoved(@NonNull ArticleListBean.Data data);
     }
 
-    private static class FavoriteDiffCallback extends DiffUtil.Callback {
-        private final List<ArticleListBean.Data> oldList;
-        private final List<ArticleListBean.Data> newList;
-
-        FavoriteDiffCallback(List<ArticleListBean.Data> oldList, List<ArticleListBean.Data> newList) {
-            this.oldList = oldList;
-            this.newList = newList;
-        }
-
-        @Override
-        public int getOldListSize() {
-            return oldList.size();
-        }
-
-        @Override
-        public int getNewListSize() {
-            return newList.size();
-        }
-
-        @Override
-        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-            ArticleListBean.Data oldItem = oldList.get(oldItemPosition);
-            ArticleListBean.Data newItem = newList.get(newItemPosition);
-            return oldItem.getId() == newItem.getId();
-        }
-
-        @Override
-        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-            ArticleListBean.Data oldItem = oldList.get(oldItemPosition);
-            ArticleListBean.Data newItem = newList.get(newItemPosition);
-            return TextUtils.equals(oldItem.getTitle(), newItem.getTitle())
-                    && TextUtils.equals(oldItem.getDesc(), newItem.getDesc())
-                    && TextUtils.equals(oldItem.getAuthor(), newItem.getAuthor())
-                    && TextUtils.equals(oldItem.getShareUser(), newItem.getShareUser())
-                    && TextUtils.equals(oldItem.getNiceShareDate(), newItem.getNiceShareDate())
-                    && TextUtils.equals(oldItem.getNiceDate(), newItem.getNiceDate())
-                    && TextUtils.equals(oldItem.getLink(), newItem.getLink());
-        }
-    }
-
     class FavoriteViewHolder extends RecyclerView.ViewHolder {
         private final ItemArticleBinding binding;
         private boolean collectRequestRunning = false;
@@ -160,7 +150,8 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
             binding.getRoot().setOnClickListener(v -> ArticleWebViewUtil.start(v.getContext(), data));
             binding.ivFavorite.setEnabled(true);
             collectRequestRunning = false;
-            renderFavorite(data.isCollect());
+            // 只用于渲染，不回写到与 diff 线程共享的条目
+            renderFavorite(isCollected(data));
             binding.ivFavorite.setOnClickListener(v -> handleFavoriteToggle(data));
         }
 
@@ -178,17 +169,23 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
                 itemView.getContext().startActivity(new Intent(itemView.getContext(), LoginActivity.class));
                 return;
             }
-            boolean targetCollect = !data.isCollect();
+            boolean targetCollect = !isCollected(data);
+            // 重新收藏针对原文章，收藏记录 id 只用于取消收藏
+            int originId = resolveOriginId(data);
+            if (targetCollect && originId <= 0) {
+                showShortToast(itemView.getContext().getString(R.string.article_collect_failed));
+                return;
+            }
             binding.ivFavorite.setEnabled(false);
             collectRequestRunning = true;
             Disposable disposable;
             if (targetCollect) {
-                disposable = userRepository.collectArticle(articleId)
+                disposable = userRepository.collectArticle(originId)
                         .subscribeOn(Schedulers.io())
                         .observeOn(AndroidSchedulers.mainThread())
                         .subscribe(result -> handleCollectResult(data, true, result), this::handleCollectError);
             } else {
-                disposable = userRepository.unCollectFavorite(articleId, resolveOriginId(data))
+                disposable = userRepository.unCollectFavorite(articleId, originId)
                         .subscribeOn(Schedulers.io())
                         .observeOn(AndroidSchedulers.mainThread())
                         .subscribe(result -> handleCollectResult(data, false, result), this::handleCollectError);
@@ -202,7 +199,7 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
             collectRequestRunning = false;
             binding.ivFavorite.setEnabled(true);
             if (result != null && result.isSuccess()) {
-                data.setCollect(targetCollect);
+                // 仓库已按 originId 同步收藏索引，图标从索引读取
                 if (targetCollect) {
                     renderFavorite(true);
                     showShortToast(itemView.getContext().getString(R.string.article_collect_success));
@@ -210,15 +207,16 @@ final class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favorit
                     showShortToast(itemView.getContext().getString(R.string.article_uncollect_success));
                     int position = getBindingAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        items.remove(position);
-                        notifyItemRemoved(position);
+                        List<ArticleListBean.Data> remaining = new ArrayList<>(differ.getCurrentList());
+                        remaining.remove(position);
+                        differ.submitList(remaining);
                     }
                     if (actionListener != null) {
                         actionListener.onFavoriteRemoved(data);
                     }
                 }
             } else {
-                renderFavorite(data.isCollect());
+                renderFavorite(isCollected(data));
                 showShortToast(itemView.getContext().getString(R.string.article_collect_failed));
             }
         }
@@ -9,7 +9,6 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.rapid.android.R;
 import com.rapid.android.core.data.session.SessionManager;
@@ -25,6 +24,7 @@ import com.rapid.android.feature.search.SearchActivity;
 import com.rapid.android.ui.common.BackToTopController;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 
 public class PlazaFragment extends BaseFragment<PlazaViewModel, FragmentPlazaBinding> {
 
@@ -82,26 +82,7 @@ public class PlazaFragment extends BaseFragment<PlazaViewModel, FragmentPlazaBin
             ShareArticleActivity.start(requireContext());
         });
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-                if (dy <= 0) {
-                    return;
-                }
-                if (layoutManager == null) {
-                    return;
-                }
-                int totalItemCount = layoutManager.getItemCount();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                int lastVisible = layoutManager.findLastVisibleItemPosition();
-                if (lastVisible >= totalItemCount - 3) {
-                    viewModel.loadMore();
-                }
-            }
-        });
+        binding.recyclerView.addOnScrollListener(PagingScrollListener.ofRange(viewModel::onListScrolled));
 
         binding.toolbar.setNavigationIcon(R.drawable.dehaze_24px);
         binding.toolbar.setNavigationOnClickListener(v -> tabNavigator.onHomeNavigationClick());
@@ -21,14 +21,19 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public class PlazaViewModel extends BaseViewModel {
 
-    private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
+    /** 广场列表最多常驻的页数，更早的页回收后按需从缓存重新填充 */
+    private static final int WINDOW_PAGES = 8;
+
     private final HomeRepository repository = RepositoryProvider.getHomeRepository();
 
     private final PagingController<ArticleListBean.Data> pagingController =
-            new PagingController<>(this, 0, this::fetchPlazaPage);
+            new PagingController<ArticleListBean.Data>(this, 0, page -> fetchPlazaPage(page, false))
+                    .setKeepReservePage(true)
+                    .setWindow(WINDOW_PAGES, page -> fetchPlazaPage(page, true))
+                    .setFallbackErrorMessage(BaseApplication.getAppContext().getString(R.string.plaza_error_load_failed));
 
     public MutableLiveData<String> getErrorMessage() {
-        return errorMessage;
+        return pagingController.getErrorLiveData();
     }
 
     public MutableLiveData<List<ArticleListBean.Data>> getPlazaItems() {
@@ -59,8 +64,12 @@ public class PlazaViewModel extends BaseViewModel {
         pagingController.loadMore();
     }
 
-    private Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> fetchPlazaPage(int page) {
-        return repository.plazaArticles(page)
+    public void onListScrolled(int firstVisiblePosition, int lastVisiblePosition, int itemCount) {
+        pagingController.onVisibleRange(firstVisiblePosition, lastVisiblePosition, itemCount);
+    }
+
+    private Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> fetchPlazaPage(int page, boolean preferCache) {
+        return repository.plazaArticles(page, preferCache)
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .map(result -> {
@@ -71,14 +80,8 @@ public class PlazaViewModel extends BaseViewModel {
                         return DomainResult.success(new PagingPayload<>(bean.getDatas(), next, hasMore));
                     }
                     DomainError error = result.getError();
-                    if (error != null && error.getMessage() != null) {
-                        errorMessage.setValue(error.getMessage());
-                        return DomainResult.failure(error);
-                    }
-                    String message = BaseApplication.getAppContext().getString(R.string.plaza_error_load_failed);
-                    errorMessage.setValue(message);
                     return DomainResult.failure(error != null ? error
-                            : DomainError.of(DomainError.UNKNOWN_CODE, message));
+                            : DomainError.of(DomainError.UNKNOWN_CODE, null));
                 });
     }
 }
@@ -9,10 +9,8 @@ import android.view.View;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
 
-import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.chip.Chip;
 import com.google.android.material.textfield.TextInputLayout;
@@ -24,6 +22,7 @@ import com.rapid.android.databinding.ActivitySearchBinding;
 import com.rapid.android.feature.main.home.ArticleAdapter;
 import com.rapid.android.ui.common.ContentStateController;
 import com.rapid.android.ui.common.RecyclerViewDecorations;
+import com.rapid.android.ui.common.paging.PagingScrollListener;
 
 import java.util.List;
 
@@ -73,9 +72,7 @@ public class SearchActivity extends BaseActivity<SearchViewModel, ActivitySearch
 
             @Override
             public void afterTextChanged(Editable s) {
-                if (TextUtils.isEmpty(s)) {
-                    viewModel.submitSearch("");
-                }
+                viewModel.onQueryChanged(s != null ? s.toString() : "");
             }
         });
 
@@ -87,26 +84,7 @@ public class SearchActivity extends BaseActivity<SearchViewModel, ActivitySearch
         binding.resultRecyclerView.setAdapter(resultAdapter);
         RecyclerViewDecorations.addSpacing(binding.resultRecyclerView);
 
-        binding.resultRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-                if (dy <= 0) {
-                    return;
-                }
-                if (layoutManager == null) {
-                    return;
-                }
-                int totalItemCount = layoutManager.getItemCount();
-                if (totalItemCount == 0) {
-                    return;
-                }
-                int lastVisible = layoutManager.findLastVisibleItemPosition();
-                if (lastVisible >= totalItemCount - 3) {
-                    viewModel.loadMore();
-                }
-            }
-        });
+        binding.resultRecyclerView.addOnScrollListener(new PagingScrollListener(viewModel::onListScrolled));
 
         binding.resultRefreshLayout.setOnRefreshListener(viewModel::retry);
         stateController = new ContentStateController(binding.resultRefreshLayout, binding.progressBar, binding.emptyView);
@@ -119,6 +97,7 @@ public class SearchActivity extends BaseActivity<SearchViewModel, ActivitySearch
         viewModel.getHotKeys().observe(this, this::renderHotKeys);
         viewModel.getHistories().observe(this, this::renderHistories);
         viewModel.getShowSuggestions().observe(this, this::toggleSuggestions);
+        viewModel.getCompletions().observe(this, this::renderCompletions);
         viewModel.getSearchResults().observe(this, results -> {
             resultAdapter.submitList(results);
             updateEmptyState();
@@ -169,6 +148,26 @@ public class SearchActivity extends BaseActivity<SearchViewModel, ActivitySearch
         }
     }
 
+    private void renderCompletions(List<String> completions) {
+        binding.completionGroup.removeAllViews();
+        if (completions == null || completions.isEmpty()) {
+            binding.completionScroll.setVisibility(View.GONE);
+            return;
+        }
+        binding.completionScroll.setVisibility(View.VISIBLE);
+        for (String item : completions) {
+            Chip chip = createChip(item);
+            chip.setOnClickListener(v -> {
+                binding.searchInput.setText(item);
+                binding.searchInput.setSelection(binding.searchInput.length());
+                viewModel.submitSearch(item);
+                hideKeyboard();
+            });
+            binding.completionGroup.addView(chip);
+        }
+        binding.completionScroll.scrollTo(0, 0);
+    }
+
     private void renderHotKeys(List<HotKeyBean> hotKeys) {
         binding.hotGroup.removeAllViews();
         if (hotKeys == null || hotKeys.isEmpty()) {
@@ -6,34 +6,58 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.rapid.android.R;
 import com.rapid.android.core.common.app.BaseApplication;
+import com.rapid.android.core.data.cache.SearchResultCache;
 import com.rapid.android.core.data.repository.RepositoryProvider;
 import com.rapid.android.core.domain.model.ArticleListBean;
 import com.rapid.android.core.domain.model.HotKeyBean;
 import com.rapid.android.core.domain.repository.ContentRepository;
 import com.rapid.android.core.domain.result.DomainError;
 import com.rapid.android.core.domain.result.DomainResult;
+import com.rapid.android.core.log.LogKit;
 import com.rapid.android.core.storage.SearchHistoryStorage;
+import com.rapid.android.core.storage.SearchSuggestionIndex;
 import com.rapid.android.core.ui.presentation.BaseViewModel;
 import com.rapid.android.ui.common.paging.PagingController;
 import com.rapid.android.ui.common.paging.PagingPayload;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
 
 public class SearchViewModel extends BaseViewModel {
 
+    private static final String TAG = "SearchViewModel";
+    private static final int FIRST_PAGE = 0;
+    private static final int LOCAL_RESULT_LIMIT = 20;
+    private static final long TYPE_AHEAD_DEBOUNCE_MS = 300L;
+    private static final int COMPLETION_LIMIT = 8;
+
     private final ContentRepository repository = RepositoryProvider.getContentRepository();
     private final MutableLiveData<List<HotKeyBean>> hotKeys = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<List<String>> histories = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private final MutableLiveData<Boolean> showSuggestions = new MutableLiveData<>(true);
+    private final MutableLiveData<List<String>> completions = new MutableLiveData<>(new ArrayList<>());
+    private final PublishSubject<String> queryInput = PublishSubject.create();
     private String currentKeyword = "";
     private final PagingController<ArticleListBean.Data> pagingController =
-            new PagingController<>(this, 0, this::fetchSearchPage);
+            new PagingController<ArticleListBean.Data>(this, FIRST_PAGE, this::fetchSearchPage)
+                    .setKeepReservePage(true);
+
+    public SearchViewModel() {
+        // 输入停顿后才搜索；清空输入立即回到建议页。新关键词触发的刷新会取消上一个关键词仍在进行的请求
+        autoDispose(queryInput
+                .debounce(keyword -> keyword.isEmpty()
+                        ? Observable.<Long>empty()
+                        : Observable.timer(TYPE_AHEAD_DEBOUNCE_MS, TimeUnit.MILLISECONDS))
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(keyword -> runQuery(keyword, false)));
+    }
 
     public MutableLiveData<List<HotKeyBean>> getHotKeys() {
         return hotKeys;
@@ -51,6 +75,10 @@ public class SearchViewModel extends BaseViewModel {
         return showSuggestions;
     }
 
+    public MutableLiveData<List<String>> getCompletions() {
+        return completions;
+    }
+
     public MutableLiveData<List<ArticleListBean.Data>> getSearchResults() {
         return pagingController.getItemsLiveData();
     }
@@ -90,34 +118,71 @@ public class SearchViewModel extends BaseViewModel {
         loadHistories();
     }
 
+    /**
+     * 输入框内容变化，防抖后自动搜索（不记入历史）
+     */
+    public void onQueryChanged(String text) {
+        String query = text != null ? text.trim() : "";
+        // 联想词在内存索引中查找，无需等待防抖
+        completions.setValue(SearchSuggestionIndex.getInstance().suggest(query, COMPLETION_LIMIT));
+        queryInput.onNext(query);
+    }
+
+    /**
+     * 明确提交的搜索（键盘搜索键、历史或热词），立即执行并记入历史
+     */
     public void submitSearch(String keyword) {
-        String target = keyword != null ? keyword.trim() : "";
+        runQuery(keyword != null ? keyword.trim() : "", true);
+    }
+
+    /**
+     * 搜索结果缓存命中率，取值 0~1
+     */
+    public float getSearchCacheHitRate() {
+        return SearchResultCache.getInstance().getHitRate();
+    }
+
+    private void runQuery(String target, boolean recordHistory) {
         if (TextUtils.isEmpty(target)) {
+            if (currentKeyword.isEmpty()) {
+                showSuggestions.setValue(true);
+                return;
+            }
             currentKeyword = "";
             showSuggestions.setValue(true);
             pagingController.refresh();
             return;
         }
+        if (recordHistory) {
+            SearchHistoryStorage.addHistory(target);
+            loadHistories();
+            completions.setValue(new ArrayList<>());
+        }
         if (target.equals(currentKeyword)) {
             showSuggestions.setValue(false);
             return;
         }
         currentKeyword = target;
-        SearchHistoryStorage.addHistory(target);
-        loadHistories();
         showSuggestions.setValue(false);
         pagingController.refresh();
+        LogKit.d(TAG, "Search \"%s\", cache hit rate %.2f", target, getSearchCacheHitRate());
     }
 
     public void loadMore() {
         pagingController.loadMore();
     }
 
+    public void onListScrolled(int lastVisiblePosition, int itemCount) {
+        pagingController.onScrollPosition(lastVisiblePosition, itemCount);
+    }
+
     public void retry() {
         if (TextUtils.isEmpty(currentKeyword)) {
             showSuggestions.setValue(true);
             return;
         }
+        // 下拉刷新需要最新结果，跳过内存中的搜索结果缓存
+        SearchResultCache.getInstance().invalidate(currentKeyword);
         pagingController.refresh();
     }
 
@@ -131,6 +196,7 @@ public class SearchViewModel extends BaseViewModel {
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(result -> {
                     if (result.isSuccess() && result.getData() != null) {
+                        updateHotTerms(result.getData());
                         hotKeys.setValue(result.getData());
                     } else {
                         DomainError error = result.getError();
@@ -145,11 +211,21 @@ public class SearchViewModel extends BaseViewModel {
                 }));
     }
 
+    private void updateHotTerms(List<HotKeyBean> keys) {
+        List<String> terms = new ArrayList<>(keys.size());
+        for (HotKeyBean key : keys) {
+            if (key != null && !TextUtils.isEmpty(key.getName())) {
+                terms.add(key.getName());
+            }
+        }
+        SearchSuggestionIndex.getInstance().setHotTerms(terms);
+    }
+
     private Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> fetchSearchPage(int page) {
         if (TextUtils.isEmpty(currentKeyword)) {
             return Observable.just(DomainResult.success(new PagingPayload<>(new ArrayList<>(), page, false)));
         }
-        return repository.searchArticles(page, currentKeyword)
+        Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> remote = repository.searchArticles(page, currentKeyword)
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .map(result -> {
@@ -168,8 +244,19 @@ public class SearchViewModel extends BaseViewModel {
                             ? error.getMessage()
                             : BaseApplication.getAppContext().getString(R.string.home_article_load_failed);
                     errorMessage.setValue(message);
-                    return DomainResult.failure(error != null ? error
+                    return DomainResult.<PagingPayload<ArticleListBean.Data>>failure(error != null ? error
                             : DomainError.of(DomainError.UNKNOWN_CODE, message));
                 });
+        if (page != FIRST_PAGE) {
+            return remote;
+        }
+        // 首页先展示本地文章库的命中结果，远程结果到达后整体替换；远程先到则丢弃本地结果
+        Observable<DomainResult<PagingPayload<ArticleListBean.Data>>> local = repository
+                .searchLocalArticles(currentKeyword, LOCAL_RESULT_LIMIT)
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .filter(result -> result.isSuccess() && result.getData() != null && !result.getData().isEmpty())
+                .map(result -> DomainResult.success(new PagingPayload<>(result.getData(), page, false)));
+        return remote.publish(shared -> Observable.merge(local.takeUntil(shared), shared));
     }
 }
@@ -4,82 +4,59 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.rapid.android.R;
 import com.rapid.android.core.common.app.BaseApplication;
-import com.rapid.android.core.data.repository.RepositoryProvider;
-import com.rapid.android.core.domain.repository.UserRepository;
-import com.rapid.android.core.domain.result.DomainResult;
+import com.rapid.android.core.data.collect.CollectMutationQueue;
+import com.rapid.android.core.data.collect.CollectedArticleIndex;
 import com.rapid.android.core.ui.presentation.BaseViewModel;
 
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.schedulers.Schedulers;
-
 public class ArticleWebViewViewModel extends BaseViewModel {
 
-    private final UserRepository repository = RepositoryProvider.getUserRepository();
+    private final CollectMutationQueue collectQueue = CollectMutationQueue.getInstance();
+    private final CollectMutationQueue.Listener revertListener = this::onCollectReverted;
 
     private final MutableLiveData<Boolean> collectState = new MutableLiveData<>(false);
-    private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
     private final MutableLiveData<String> toastMessage = new MutableLiveData<>();
 
     private int articleId = -1;
 
     void init(int articleId, boolean collected) {
         this.articleId = articleId;
-        collectState.setValue(collected);
+        collectState.setValue(CollectedArticleIndex.getInstance().isCollected(articleId, collected));
+        collectQueue.removeListener(revertListener);
+        collectQueue.addListener(revertListener);
     }
 
     MutableLiveData<Boolean> getCollectState() {
         return collectState;
     }
 
-    MutableLiveData<Boolean> getLoading() {
-        return loading;
-    }
-
     MutableLiveData<String> getToastMessage() {
         return toastMessage;
     }
 
     void toggleCollect() {
-        if (articleId <= 0 || Boolean.TRUE.equals(loading.getValue())) {
+        if (articleId <= 0) {
             return;
         }
-        boolean targetCollect = !Boolean.TRUE.equals(collectState.getValue());
-        loading.setValue(true);
-        if (targetCollect) {
-            autoDispose(repository.collectArticle(articleId)
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .subscribe(this::handleCollectResult, this::handleError));
-        } else {
-            autoDispose(repository.unCollectArticle(articleId)
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .subscribe(this::handleUnCollectResult, this::handleError));
-        }
-    }
-
-    private void handleCollectResult(DomainResult<String> result) {
-        loading.setValue(false);
-        if (result != null && result.isSuccess()) {
-            collectState.setValue(true);
-            toastMessage.setValue(BaseApplication.getAppContext().getString(R.string.article_collect_success));
-        } else {
-            toastMessage.setValue(BaseApplication.getAppContext().getString(R.string.article_collect_failed));
-        }
+        // 乐观更新，由写队列合并连续切换并在失败时回滚
+        boolean collected = Boolean.TRUE.equals(collectState.getValue());
+        boolean targetCollect = !collected;
+        collectState.setValue(targetCollect);
+        collectQueue.enqueue(articleId, collected, targetCollect);
+        toastMessage.setValue(BaseApplication.getAppContext().getString(
+                targetCollect ? R.string.article_collect_success : R.string.article_uncollect_success));
     }
 
-    private void handleUnCollectResult(DomainResult<String> result) {
-        loading.setValue(false);
-        if (result != null && result.isSuccess()) {
-            collectState.setValue(false);
-            toastMessage.setValue(BaseApplication.getAppContext().getString(R.string.article_uncollect_success));
-        } else {
-            toastMessage.setValue(BaseApplication.getAppContext().getString(R.string.article_collect_failed));
+    private void onCollectReverted(int revertedId, boolean collected) {
+        if (revertedId != articleId) {
+            return;
         }
+        collectState.setValue(collected);
+        toastMessage.setValue(BaseApplication.getAppContext().getString(R.string.article_collect_failed));
     }
 
-    private void handleError(Throwable throwable) {
-        loading.setValue(false);
-        toastMessage.setValue(BaseApplication.getAppContext().getString(R.string.article_collect_failed));
+    @Override
+    protected void onCleared() {
+        collectQueue.removeListener(revertListener);
+        super.onCleared();
     }
 }
@@ -1,37 +1,40 @@
 package com.rapid.android.init.tasks;
 
-import com.rapid.android.BuildConfig;
-import com.rapid.android.core.analytics.capture.ExceptionCapture;
-import com.rapid.android.core.analytics.monitor.BlockMonitor;
+import com.rapid.android.core.analytics.monitor.JankMonitor;
 import com.rapid.android.core.analytics.tracker.CommonFields;
 import com.rapid.android.core.analytics.tracker.Tracker;
+import com.rapid.android.core.common.app.BaseApplication;
 import com.rapid.android.core.initializer.Task;
+import com.rapid.android.core.initializer.TaskPhase;
 import com.rapid.android.core.initializer.TaskType;
 
+import java.util.List;
+
+/**
+ * 卡顿监控与埋点 SDK 推迟到首帧之后初始化；崩溃捕获由 {@link CrashCaptureTask} 在 onCreate 阶段安装
+ */
 public class AnalyticsTask extends Task {
 
     @Override
     public TaskType getTaskType() {
-        return TaskType.BLOCKING;
+        return TaskType.ASYNC;
+    }
+
+    @Override
+    public TaskPhase getPhase() {
+        return TaskPhase.FIRST_FRAME;
+    }
+
+    @Override
+    public List<Class<? extends Task>> getDependencies() {
+        return List.of(CrashCaptureTask.class);
     }
 
     @Override
     public void run() {
-        if (BuildConfig.DEBUG) {
-            BlockMonitor.getInstance().start();
-        }
-        ExceptionCapture.init();
+        JankMonitor.getInstance().start();
         // 初始化 SDK
         CommonFields common = new CommonFields("", "", "");
-        Tracker.init(common);
+        Tracker.init(BaseApplication.getInstance(), common);
     }
 }
-
-
-
-
-
-
-
-
-
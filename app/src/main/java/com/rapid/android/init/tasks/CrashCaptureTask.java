@@ -0,0 +1,22 @@
+package com.rapid.android.init.tasks;
+
+import com.rapid.android.core.analytics.capture.ExceptionCapture;
+import com.rapid.android.core.initializer.Task;
+import com.rapid.android.core.initializer.TaskType;
+
+/**
+ * 尽早安装崩溃捕获，覆盖 Application.onCreate、其余启动任务与首个 Activity 的创建过程。
+ * 需要崩溃被记录的任务可以依赖本任务
+ */
+public class CrashCaptureTask extends Task {
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.BLOCKING;
+    }
+
+    @Override
+    public void run() {
+        ExceptionCapture.init();
+    }
+}
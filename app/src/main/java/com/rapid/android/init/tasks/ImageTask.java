@@ -0,0 +1,23 @@
+package com.rapid.android.init.tasks;
+
+import com.rapid.android.core.image.ImageLoader;
+import com.rapid.android.core.initializer.Task;
+import com.rapid.android.core.initializer.TaskType;
+import com.rapid.android.core.storage.AppPreferencesStorage;
+import com.rapid.android.core.storage.TypedPreference;
+
+public class ImageTask extends Task {
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.MAIN;
+    }
+
+    @Override
+    public void run() {
+        // 无图模式变化时推送给 ImageLoader，加载图片时不再读取配置
+        TypedPreference<Boolean> noImageMode = AppPreferencesStorage.noImageMode();
+        noImageMode.addListener(ImageLoader::setNoImageMode);
+        ImageLoader.setNoImageMode(noImageMode.get());
+    }
+}
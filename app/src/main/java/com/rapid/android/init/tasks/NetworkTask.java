@@ -1,15 +1,21 @@
 package com.rapid.android.init.tasks;
 
+import com.rapid.android.core.data.network.NetApis;
 import com.rapid.android.core.initializer.Task;
 import com.rapid.android.core.initializer.TaskType;
+import com.rapid.android.core.network.client.ClientTuning;
 import com.rapid.android.core.network.client.NetworkClient;
 import com.rapid.android.core.network.client.NetworkClientManager;
+import com.rapid.android.core.network.dns.CachingDns;
+import com.rapid.android.core.network.dns.MmkvDnsRecordStore;
 import com.rapid.android.core.storage.PreferenceHelper;
-import com.rapid.android.network.cookie.MyCookieJar;
+import com.rapid.android.network.cookie.PersistentCookieJar;
 import com.rapid.android.network.interceptor.TokenInterceptor;
 
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
@@ -21,6 +27,11 @@ public class NetworkTask extends Task {
         return TaskType.BLOCKING;
     }
 
+    @Override
+    public List<Class<? extends Task>> getDependencies() {
+        return List.of(CrashCaptureTask.class);
+    }
+
     @Override
     public void run() {
         OkHttpClient.Builder okHttpBuilder = NetworkClient.getDefaultOkHttpBuilder();
@@ -42,13 +53,22 @@ public class NetworkTask extends Task {
             okHttpBuilder.proxy(Proxy.NO_PROXY);
         }
 
-        okHttpBuilder.cookieJar(new MyCookieJar());
+        okHttpBuilder.cookieJar(PersistentCookieJar.getInstance());
         okHttpBuilder.addInterceptor(new TokenInterceptor());
 
+        // 应用只访问一个域名：放宽单域名并发，空闲连接保留更久，并在启动时预连接
+        NetworkClientManager.setDefaultTuning(new ClientTuning.Builder()
+                .connectionPool(5, 10, TimeUnit.MINUTES)
+                .maxRequests(32)
+                .maxRequestsPerHost(8)
+                .preconnect(true)
+                .dns(new CachingDns.Builder().store(new MmkvDnsRecordStore()).build())
+                .build());
         NetworkClientManager.reInitializeDefaultClient(
                 "https://www.wanandroid.com",
                 okHttpBuilder,
                 retrofitBuilder
         );
+        NetApis.prewarm();
     }
 }
@@ -4,6 +4,8 @@ import com.rapid.android.core.data.session.SessionManager;
 import com.rapid.android.core.initializer.Task;
 import com.rapid.android.core.initializer.TaskType;
 
+import java.util.List;
+
 public class SessionTask extends Task {
 
     private static final String TAG = "SessionTask";
@@ -13,6 +15,11 @@ public class SessionTask extends Task {
         return TaskType.BLOCKING;
     }
 
+    @Override
+    public List<Class<? extends Task>> getDependencies() {
+        return List.of(NetworkTask.class);
+    }
+
     @Override
     public void run() {
         SessionManager.getInstance().initialize();
@@ -4,9 +4,16 @@ import android.os.StrictMode;
 
 import com.rapid.android.BuildConfig;
 import com.rapid.android.core.initializer.Task;
+import com.rapid.android.core.initializer.TaskType;
 
 public class StrictModeTask extends Task {
 
+    // ThreadPolicy 只作用于调用线程，必须在主线程设置
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.MAIN;
+    }
+
     @Override
     public void run() {
         if (!BuildConfig.DEBUG) {
@@ -0,0 +1,25 @@
+package com.rapid.android.init.tasks;
+
+import com.rapid.android.core.common.app.BaseApplication;
+import com.rapid.android.core.initializer.Task;
+import com.rapid.android.core.initializer.TaskPhase;
+import com.rapid.android.core.initializer.TaskType;
+import com.rapid.compose.core.webview.core.WebViewManager;
+
+public class WebViewPoolTask extends Task {
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.MAIN;
+    }
+
+    @Override
+    public TaskPhase getPhase() {
+        return TaskPhase.IDLE;
+    }
+
+    @Override
+    public void run() {
+        WebViewManager.getInstance().initPool(BaseApplication.getInstance());
+    }
+}
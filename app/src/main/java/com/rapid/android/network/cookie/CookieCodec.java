@@ -0,0 +1,81 @@
+package com.rapid.android.network.cookie;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import okhttp3.Cookie;
+
+/**
+ * Cookie 紧凑二进制编码：版本 + 标志位 + 过期时间 + 字符串字段
+ */
+final class CookieCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_SECURE = 1;
+    private static final int FLAG_HTTP_ONLY = 1 << 1;
+    private static final int FLAG_HOST_ONLY = 1 << 2;
+
+    private CookieCodec() {
+    }
+
+    static byte[] encode(Cookie cookie) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + cookie.value().length());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            int flags = 0;
+            if (cookie.secure()) flags |= FLAG_SECURE;
+            if (cookie.httpOnly()) flags |= FLAG_HTTP_ONLY;
+            if (cookie.hostOnly()) flags |= FLAG_HOST_ONLY;
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            out.writeLong(cookie.expiresAt());
+            out.writeUTF(cookie.name());
+            out.writeUTF(cookie.value());
+            out.writeUTF(cookie.domain());
+            out.writeUTF(cookie.path());
+        } catch (IOException e) {
+            // ByteArrayOutputStream 不会抛出 IOException
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return 数据损坏或版本不识别时返回 null
+     */
+    static Cookie decode(byte[] data) {
+        if (data == null || data.length == 0) return null;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != VERSION) return null;
+            int flags = in.readByte();
+            long expiresAt = in.readLong();
+            String name = in.readUTF();
+            String value = in.readUTF();
+            String domain = in.readUTF();
+            String path = in.readUTF();
+
+            Cookie.Builder builder = new Cookie.Builder()
+                    .name(name)
+                    .value(value)
+                    .expiresAt(expiresAt)
+                    .path(path);
+            if ((flags & FLAG_HOST_ONLY) != 0) {
+                builder.hostOnlyDomain(domain);
+            } else {
+                builder.domain(domain);
+            }
+            if ((flags & FLAG_SECURE) != 0) {
+                builder.secure();
+            }
+            if ((flags & FLAG_HTTP_ONLY) != 0) {
+                builder.httpOnly();
+            }
+            return builder.build();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
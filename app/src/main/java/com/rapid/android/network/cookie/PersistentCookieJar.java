@@ -0,0 +1,345 @@
+package com.rapid.android.network.cookie;
+
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.network.util.GsonProvider;
+import com.rapid.android.core.storage.AuthStorage;
+import com.rapid.android.core.storage.PreferenceHelper;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.Cookie;
+import okhttp3.CookieJar;
+import okhttp3.HttpUrl;
+
+/**
+ * 并发 CookieJar
+ * - 内存按 cookie domain 分桶，请求时按 host 逐级后缀查找
+ * - 过期时间最小堆，每次只弹出已过期的条目
+ * - 每个 cookie 一个 MMKV 条目（二进制编码），变更合并后延迟写入
+ */
+public class PersistentCookieJar implements CookieJar {
+
+    private static final String TAG = "PersistentCookieJar";
+    private static final String MMKV_ID = "cookie_v2";
+    // 旧版 MyCookieJar 的整体 JSON 存储
+    private static final String LEGACY_MMKV_ID = "cookie";
+    private static final String LEGACY_STORE_KEY = "cookie_store";
+    private static final long WRITE_BEHIND_DELAY_MS = 500;
+    private static final int HEAP_COMPACT_THRESHOLD = 64;
+    // 删除标记
+    private static final Cookie TOMBSTONE = new Cookie.Builder()
+            .name("_").value("").domain("localhost").build();
+
+    private static volatile PersistentCookieJar instance;
+
+    private final PreferenceHelper preferenceHelper;
+    // domain -> (name|domain|path -> cookie)
+    private final Map<String, Map<String, Cookie>> store = new ConcurrentHashMap<>();
+    private final PriorityQueue<ExpiryEntry> expiryHeap = new PriorityQueue<>();
+    private final Map<String, Cookie> dirty = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private PersistentCookieJar() {
+        preferenceHelper = PreferenceHelper.with(MMKV_ID);
+        loadFromStorage();
+        migrateLegacyStore();
+    }
+
+    public static PersistentCookieJar getInstance() {
+        if (instance == null) {
+            synchronized (PersistentCookieJar.class) {
+                if (instance == null) {
+                    instance = new PersistentCookieJar();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public @NonNull List<Cookie> loadForRequest(@NonNull HttpUrl url) {
+        evictExpired(System.currentTimeMillis());
+
+        List<Cookie> result = null;
+        String host = url.host();
+        int index = 0;
+        // a.b.example.com -> b.example.com -> example.com -> com
+        while (index >= 0) {
+            Map<String, Cookie> bucket = store.get(index == 0 ? host : host.substring(index));
+            if (bucket != null) {
+                for (Cookie cookie : bucket.values()) {
+                    if (cookie.matches(url)) {
+                        if (result == null) result = new ArrayList<>();
+                        result.add(cookie);
+                    }
+                }
+            }
+            int dot = host.indexOf('.', index);
+            index = dot < 0 ? -1 : dot + 1;
+        }
+        return result != null ? result : Collections.emptyList();
+    }
+
+    @Override
+    public void saveFromResponse(@NonNull HttpUrl url, @NonNull List<Cookie> cookies) {
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : cookies) {
+            String key = keyOf(cookie);
+            // 处理服务器清除 cookie 的情况 (max-Age=0)
+            if (cookie.expiresAt() <= now) {
+                if (removeFromIndex(cookie.domain(), key, null)) {
+                    markDirty(key, TOMBSTONE);
+                }
+                continue;
+            }
+            if (index(key, cookie)) {
+                markDirty(key, cookie);
+            }
+        }
+    }
+
+    /**
+     * 清除所有 cookies（内存和持久化存储）
+     */
+    public void clearAllCookies() {
+        store.clear();
+        synchronized (expiryHeap) {
+            expiryHeap.clear();
+        }
+        dirty.clear();
+        preferenceHelper.clearAll();
+    }
+
+    /**
+     * 清除指定域名的 cookies
+     */
+    public void clearCookiesForDomain(String domain) {
+        Map<String, Cookie> bucket = store.remove(domain);
+        if (bucket == null) return;
+        for (String key : bucket.keySet()) {
+            markDirty(key, TOMBSTONE);
+        }
+    }
+
+    /**
+     * 获取所有存储的域名
+     */
+    public List<String> getStoredDomains() {
+        return new ArrayList<>(store.keySet());
+    }
+
+    /**
+     * @return 与已有 cookie 完全相同时返回 false，无需写盘
+     */
+    private boolean index(String key, Cookie cookie) {
+        Cookie[] previousHolder = new Cookie[1];
+        // 与 removeFromIndex 的空桶移除在同一个 compute 中串行，避免写入即将被移除的桶
+        store.compute(cookie.domain(), (domain, bucket) -> {
+            Map<String, Cookie> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+            previousHolder[0] = target.put(key, cookie);
+            return target;
+        });
+        Cookie previous = previousHolder[0];
+        if (cookie.equals(previous)) {
+            return false;
+        }
+        synchronized (expiryHeap) {
+            expiryHeap.offer(new ExpiryEntry(cookie.expiresAt(), key, cookie));
+            if (previous != null && expiryHeap.size() > HEAP_COMPACT_THRESHOLD) {
+                compactHeap();
+            }
+        }
+        return true;
+    }
+
+    // 被替换的旧条目过多时按当前存活 cookie 重建堆
+    private void compactHeap() {
+        int live = 0;
+        for (Map<String, Cookie> bucket : store.values()) {
+            live += bucket.size();
+        }
+        if (expiryHeap.size() <= live * 2 + HEAP_COMPACT_THRESHOLD) return;
+        expiryHeap.clear();
+        for (Map<String, Cookie> bucket : store.values()) {
+            for (Map.Entry<String, Cookie> entry : bucket.entrySet()) {
+                expiryHeap.offer(new ExpiryEntry(entry.getValue().expiresAt(), entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * @param expected 非空时仅当当前值为同一实例才移除，避免误删已被替换的 cookie
+     */
+    private boolean removeFromIndex(String domain, String key, Cookie expected) {
+        boolean[] removed = new boolean[1];
+        store.computeIfPresent(domain, (d, bucket) -> {
+            removed[0] = expected == null ? bucket.remove(key) != null : bucket.remove(key, expected);
+            return bucket.isEmpty() ? null : bucket;
+        });
+        return removed[0];
+    }
+
+    // 堆中被替换的旧条目在弹出时按实例比对忽略
+    private void evictExpired(long now) {
+        synchronized (expiryHeap) {
+            ExpiryEntry head;
+            while ((head = expiryHeap.peek()) != null && head.expiresAt <= now) {
+                expiryHeap.poll();
+                if (removeFromIndex(head.cookie.domain(), head.key, head.cookie)) {
+                    markDirty(head.key, TOMBSTONE);
+                }
+            }
+        }
+    }
+
+    private void markDirty(String key, Cookie cookie) {
+        dirty.put(key, cookie);
+        if (flushScheduled.compareAndSet(false, true)) {
+            Schedulers.io().scheduleDirect(this::flush, WRITE_BEHIND_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 合并窗口内的所有变更一次写入
+    private void flush() {
+        flushScheduled.set(false);
+        for (String key : dirty.keySet()) {
+            Cookie cookie = dirty.remove(key);
+            if (cookie == null) continue;
+            try {
+                if (cookie == TOMBSTONE) {
+                    preferenceHelper.remove(key);
+                } else {
+                    preferenceHelper.putBytes(key, CookieCodec.encode(cookie));
+                }
+            } catch (Exception e) {
+                LogKit.w(TAG, e, "persist cookie failed: %s", key);
+            }
+        }
+    }
+
+    /**
+     * 从持久化存储加载 cookies，顺带清理已过期或损坏的条目
+     */
+    private void loadFromStorage() {
+        long now = System.currentTimeMillis();
+        for (String key : preferenceHelper.allKeys()) {
+            Cookie cookie = CookieCodec.decode(preferenceHelper.getBytes(key));
+            if (cookie == null || cookie.expiresAt() <= now) {
+                preferenceHelper.remove(key);
+                continue;
+            }
+            index(key, cookie);
+        }
+    }
+
+    /**
+     * 把旧版 JSON 存储中的 cookie 迁移到新存储后清空旧存储，升级后无需重新登录；
+     * 旧数据无法解析时同时清除本地登录信息，避免仍显示已登录但请求缺少登录 cookie
+     */
+    private void migrateLegacyStore() {
+        PreferenceHelper legacy = PreferenceHelper.with(LEGACY_MMKV_ID);
+        String json = legacy.getString(LEGACY_STORE_KEY, null);
+        if (json == null || json.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int migrated = 0;
+        try {
+            LegacyStore legacyStore = GsonProvider.get().fromJson(json, LegacyStore.class);
+            if (legacyStore != null && legacyStore.cookies != null) {
+                for (List<LegacyCookie> cookies : legacyStore.cookies.values()) {
+                    if (cookies == null) continue;
+                    for (LegacyCookie legacyCookie : cookies) {
+                        Cookie cookie = legacyCookie != null ? legacyCookie.toCookie() : null;
+                        if (cookie == null || cookie.expiresAt() <= now) continue;
+                        String key = keyOf(cookie);
+                        // 新存储中已有的条目较新，不覆盖
+                        if (preferenceHelper.contains(key)) continue;
+                        index(key, cookie);
+                        // 同步写入，随后旧存储即被清空
+                        preferenceHelper.putBytes(key, CookieCodec.encode(cookie));
+                        migrated++;
+                    }
+                }
+            }
+            LogKit.i(TAG, "Migrated %d legacy cookies", migrated);
+        } catch (RuntimeException e) {
+            LogKit.w(TAG, e, "Legacy cookie store unreadable, clearing login state");
+            AuthStorage.getInstance().clearAuthData()
+                    .subscribeOn(Schedulers.io())
+                    .subscribe(() -> {
+                    }, throwable -> LogKit.w(TAG, throwable, "clear auth data failed"));
+        }
+        legacy.clearAll();
+    }
+
+    // RFC 6265：name + domain + path 相同的 cookie 互相覆盖
+    private static String keyOf(Cookie cookie) {
+        return cookie.name() + '|' + cookie.domain() + '|' + cookie.path();
+    }
+
+    /**
+     * 旧版存储结构：domain -> cookie 列表
+     */
+    private static final class LegacyStore {
+        Map<String, List<LegacyCookie>> cookies;
+    }
+
+    private static final class LegacyCookie {
+        String name;
+        String value;
+        long expiresAt;
+        String domain;
+        String path;
+        boolean secure;
+        boolean httpOnly;
+        boolean hostOnly;
+
+        Cookie toCookie() {
+            try {
+                Cookie.Builder builder = new Cookie.Builder()
+                        .name(name)
+                        .value(value)
+                        .expiresAt(expiresAt)
+                        .path(path);
+                if (hostOnly) {
+                    builder.hostOnlyDomain(domain);
+                } else {
+                    builder.domain(domain);
+                }
+                if (secure) builder.secure();
+                if (httpOnly) builder.httpOnly();
+                return builder.build();
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class ExpiryEntry implements Comparable<ExpiryEntry> {
+        final long expiresAt;
+        final String key;
+        final Cookie cookie;
+
+        ExpiryEntry(long expiresAt, String key, Cookie cookie) {
+            this.expiresAt = expiresAt;
+            this.key = key;
+            this.cookie = cookie;
+        }
+
+        @Override
+        public int compareTo(ExpiryEntry other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+    }
+}
@@ -2,33 +2,40 @@ package com.rapid.android.network.interceptor;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.rapid.android.core.network.base.BaseResponse;
+import com.rapid.android.core.network.util.GsonProvider;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.*;
+import okio.BufferedSource;
 
 /**
  * 针对鉴权的拦截器：支持 HTTP 状态码与业务错误码两层兜底，并在需要时触发 Token 刷新。
  */
 public class AuthInterceptor implements Interceptor {
 
-    private static final Type BASE_RESPONSE_TYPE = new TypeToken<BaseResponse<Object>>() {
-    }.getType();
-
     private static final String BUSINESS_RETRY_HEADER = "X-Auth-Retry";
+    // 等待其它请求发起的刷新的最长时间
+    private static final long REFRESH_WAIT_TIMEOUT_SECONDS = 10;
 
     private final Set<Integer> unauthorizedCodes;
     private final Set<Integer> businessUnauthorizedCodes;
-    private final Gson gson = new Gson();
+    private final Gson gson = GsonProvider.get();
     private final TokenRefreshHandler tokenRefreshHandler;
+    @Nullable
+    private final TokenRefreshCoordinator refreshCoordinator;
 
     public AuthInterceptor() {
         this(null, null, null);
@@ -55,6 +62,9 @@ public class AuthInterceptor implements Interceptor {
                 ? new HashSet<>(businessUnauthorizedCodes)
                 : new HashSet<>();
         this.tokenRefreshHandler = tokenRefreshHandler;
+        this.refreshCoordinator = tokenRefreshHandler != null
+                ? new TokenRefreshCoordinator(tokenRefreshHandler, REFRESH_WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                : null;
 
         this.unauthorizedCodes.add(401);
         this.unauthorizedCodes.add(403);
@@ -72,6 +82,7 @@ public class AuthInterceptor implements Interceptor {
     public Response intercept(@NonNull Chain chain) throws IOException {
         Request request = chain.request();
         boolean alreadyRetried = request.header(BUSINESS_RETRY_HEADER) != null;
+        int generation = refreshCoordinator != null ? refreshCoordinator.currentGeneration() : 0;
         Response response = chain.proceed(request);
 
         BusinessCheckResult businessResult = evaluateBusinessUnauthorized(response);
@@ -83,7 +94,7 @@ public class AuthInterceptor implements Interceptor {
 
         if (businessResult.businessUnauthorized) {
             if (!alreadyRetried) {
-                Response retry = attemptBusinessRefresh(chain, request, response);
+                Response retry = attemptBusinessRefresh(chain, request, response, generation);
                 if (retry != null) {
                     return retry;
                 }
@@ -95,13 +106,15 @@ public class AuthInterceptor implements Interceptor {
     @Nullable
     private Response attemptBusinessRefresh(@NonNull Chain chain,
                                             @NonNull Request originalRequest,
-                                            @NonNull Response originalResponse) throws IOException {
-        if (tokenRefreshHandler == null || !tokenRefreshHandler.canRefresh()) {
+                                            @NonNull Response originalResponse,
+                                            int generation) throws IOException {
+        if (refreshCoordinator == null || !tokenRefreshHandler.canRefresh()) {
             return null;
         }
 
         try {
-            boolean refreshed = tokenRefreshHandler.refreshToken();
+            // 并发的刷新合并为一次，请求发出后已刷新过的直接重试
+            boolean refreshed = refreshCoordinator.refresh(generation);
             if (!refreshed) {
                 return null;
             }
@@ -142,28 +155,40 @@ public class AuthInterceptor implements Interceptor {
             return new BusinessCheckResult(response, false);
         }
 
-        String bodyString;
-        try {
-            bodyString = body.string();
-        } catch (IOException e) {
-            return new BusinessCheckResult(response, false);
+        boolean unauthorized = false;
+        Integer errorCode = peekErrorCode(body, contentType);
+        if (errorCode != null
+                && errorCode != BaseResponse.getSuccessCode()
+                && businessUnauthorizedCodes.contains(errorCode)) {
+            unauthorized = true;
         }
+        return new BusinessCheckResult(response, unauthorized);
+    }
 
-        boolean unauthorized = false;
-        try {
-            BaseResponse<?> baseResponse = gson.fromJson(bodyString, BASE_RESPONSE_TYPE);
-            if (baseResponse != null
-                    && businessUnauthorizedCodes.contains(baseResponse.getErrorCode())
-                    && !baseResponse.isSuccess()) {
-                unauthorized = true;
+    /**
+     * 通过 peek 流式读取顶层 errorCode，data 等其它字段直接跳过不建树；
+     * 已读取的字节留在原始 source 的缓冲区中，后续 Gson 转换器照常从头消费
+     */
+    @Nullable
+    @VisibleForTesting
+    Integer peekErrorCode(@NonNull ResponseBody body, @Nullable MediaType contentType) {
+        Charset charset = contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+        BufferedSource peek = body.source().peek();
+        try (JsonReader reader = gson.newJsonReader(new InputStreamReader(peek.inputStream(), charset))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
             }
-        } catch (JsonSyntaxException ignored) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("errorCode".equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+                    return reader.nextInt();
+                }
+                reader.skipValue();
+            }
+        } catch (IOException | IllegalStateException | NumberFormatException ignored) {
             // 非标准结构，直接忽略
         }
-
-        ResponseBody newBody = ResponseBody.create(bodyString, contentType);
-        Response rebuilt = response.newBuilder().body(newBody).build();
-        return new BusinessCheckResult(rebuilt, unauthorized);
+        return null;
     }
 
     /**
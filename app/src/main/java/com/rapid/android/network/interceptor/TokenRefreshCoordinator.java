@@ -0,0 +1,106 @@
+package com.rapid.android.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import com.rapid.android.core.log.LogKit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token 刷新单飞协调器
+ * - 并发触发的刷新合并为一次，其余调用方等待并复用结果
+ * - 以刷新代数区分新旧请求：请求发出后已有刷新成功的，直接复用新 Token 重试，不再触发刷新
+ * - 等待有上限，避免长期占用 OkHttp 分发线程
+ */
+final class TokenRefreshCoordinator {
+
+    private static final String TAG = "TokenRefreshCoordinator";
+
+    private final AuthInterceptor.TokenRefreshHandler handler;
+    private final long waitTimeoutMs;
+    private final Object lock = new Object();
+
+    // 以下字段由 lock 保护
+    private int generation = 0;
+    private Flight inFlight;
+
+    TokenRefreshCoordinator(@NonNull AuthInterceptor.TokenRefreshHandler handler, long waitTimeout, TimeUnit unit) {
+        this.handler = handler;
+        this.waitTimeoutMs = unit.toMillis(waitTimeout);
+    }
+
+    /**
+     * 请求发出前记录当前代数，刷新时据此判断是否已过时
+     */
+    int currentGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * @param observedGeneration 发起原请求时的代数
+     * @return 已有可用的新 Token 时返回 true
+     */
+    boolean refresh(int observedGeneration) {
+        Flight flight;
+        boolean leader = false;
+        synchronized (lock) {
+            if (generation != observedGeneration) {
+                // 请求发出后已刷新成功过，直接用新 Token 重试
+                return true;
+            }
+            flight = inFlight;
+            if (flight == null) {
+                flight = new Flight();
+                inFlight = flight;
+                leader = true;
+            }
+        }
+
+        if (leader) {
+            boolean refreshed = false;
+            try {
+                refreshed = handler.canRefresh() && handler.refreshToken();
+            } catch (Exception e) {
+                LogKit.w(TAG, e, "refresh token failed");
+            }
+            synchronized (lock) {
+                if (refreshed) {
+                    generation++;
+                }
+                flight.result = refreshed;
+                flight.done = true;
+                inFlight = null;
+                lock.notifyAll();
+            }
+            return refreshed;
+        }
+        return await(flight);
+    }
+
+    private boolean await(Flight flight) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        synchronized (lock) {
+            while (!flight.done) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    LogKit.w(TAG, "waiting for token refresh timed out");
+                    return false;
+                }
+                try {
+                    lock.wait(remainingMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return flight.result;
+        }
+    }
+
+    private static final class Flight {
+        boolean done;
+        boolean result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.rapid.android.ui.common;
+
+import androidx.annotation.NonNull;
+
+import com.rapid.android.core.domain.model.ArticleListBean;
+
+/**
+ * 文章列表通用的 diff 键：按文章 id 判定同一条目，按 {@link ArticleListBean.Data#contentHash()} 判定内容
+ */
+public final class ArticleItemKeys implements BackgroundDiffer.ItemKeys<ArticleListBean.Data> {
+
+    public static final ArticleItemKeys INSTANCE = new ArticleItemKeys();
+
+    private ArticleItemKeys() {
+    }
+
+    @Override
+    public long id(@NonNull ArticleListBean.Data item) {
+        return item.getId();
+    }
+
+    @Override
+    public long contentHash(@NonNull ArticleListBean.Data item) {
+        return item.contentHash();
+    }
+}
@@ -0,0 +1,250 @@
+package com.rapid.android.ui.common;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.rapid.android.ui.common.paging.ChunkedList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在共享后台线程上计算列表 diff 的适配器辅助类。
+ * <p>
+ * 每次提交递增一代，后台只为最新一代计算：被新提交覆盖的任务在开始前或比较过程中直接放弃，
+ * 结果回到主线程后再次校验代数才会应用。比较前先把 id 与 {@link ItemKeys#contentHash(Object)}
+ * 预计算到数组，DiffUtil 的内容比较因此是 O(1)。
+ * <p>
+ * 首次填充、清空以及 {@link ChunkedList} 能描述的增量（追加、分块替换、分块回收）直接在主线程派发，不进入后台。
+ * 提交后的列表由本类持有，调用方不得再修改。所有公开方法需在主线程调用。
+ */
+public final class BackgroundDiffer<T> {
+
+    /**
+     * 条目的身份与内容摘要
+     */
+    public interface ItemKeys<T> {
+        long id(@NonNull T item);
+
+        long contentHash(@NonNull T item);
+    }
+
+    private static final ThreadPoolExecutor DIFF_EXECUTOR = createExecutor();
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final ListUpdateCallback updateCallback;
+    private final ItemKeys<T> keys;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private List<T> currentList = Collections.emptyList();
+    /** 最近一次提交的列表，后台 diff 未完成时领先于 currentList */
+    private List<T> latestList = currentList;
+
+    public BackgroundDiffer(@NonNull RecyclerView.Adapter<?> adapter, @NonNull ItemKeys<T> keys) {
+        this(new AdapterListUpdateCallback(adapter), keys);
+    }
+
+    public BackgroundDiffer(@NonNull ListUpdateCallback updateCallback, @NonNull ItemKeys<T> keys) {
+        this.updateCallback = updateCallback;
+        this.keys = keys;
+    }
+
+    @NonNull
+    public List<T> getCurrentList() {
+        return currentList;
+    }
+
+    public void submitList(@Nullable List<T> newList) {
+        submitList(newList, null);
+    }
+
+    public void submitList(@Nullable List<T> newList, @Nullable Runnable commitCallback) {
+        final int runGeneration = generation.incrementAndGet();
+        final List<T> target = newList != null ? newList : Collections.emptyList();
+        latestList = target;
+
+        final List<T> old = currentList;
+        if (target == old) {
+            runCallback(commitCallback);
+            return;
+        }
+        if (old.isEmpty() || target.isEmpty()) {
+            currentList = target;
+            if (!old.isEmpty()) {
+                updateCallback.onRemoved(0, old.size());
+            } else if (!target.isEmpty()) {
+                updateCallback.onInserted(0, target.size());
+            }
+            runCallback(commitCallback);
+            return;
+        }
+        if (target instanceof ChunkedList && dispatchChunkDelta((ChunkedList<T>) target, old)) {
+            runCallback(commitCallback);
+            return;
+        }
+
+        DIFF_EXECUTOR.execute(() -> {
+            if (generation.get() != runGeneration) {
+                return;
+            }
+            DiffUtil.DiffResult result;
+            try {
+                result = DiffUtil.calculateDiff(new HashedCallback<>(old, target, keys, generation, runGeneration));
+            } catch (SupersededException ignored) {
+                return;
+            }
+            MAIN_HANDLER.post(() -> {
+                if (generation.get() != runGeneration) {
+                    return;
+                }
+                currentList = target;
+                result.dispatchUpdatesTo(updateCallback);
+                runCallback(commitCallback);
+            });
+        });
+    }
+
+    /**
+     * 在最近一次提交的列表末尾追加；没有进行中的 diff 时直接派发插入
+     */
+    public void append(@Nullable List<T> more) {
+        if (more == null || more.isEmpty()) {
+            return;
+        }
+        List<T> merged = new ArrayList<>(latestList.size() + more.size());
+        merged.addAll(latestList);
+        merged.addAll(more);
+        if (latestList != currentList) {
+            submitList(merged);
+            return;
+        }
+        generation.incrementAndGet();
+        int start = currentList.size();
+        currentList = merged;
+        latestList = merged;
+        updateCallback.onInserted(start, more.size());
+    }
+
+    /**
+     * 分块快照能描述的增量（追加、分块原位替换、分块回收）直接在主线程派发
+     */
+    private boolean dispatchChunkDelta(ChunkedList<T> target, List<T> old) {
+        int appendStart = target.appendedSince(old);
+        if (appendStart >= 0) {
+            currentList = target;
+            if (target.size() > appendStart) {
+                updateCallback.onInserted(appendStart, target.size() - appendStart);
+            }
+            return true;
+        }
+        int changeStart = target.changedSince(old);
+        if (changeStart >= 0) {
+            currentList = target;
+            if (target.getDeltaCount() > 0) {
+                updateCallback.onChanged(changeStart, target.getDeltaCount(), null);
+            }
+            return true;
+        }
+        if (target.evictedSince(old)) {
+            // 回收的分块都在可视窗口之外，结构不变，只替换引用以释放旧数据
+            currentList = target;
+            return true;
+        }
+        return false;
+    }
+
+    private static void runCallback(@Nullable Runnable callback) {
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                r.run();
+            }, "list-diff");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class SupersededException extends RuntimeException {
+        SupersededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class HashedCallback<T> extends DiffUtil.Callback {
+        private final long[] oldIds;
+        private final long[] oldHashes;
+        private final long[] newIds;
+        private final long[] newHashes;
+        private final AtomicInteger generation;
+        private final int runGeneration;
+
+        HashedCallback(List<T> oldList, List<T> newList, ItemKeys<T> keys,
+                       AtomicInteger generation, int runGeneration) {
+            this.generation = generation;
+            this.runGeneration = runGeneration;
+            oldIds = new long[oldList.size()];
+            oldHashes = new long[oldIds.length];
+            fill(oldList, keys, oldIds, oldHashes);
+            newIds = new long[newList.size()];
+            newHashes = new long[newIds.length];
+            fill(newList, keys, newIds, newHashes);
+        }
+
+        private static <T> void fill(List<T> list, ItemKeys<T> keys, long[] ids, long[] hashes) {
+            for (int i = 0; i < ids.length; i++) {
+                T item = list.get(i);
+                if (item == null) {
+                    ids[i] = Long.MIN_VALUE + i;
+                    continue;
+                }
+                ids[i] = keys.id(item);
+                hashes[i] = keys.contentHash(item);
+            }
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldIds.length;
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newIds.length;
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            if (generation.get() != runGeneration) {
+                throw new SupersededException();
+            }
+            return oldIds[oldItemPosition] == newIds[newItemPosition];
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            return oldHashes[oldItemPosition] == newHashes[newItemPosition];
+        }
+    }
+}
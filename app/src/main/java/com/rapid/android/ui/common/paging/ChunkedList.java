@@ -0,0 +1,218 @@
+package com.rapid.android.ui.common.paging;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按页分块的不可变列表快照。
+ * <p>
+ * {@link #append(List)} 返回新快照，与旧快照共享全部已有分块，只复制分块引用数组，
+ * 追加第 k 页的成本为 O(k) 而非 O(k × pageSize)。每个快照记录它由哪个快照派生以及变化类型，
+ * 适配器可用 {@link #appendedSince(List)}、{@link #changedSince(List)}、{@link #evictedSince(List)}
+ * 判断增量并直接派发区间通知，省去整表复制与 diff。
+ * <p>
+ * 分块可被回收为占位块（{@link #retainChunks(int, int)}），只保留条目数，对应位置的 {@link #get(int)} 返回 null；
+ * 之后可用 {@link #replaceChunk(int, List)} 重新填充。
+ * <p>
+ * 快照只记录来源快照的 id，不持有其引用，避免长会话中旧快照的分块数组层层滞留。
+ */
+public final class ChunkedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int DELTA_NONE = 0;
+    private static final int DELTA_APPEND = 1;
+    private static final int DELTA_CHANGE = 2;
+    private static final int DELTA_EVICT = 3;
+
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+    private static final ChunkedList<?> EMPTY = new ChunkedList<>(new List<?>[0], new int[0], 0,
+            -1L, 0, DELTA_NONE, 0, 0);
+
+    /** 为 null 的分块是已回收的占位块 */
+    private final List<T>[] chunks;
+    /** offsets[i] 为第 i 个分块首元素的全局位置 */
+    private final int[] offsets;
+    private final int size;
+    private final long id;
+    private final long baseId;
+    private final int baseSize;
+    private final int deltaType;
+    private final int deltaStart;
+    private final int deltaCount;
+
+    @SuppressWarnings("unchecked")
+    private ChunkedList(List<?>[] chunks, int[] offsets, int size, long baseId, int baseSize,
+                        int deltaType, int deltaStart, int deltaCount) {
+        this.chunks = (List<T>[]) chunks;
+        this.offsets = offsets;
+        this.size = size;
+        this.id = ID_GENERATOR.incrementAndGet();
+        this.baseId = baseId;
+        this.baseSize = baseSize;
+        this.deltaType = deltaType;
+        this.deltaStart = deltaStart;
+        this.deltaCount = deltaCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public static <T> ChunkedList<T> empty() {
+        return (ChunkedList<T>) EMPTY;
+    }
+
+    @NonNull
+    public static <T> ChunkedList<T> of(@Nullable List<T> page) {
+        ChunkedList<T> empty = empty();
+        if (page == null || page.isEmpty()) {
+            return empty;
+        }
+        return new ChunkedList<>(new List<?>[]{freeze(page)}, new int[]{0}, page.size(),
+                -1L, 0, DELTA_NONE, 0, 0);
+    }
+
+    /**
+     * 追加一页，返回共享现有分块的新快照；传入的列表会被复制一次并冻结
+     */
+    @NonNull
+    public ChunkedList<T> append(@Nullable List<T> page) {
+        if (page == null || page.isEmpty()) {
+            return new ChunkedList<>(chunks, offsets, size, id, size, DELTA_APPEND, size, 0);
+        }
+        int count = chunks.length;
+        List<?>[] newChunks = Arrays.copyOf(chunks, count + 1);
+        newChunks[count] = freeze(page);
+        int[] newOffsets = Arrays.copyOf(offsets, count + 1);
+        newOffsets[count] = size;
+        return new ChunkedList<>(newChunks, newOffsets, size + page.size(), id, size,
+                DELTA_APPEND, size, page.size());
+    }
+
+    /**
+     * 用新数据填充第 index 个分块。条目数不变时新快照记为区间变更，否则记为无法增量描述的整体变化
+     */
+    @NonNull
+    public ChunkedList<T> replaceChunk(int index, @Nullable List<T> page) {
+        List<T> frozen = page != null ? freeze(page) : Collections.emptyList();
+        List<?>[] newChunks = Arrays.copyOf(chunks, chunks.length);
+        newChunks[index] = frozen;
+        int oldCount = chunkSize(index);
+        if (frozen.size() == oldCount) {
+            return new ChunkedList<>(newChunks, offsets, size, id, size, DELTA_CHANGE, offsets[index], oldCount);
+        }
+        int[] newOffsets = Arrays.copyOf(offsets, offsets.length);
+        int diff = frozen.size() - oldCount;
+        for (int i = index + 1; i < newOffsets.length; i++) {
+            newOffsets[i] += diff;
+        }
+        return new ChunkedList<>(newChunks, newOffsets, size + diff, -1L, 0, DELTA_NONE, 0, 0);
+    }
+
+    /**
+     * 把 [fromChunk, toChunk] 之外的分块回收为占位块，条目数与位置保持不变
+     */
+    @NonNull
+    public ChunkedList<T> retainChunks(int fromChunk, int toChunk) {
+        List<?>[] newChunks = null;
+        for (int i = 0; i < chunks.length; i++) {
+            if ((i < fromChunk || i > toChunk) && chunks[i] != null) {
+                if (newChunks == null) {
+                    newChunks = Arrays.copyOf(chunks, chunks.length);
+                }
+                newChunks[i] = null;
+            }
+        }
+        if (newChunks == null) {
+            return this;
+        }
+        return new ChunkedList<>(newChunks, offsets, size, id, size, DELTA_EVICT, 0, 0);
+    }
+
+    public int chunkCount() {
+        return chunks.length;
+    }
+
+    public int chunkSize(int index) {
+        int end = index + 1 < offsets.length ? offsets[index + 1] : size;
+        return end - offsets[index];
+    }
+
+    public boolean isChunkLoaded(int index) {
+        return chunks[index] != null;
+    }
+
+    /**
+     * 返回 position 所在分块的下标
+     */
+    public int chunkIndexOf(int position) {
+        int chunk = Arrays.binarySearch(offsets, position);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        // 空分块与后一分块起点相同，取最后一个起点不大于 position 的分块
+        while (chunk + 1 < offsets.length && offsets[chunk + 1] == position) {
+            chunk++;
+        }
+        return chunk;
+    }
+
+    /**
+     * 若本快照是由 {@code previous} 直接追加得到，返回追加前的长度（即新增区间起点），否则返回 -1
+     */
+    public int appendedSince(@Nullable List<?> previous) {
+        return derivedFrom(previous, DELTA_APPEND) ? baseSize : -1;
+    }
+
+    /**
+     * 若本快照是由 {@code previous} 原位替换一个分块得到，返回变更区间起点，否则返回 -1；
+     * 区间长度见 {@link #getDeltaCount()}
+     */
+    public int changedSince(@Nullable List<?> previous) {
+        return derivedFrom(previous, DELTA_CHANGE) ? deltaStart : -1;
+    }
+
+    /**
+     * 本快照是否由 {@code previous} 回收分块得到；结构未变，适配器只需替换引用
+     */
+    public boolean evictedSince(@Nullable List<?> previous) {
+        return derivedFrom(previous, DELTA_EVICT);
+    }
+
+    public int getDeltaCount() {
+        return deltaCount;
+    }
+
+    private boolean derivedFrom(@Nullable List<?> previous, int type) {
+        if (deltaType != type || !(previous instanceof ChunkedList)) {
+            return false;
+        }
+        ChunkedList<?> other = (ChunkedList<?>) previous;
+        return other.id == baseId && other.size == baseSize;
+    }
+
+    @Override
+    @Nullable
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int chunk = chunkIndexOf(index);
+        List<T> items = chunks[chunk];
+        return items != null ? items.get(index - offsets[chunk]) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static <T> List<T> freeze(List<T> page) {
+        return Collections.unmodifiableList(new ArrayList<>(page));
+    }
+}
@@ -1,41 +1,102 @@
 package com.rapid.android.ui.common.paging;
 
+import androidx.annotation.Nullable;
 import androidx.lifecycle.MutableLiveData;
 
+import com.rapid.android.core.common.app.BaseApplication;
 import com.rapid.android.core.domain.result.DomainError;
 import com.rapid.android.core.domain.result.DomainResult;
+import com.rapid.android.core.network.state.NetworkQuality;
 import com.rapid.android.core.ui.presentation.BaseViewModel;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.SerialDisposable;
+import io.reactivex.rxjava3.observers.DisposableObserver;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
+/**
+ * 分页加载控制器。
+ * <p>
+ * 除了滑到底部时的 {@link #loadMore()}，还支持通过 {@link #onScrollPosition(int, int)} 在距离末尾
+ * {@code prefetchDistance} 条时提前请求下一页；开启 {@link #setKeepReservePage(boolean)} 后，
+ * 每发布一页会在后台再多取一页暂存，下次触发时直接发布，不必等待网络。
+ * 预取受网络状况约束：离线不预取，慢网与计费网络不保留备用页。
+ * 列表以 {@link ChunkedList} 快照发布，翻页不再整表复制。
+ * 开启 {@link #setWindow(int, PageFetcher)} 后只保留可视区域附近的若干页，其余页回收为占位（null 条目），
+ * 滚动回来时再按原页码重新获取，内存占用不随滚动深度增长。
+ * 所有方法需在主线程调用。
+ */
 public final class PagingController<T> {
 
+    public static final int DEFAULT_PREFETCH_DISTANCE = 5;
+
     private final BaseViewModel owner;
     private final int firstPage;
     private final PageFetcher<T> fetcher;
 
-    private final List<T> internalItems = new ArrayList<>();
+    /** 当前已发布的快照，追加时与上一快照共享分块 */
+    private ChunkedList<T> snapshot = ChunkedList.empty();
 
-    private final MutableLiveData<List<T>> itemsLiveData = new MutableLiveData<>(new ArrayList<>());
+    private final MutableLiveData<List<T>> itemsLiveData = new MutableLiveData<>(snapshot);
     private final MutableLiveData<Boolean> loadingLiveData = new MutableLiveData<>(false);
     private final MutableLiveData<Boolean> loadingMoreLiveData = new MutableLiveData<>(false);
     private final MutableLiveData<Boolean> hasMoreLiveData = new MutableLiveData<>(true);
     private final MutableLiveData<String> errorLiveData = new MutableLiveData<>();
     private final MutableLiveData<Boolean> emptyStateLiveData = new MutableLiveData<>(false);
 
+    /** 请求失败且没有错误信息时提示的文案 */
+    @Nullable
+    private String fallbackErrorMessage;
+    private int prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+    private boolean keepReservePage = false;
+
     private int nextPage;
+    private boolean sourceHasMore = true;
     private boolean initialized = false;
 
+    /** 每次刷新递增，用于丢弃刷新前发出的追加请求结果 */
+    private int generation = 0;
+    /** 本轮刷新是否已发布过首页；缓存先发、网络后发的数据源会对同一轮刷新发射多次 */
+    private boolean refreshPublished = false;
+    /** 请求订阅在构造时一次性交给 owner 托管，新请求替换旧请求，不随刷新次数在 owner 中累积 */
+    private final SerialDisposable refreshDisposable = new SerialDisposable();
+    private final SerialDisposable appendDisposable = new SerialDisposable();
+    private final CompositeDisposable reloadDisposables = new CompositeDisposable();
+    private boolean appendInFlight = false;
+    /** 在途追加请求返回后是否立即发布；为 false 时结果作为备用页暂存 */
+    private boolean publishOnArrival = false;
+    /** 已取回但尚未发布的备用页 */
+    @Nullable
+    private PagingPayload<T> reservedPage;
+    private int reservedKey;
+    /** 在途追加请求的页码 */
+    private int appendKey;
+
+    /** 窗口模式下最多保留的页数，0 表示不回收 */
+    private int windowPages = 0;
+    /** 重新获取已回收页的数据源，为 null 时使用 fetcher */
+    @Nullable
+    private PageFetcher<T> reloader;
+    /** 每个分块对应的请求页码，与 snapshot 的分块一一对应 */
+    private final List<Integer> chunkKeys = new ArrayList<>();
+    private final Set<Integer> reloadingChunks = new HashSet<>();
+    private int firstVisible = -1;
+    private int lastVisible = -1;
+
     public PagingController(BaseViewModel owner, int firstPage, PageFetcher<T> fetcher) {
         this.owner = owner;
         this.firstPage = firstPage;
         this.fetcher = fetcher;
         this.nextPage = firstPage;
+        owner.trackDisposable(refreshDisposable);
+        owner.trackDisposable(appendDisposable);
+        owner.trackDisposable(reloadDisposables);
     }
 
     public MutableLiveData<List<T>> getItemsLiveData() {
@@ -62,77 +123,390 @@ public final class PagingController<T> {
         return emptyStateLiveData;
     }
 
+    /**
+     * 刷新或加载更多失败且错误没有信息时，通过 {@link #getErrorLiveData()} 提示的文案；
+     * 重新填充回收页的失败不会提示
+     */
+    public PagingController<T> setFallbackErrorMessage(@Nullable String message) {
+        this.fallbackErrorMessage = message;
+        return this;
+    }
+
+    /**
+     * 距离列表末尾多少条时开始预取下一页，0 表示仅在到达末尾时加载
+     */
+    public PagingController<T> setPrefetchDistance(int distance) {
+        this.prefetchDistance = Math.max(0, distance);
+        return this;
+    }
+
+    /**
+     * 是否在后台额外保留一页备用数据（仅在不计费的快速网络下生效）
+     */
+    public PagingController<T> setKeepReservePage(boolean keep) {
+        this.keepReservePage = keep;
+        if (!keep) {
+            reservedPage = null;
+            updateHasMore();
+        }
+        return this;
+    }
+
+    /**
+     * 开启窗口模式：只保留可视区域附近 maxPages 页，其余页回收为占位，滚动回来时重新获取。
+     *
+     * @param maxPages 最多保留的页数，0 表示关闭
+     * @param reloader 重新获取回收页的数据源，建议优先读本地缓存；为 null 时使用原 fetcher
+     */
+    public PagingController<T> setWindow(int maxPages, @Nullable PageFetcher<T> reloader) {
+        this.windowPages = Math.max(0, maxPages);
+        this.reloader = reloader;
+        return this;
+    }
+
     public void refresh() {
+        generation++;
+        // 取消上一轮仍在进行的刷新请求（如已过时的搜索关键词），只保留最新一次
+        refreshDisposable.set(null);
+        disposeAppend();
+        reservedPage = null;
+        reloadDisposables.clear();
+        reloadingChunks.clear();
+        refreshPublished = false;
         nextPage = firstPage;
+        sourceHasMore = true;
+        loadingMoreLiveData.setValue(false);
         hasMoreLiveData.setValue(true);
-        load(true);
+        load();
     }
 
+    /**
+     * 用户已到达列表末尾：有备用页则直接发布，否则加载下一页并显示加载更多
+     */
     public void loadMore() {
-        if (!Boolean.TRUE.equals(hasMoreLiveData.getValue())) {
+        requestNextPage(true);
+    }
+
+    /**
+     * 列表滚动位置回调，由 {@link PagingScrollListener} 调用
+     *
+     * @param lastVisiblePosition 最后一个可见条目的位置
+     * @param itemCount           列表条目总数
+     */
+    public void onScrollPosition(int lastVisiblePosition, int itemCount) {
+        if (itemCount <= 0 || lastVisiblePosition < 0) {
             return;
         }
-        if (Boolean.TRUE.equals(loadingLiveData.getValue()) || Boolean.TRUE.equals(loadingMoreLiveData.getValue())) {
+        int remaining = itemCount - 1 - lastVisiblePosition;
+        if (remaining > prefetchDistance) {
             return;
         }
-        load(false);
+        requestNextPage(remaining == 0);
+    }
+
+    /**
+     * 可视区域回调（双向滚动），窗口模式据此回收与重新填充分页，并转发给 {@link #onScrollPosition(int, int)}
+     */
+    public void onVisibleRange(int firstVisiblePosition, int lastVisiblePosition, int itemCount) {
+        if (firstVisiblePosition < 0 || lastVisiblePosition < firstVisiblePosition) {
+            return;
+        }
+        firstVisible = firstVisiblePosition;
+        lastVisible = lastVisiblePosition;
+        trimWindow();
+        onScrollPosition(lastVisiblePosition, itemCount);
     }
 
     public boolean isInitialized() {
         return initialized;
     }
 
-    private void load(boolean refresh) {
+    private void requestNextPage(boolean userWaiting) {
+        if (Boolean.TRUE.equals(loadingLiveData.getValue())) {
+            return;
+        }
+        if (reservedPage != null) {
+            PagingPayload<T> page = reservedPage;
+            reservedPage = null;
+            publish(page, false, reservedKey);
+            fetchReserveIfAllowed();
+            return;
+        }
+        if (!sourceHasMore) {
+            return;
+        }
+        if (appendInFlight) {
+            publishOnArrival = true;
+            if (userWaiting) {
+                loadingMoreLiveData.setValue(true);
+            }
+            return;
+        }
+        if (!userWaiting && NetworkQuality.current(BaseApplication.getAppContext()) == NetworkQuality.Level.OFFLINE) {
+            return;
+        }
+        append(true, userWaiting);
+    }
+
+    private void fetchReserveIfAllowed() {
+        if (!keepReservePage || !sourceHasMore || appendInFlight || reservedPage != null) {
+            return;
+        }
+        if (NetworkQuality.current(BaseApplication.getAppContext()) != NetworkQuality.Level.FAST) {
+            return;
+        }
+        append(false, false);
+    }
+
+    private void load() {
         initialized = true;
-        if (refresh) {
-            loadingLiveData.setValue(true);
-        } else {
+        loadingLiveData.setValue(true);
+
+        final int requestGeneration = generation;
+        refreshDisposable.set(fetcher.fetch(nextPage)
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(result -> handleRefreshResult(result, requestGeneration),
+                        throwable -> handleRefreshError(throwable, requestGeneration)));
+    }
+
+    private void append(boolean publish, boolean showLoadingMore) {
+        initialized = true;
+        appendInFlight = true;
+        publishOnArrival = publish;
+        appendKey = nextPage;
+        if (showLoadingMore) {
             loadingMoreLiveData.setValue(true);
         }
 
-        Disposable disposable = fetcher.fetch(nextPage)
+        final int requestGeneration = generation;
+        appendDisposable.set(fetcher.fetch(nextPage)
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(result -> handleResult(result, refresh), this::handleError);
-        owner.trackDisposable(disposable);
+                .subscribe(result -> handleAppendResult(result, requestGeneration),
+                        throwable -> handleAppendError(throwable, requestGeneration)));
     }
 
-    private void handleResult(DomainResult<PagingPayload<T>> result, boolean refresh) {
+    private void handleRefreshResult(DomainResult<PagingPayload<T>> result, int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
         loadingLiveData.setValue(false);
-        loadingMoreLiveData.setValue(false);
 
         if (result.isSuccess() && result.getData() != null) {
-            PagingPayload<T> payload = result.getData();
-            if (refresh) {
-                internalItems.clear();
-            }
-            internalItems.addAll(payload.getItems());
-            itemsLiveData.setValue(new ArrayList<>(internalItems));
-
-            nextPage = payload.getNextPage();
-            hasMoreLiveData.setValue(payload.hasMore());
-
-            // 检查空状态：刷新时且列表为空
-            if (refresh && internalItems.isEmpty()) {
-                emptyStateLiveData.setValue(true);
+            if (refreshPublished && hasPagesAfterFirst()) {
+                replaceFirstPage(result.getData());
             } else {
-                emptyStateLiveData.setValue(false);
+                publish(result.getData(), true, firstPage);
             }
+            refreshPublished = true;
+            // 检查空状态：刷新时且列表为空
+            emptyStateLiveData.setValue(snapshot.isEmpty());
+            fetchReserveIfAllowed();
         } else {
-            DomainError error = result.getError();
-            if (error != null) {
-                errorLiveData.setValue(error.getMessage());
-            }
+            reportError(result.getError());
             // 如果是刷新失败且当前无数据，显示空状态
-            if (refresh && internalItems.isEmpty()) {
+            if (snapshot.isEmpty()) {
                 emptyStateLiveData.setValue(true);
             }
         }
     }
 
-    private void handleError(Throwable throwable) {
+    private void handleRefreshError(Throwable throwable, int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
         loadingLiveData.setValue(false);
+        reportError(DomainError.from(throwable));
+    }
+
+    private void handleAppendResult(DomainResult<PagingPayload<T>> result, int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        appendInFlight = false;
+        loadingMoreLiveData.setValue(false);
+
+        if (result.isSuccess() && result.getData() != null) {
+            PagingPayload<T> payload = result.getData();
+            nextPage = payload.getNextPage();
+            sourceHasMore = payload.hasMore();
+            if (publishOnArrival) {
+                publish(payload, false, appendKey);
+                fetchReserveIfAllowed();
+            } else {
+                reservedPage = payload;
+                reservedKey = appendKey;
+                updateHasMore();
+            }
+        } else if (publishOnArrival) {
+            // 备用页失败静默忽略，下次触发时会重新请求
+            reportError(result.getError());
+        }
+        publishOnArrival = false;
+    }
+
+    private void handleAppendError(Throwable throwable, int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        appendInFlight = false;
         loadingMoreLiveData.setValue(false);
-        errorLiveData.setValue(throwable.getMessage());
+        if (publishOnArrival) {
+            reportError(DomainError.from(throwable));
+        }
+        publishOnArrival = false;
+    }
+
+    private void publish(PagingPayload<T> payload, boolean refresh, int pageKey) {
+        if (refresh) {
+            snapshot = ChunkedList.of(payload.getItems());
+            chunkKeys.clear();
+            nextPage = payload.getNextPage();
+            sourceHasMore = payload.hasMore();
+        } else {
+            snapshot = snapshot.append(payload.getItems());
+        }
+        // 空页不产生分块
+        if (!payload.getItems().isEmpty()) {
+            chunkKeys.add(pageKey);
+        }
+        itemsLiveData.setValue(snapshot);
+        if (!refresh) {
+            emptyStateLiveData.setValue(false);
+        }
+        updateHasMore();
+        trimWindow();
+    }
+
+    /**
+     * 首页之后是否已有追加、备用或在途的页
+     */
+    private boolean hasPagesAfterFirst() {
+        return chunkKeys.size() > 1 || appendInFlight || reservedPage != null;
+    }
+
+    /**
+     * 同一轮刷新的后续发射（如缓存之后的网络结果）只替换首页分块，保留已追加的页与翻页进度；
+     * 首页没有对应分块时无法原位替换，放弃后续页后整体重新发布
+     */
+    private void replaceFirstPage(PagingPayload<T> payload) {
+        if (chunkKeys.isEmpty() || chunkKeys.get(0) != firstPage) {
+            disposeAppend();
+            reservedPage = null;
+            reloadingChunks.clear();
+            publish(payload, true, firstPage);
+            return;
+        }
+        reloadingChunks.remove(0);
+        snapshot = snapshot.replaceChunk(0, payload.getItems());
+        itemsLiveData.setValue(snapshot);
+        trimWindow();
+    }
+
+    /**
+     * 以可视区域所在分块为中心保留 windowPages 页，回收其余分块并补齐窗口内的占位分块
+     */
+    private void trimWindow() {
+        if (windowPages <= 0 || firstVisible < 0 || snapshot.isEmpty()) {
+            return;
+        }
+        int count = snapshot.chunkCount();
+        int lastPosition = snapshot.size() - 1;
+        int first = snapshot.chunkIndexOf(Math.min(firstVisible, lastPosition));
+        int last = snapshot.chunkIndexOf(Math.min(lastVisible, lastPosition));
+        int extra = Math.max(0, windowPages - (last - first + 1));
+        int from = first - extra / 2;
+        int to = last + (extra - extra / 2);
+        if (from < 0) {
+            to -= from;
+            from = 0;
+        }
+        if (to >= count) {
+            from = Math.max(0, from - (to - count + 1));
+            to = count - 1;
+        }
+
+        ChunkedList<T> trimmed = snapshot.retainChunks(from, to);
+        if (trimmed != snapshot) {
+            snapshot = trimmed;
+            itemsLiveData.setValue(snapshot);
+        }
+        for (int i = from; i <= to; i++) {
+            if (!snapshot.isChunkLoaded(i)) {
+                reloadChunk(i);
+            }
+        }
+    }
+
+    private void reloadChunk(int index) {
+        if (reloadingChunks.contains(index)) {
+            return;
+        }
+        // 没有缓存数据源且离线时不发请求，避免滚动中反复失败
+        if (reloader == null
+                && NetworkQuality.current(BaseApplication.getAppContext()) == NetworkQuality.Level.OFFLINE) {
+            return;
+        }
+        reloadingChunks.add(index);
+        final int requestGeneration = generation;
+        PageFetcher<T> source = reloader != null ? reloader : fetcher;
+        // 完成后从集合中移除，长时间来回滚动也不会累积已结束的订阅
+        reloadDisposables.add(source.fetch(chunkKeys.get(index))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribeWith(new DisposableObserver<DomainResult<PagingPayload<T>>>() {
+                    @Override
+                    public void onNext(DomainResult<PagingPayload<T>> result) {
+                        handleReloadResult(index, result, requestGeneration);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        if (requestGeneration == generation) {
+                            reloadingChunks.remove(index);
+                        }
+                        reloadDisposables.delete(this);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        reloadDisposables.delete(this);
+                    }
+                }));
+    }
+
+    private void handleReloadResult(int index, DomainResult<PagingPayload<T>> result, int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        reloadingChunks.remove(index);
+        // 重新填充回收页失败时保持占位，不打扰用户，下次滚动到附近时重试
+        if (!result.isSuccess() || result.getData() == null
+                || index >= snapshot.chunkCount() || snapshot.isChunkLoaded(index)) {
+            return;
+        }
+        snapshot = snapshot.replaceChunk(index, result.getData().getItems());
+        itemsLiveData.setValue(snapshot);
+    }
+
+    private void reportError(@Nullable DomainError error) {
+        String message = error != null ? error.getMessage() : null;
+        if (message == null || message.isEmpty()) {
+            message = fallbackErrorMessage;
+        }
+        if (message != null) {
+            errorLiveData.setValue(message);
+        }
+    }
+
+    private void updateHasMore() {
+        hasMoreLiveData.setValue(sourceHasMore || reservedPage != null);
+    }
+
+    private void disposeAppend() {
+        appendDisposable.set(null);
+        appendInFlight = false;
+        publishOnArrival = false;
     }
 }
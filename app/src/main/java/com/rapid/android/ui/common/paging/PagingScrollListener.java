@@ -0,0 +1,64 @@
+package com.rapid.android.ui.common.paging;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * 把 RecyclerView 的下滑位置转发给 {@link PagingController#onScrollPosition(int, int)}，
+ * 是否预取、是否显示加载更多由控制器按预取距离决定。
+ * 窗口模式使用 {@link #ofRange(RangeCallback)}，上下滑动都会回调完整的可视区域。
+ */
+public final class PagingScrollListener extends RecyclerView.OnScrollListener {
+
+    @FunctionalInterface
+    public interface Callback {
+        void onScrollPosition(int lastVisiblePosition, int itemCount);
+    }
+
+    @FunctionalInterface
+    public interface RangeCallback {
+        void onVisibleRange(int firstVisiblePosition, int lastVisiblePosition, int itemCount);
+    }
+
+    @Nullable
+    private final Callback callback;
+    @Nullable
+    private final RangeCallback rangeCallback;
+
+    public PagingScrollListener(@NonNull Callback callback) {
+        this(callback, null);
+    }
+
+    private PagingScrollListener(@Nullable Callback callback, @Nullable RangeCallback rangeCallback) {
+        this.callback = callback;
+        this.rangeCallback = rangeCallback;
+    }
+
+    public static PagingScrollListener ofRange(@NonNull RangeCallback rangeCallback) {
+        return new PagingScrollListener(null, rangeCallback);
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy <= 0 && rangeCallback == null) {
+            return;
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (!(layoutManager instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        int totalItemCount = linearLayoutManager.getItemCount();
+        if (totalItemCount == 0) {
+            return;
+        }
+        int lastVisible = linearLayoutManager.findLastVisibleItemPosition();
+        if (rangeCallback != null) {
+            rangeCallback.onVisibleRange(linearLayoutManager.findFirstVisibleItemPosition(), lastVisible, totalItemCount);
+        } else if (callback != null) {
+            callback.onScrollPosition(lastVisible, totalItemCount);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.rapid.android.network.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.rapid.android.core.network.base.BaseResponse;
+import com.rapid.android.core.network.util.GsonProvider;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+
+public class AuthInterceptorTest {
+
+    private static final int TOKEN_EXPIRED = -1001;
+    private static final int ITEM_COUNT = 5_000;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final Type BASE_RESPONSE_TYPE = new TypeToken<BaseResponse<Object>>() {
+    }.getType();
+
+    private final AtomicInteger refreshCount = new AtomicInteger();
+    private final AuthInterceptor.TokenRefreshHandler refreshHandler = new AuthInterceptor.TokenRefreshHandler() {
+        @Override
+        public boolean canRefresh() {
+            return true;
+        }
+
+        @Override
+        public boolean refreshToken() {
+            refreshCount.incrementAndGet();
+            return true;
+        }
+    };
+
+    private MockWebServer server;
+    private AuthInterceptor interceptor;
+    private Api api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        interceptor = new AuthInterceptor(null, Collections.singleton(TOKEN_EXPIRED), refreshHandler);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .build();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.get()))
+                .build()
+                .create(Api.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void converterReceivesFullBodyAfterPeek() throws Exception {
+        server.enqueue(jsonResponse(largePayload(0)));
+
+        Response<BaseResponse<List<Item>>> response = api.list().execute();
+
+        BaseResponse<List<Item>> body = response.body();
+        assertNotNull(body);
+        assertEquals(0, body.getErrorCode());
+        assertNotNull(body.getData());
+        assertEquals(ITEM_COUNT, body.getData().size());
+        assertEquals(ITEM_COUNT - 1, body.getData().get(ITEM_COUNT - 1).id);
+        assertEquals(0, refreshCount.get());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void unauthorizedCodeAfterDataTriggersRefresh() throws Exception {
+        server.enqueue(jsonResponse(largePayload(TOKEN_EXPIRED)));
+        server.enqueue(jsonResponse(largePayload(0)));
+
+        Response<BaseResponse<List<Item>>> response = api.list().execute();
+
+        assertEquals(1, refreshCount.get());
+        server.takeRequest(5, TimeUnit.SECONDS);
+        RecordedRequest retry = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(retry);
+        assertEquals("1", retry.getHeader("X-Auth-Retry"));
+        BaseResponse<List<Item>> body = response.body();
+        assertNotNull(body);
+        assertEquals(0, body.getErrorCode());
+        assertEquals(ITEM_COUNT, body.getData().size());
+    }
+
+    @Test
+    public void nonObjectBodyIsIgnored() {
+        assertNull(interceptor.peekErrorCode(ResponseBody.create("[1,2,3]", JSON), JSON));
+    }
+
+    @Test
+    public void peekAllocatesLessThanBufferingBody() throws Exception {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        Assume.assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        String payload = largePayload(TOKEN_EXPIRED);
+        Gson gson = GsonProvider.get();
+
+        // 预热，排除类加载与首次调用的分配
+        peekPath(payload);
+        stringPath(gson, payload);
+
+        long threadId = Thread.currentThread().getId();
+        ResponseBody peekBody = ResponseBody.create(payload, JSON);
+        long peekStart = System.nanoTime();
+        long peekAllocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        Integer peeked = interceptor.peekErrorCode(peekBody, JSON);
+        long peekAllocated = threads.getThreadAllocatedBytes(threadId) - peekAllocatedBefore;
+        long peekNanos = System.nanoTime() - peekStart;
+
+        ResponseBody stringBody = ResponseBody.create(payload, JSON);
+        long stringStart = System.nanoTime();
+        long stringAllocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        int parsed = parseAndRebuild(gson, stringBody);
+        long stringAllocated = threads.getThreadAllocatedBytes(threadId) - stringAllocatedBefore;
+        long stringNanos = System.nanoTime() - stringStart;
+
+        System.out.println("peekErrorCode: " + peekAllocated + " B, " + peekNanos / 1000 + " us; "
+                + "body.string(): " + stringAllocated + " B, " + stringNanos / 1000 + " us");
+        assertEquals(Integer.valueOf(TOKEN_EXPIRED), peeked);
+        assertEquals(TOKEN_EXPIRED, parsed);
+        // 旧路径至少复制一份完整正文并为 data 建树，耗时受机器负载影响不做断言
+        assertTrue(peekAllocated * 4 < stringAllocated);
+    }
+
+    private void peekPath(String payload) {
+        interceptor.peekErrorCode(ResponseBody.create(payload, JSON), JSON);
+    }
+
+    private static void stringPath(Gson gson, String payload) throws Exception {
+        parseAndRebuild(gson, ResponseBody.create(payload, JSON));
+    }
+
+    // 改造前的实现：读出整段正文解析，再用字符串重建响应体
+    private static int parseAndRebuild(Gson gson, ResponseBody body) throws Exception {
+        String bodyString = body.string();
+        BaseResponse<?> baseResponse = gson.fromJson(bodyString, BASE_RESPONSE_TYPE);
+        ResponseBody.create(bodyString, JSON);
+        return baseResponse.getErrorCode();
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) bean
+                : null;
+    }
+
+    // errorCode 位于 data 之后，peek 需要跳过整个列表才能读到
+    private static String largePayload(int errorCode) {
+        StringBuilder sb = new StringBuilder(ITEM_COUNT * 96);
+        sb.append("{\"data\":[");
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(i)
+                    .append(",\"title\":\"Article ").append(i)
+                    .append(" - a reasonably long title used to pad the payload\"}");
+        }
+        sb.append("],\"errorMsg\":\"\",\"errorCode\":").append(errorCode).append('}');
+        return sb.toString();
+    }
+
+    private static MockResponse jsonResponse(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", JSON.toString())
+                .setBody(body);
+    }
+
+    interface Api {
+        @GET("article/list/0/json")
+        Call<BaseResponse<List<Item>>> list();
+    }
+
+    static final class Item {
+        int id;
+        String title;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rapid.android.core.analytics.monitor;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 热点堆栈
+ */
+public final class HotStack {
+    final int[] frames;
+    long samples;
+    int incidents;
+    long lastIncident = -1;
+    String stack;
+
+    HotStack(int[] frames) {
+        this.frames = frames;
+    }
+
+    HotStack copy(String formatted) {
+        HotStack copy = new HotStack(frames);
+        copy.samples = samples;
+        copy.incidents = incidents;
+        copy.stack = formatted;
+        return copy;
+    }
+
+    // 累计采样命中次数
+    public long getSamples() {
+        return samples;
+    }
+
+    // 出现过的卡顿次数
+    public int getIncidents() {
+        return incidents;
+    }
+
+    public String getStack() {
+        return stack;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "HotStack{samples=" + samples + ", incidents=" + incidents + "}" + stack;
+    }
+}
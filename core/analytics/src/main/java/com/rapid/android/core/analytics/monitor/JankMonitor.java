@@ -0,0 +1,183 @@
+package com.rapid.android.core.analytics.monitor;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Printer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 主线程消息耗时 / 卡顿监控，可在 release 包常开
+ * 思路：
+ * - 主线程侧只记时间戳与直方图，按 Printer 文本首字符区分分发开始 / 结束，不解析字符串、不 post 消息
+ * - 看门狗线程按需唤醒：当前消息未超过阈值时休眠到阈值点，超过后才开始采样主线程堆栈
+ * - 堆栈帧驻留为 int ID，采样存入有界环，热点堆栈跨多次卡顿累计
+ */
+public class JankMonitor {
+
+    private static final String TAG = "JankMonitor";
+
+    /**
+     * 卡顿阈值 (ms)
+     */
+    private static final long BLOCK_THRESHOLD_MS = 300L;
+    /**
+     * 超过阈值后的堆栈采样间隔 (ms)
+     */
+    private static final long SAMPLE_INTERVAL_MS = 100L;
+    private static final int SAMPLE_RING_CAPACITY = 256;
+
+    /**
+     * 直方图桶上界 (ms)，最后一个桶为 >= 1024ms
+     */
+    private static final long[] BUCKET_BOUNDS = {4, 8, 16, 32, 64, 128, 256, 512, 1024};
+
+    private static final JankMonitor INSTANCE = new JankMonitor();
+
+    private final Thread mainThread = Looper.getMainLooper().getThread();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+    private final StackTable stackTable = new StackTable(SAMPLE_RING_CAPACITY);
+
+    /**
+     * 奇数表示主线程正在分发消息，每条消息 +2
+     */
+    private volatile long dispatchSeq = 0L;
+    private volatile long dispatchStartMs = 0L;
+    private volatile long lastBlockMs = 0L;
+    private volatile boolean running = false;
+    private volatile long blockCount = 0L;
+    /**
+     * 当前有效的看门狗，旧线程发现自己已被替换即退出，避免 stop 后立即 start 时两个线程同时采样
+     */
+    private volatile Thread watchdog;
+
+    private final Printer printer = x -> {
+        // Looper 只在分发前后各回调一次：">>>>> Dispatching" / "<<<<< Finished"
+        if (x.charAt(0) == '>') {
+            dispatchStartMs = SystemClock.uptimeMillis();
+            dispatchSeq++;
+        } else if (x.charAt(0) == '<') {
+            long duration = SystemClock.uptimeMillis() - dispatchStartMs;
+            record(duration);
+            dispatchSeq++;
+        }
+    };
+
+    private JankMonitor() {
+    }
+
+    public static JankMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        Thread thread = new Thread(this::watch, "JankMonitor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        watchdog = thread;
+        thread.start();
+        Looper.getMainLooper().setMessageLogging(printer);
+    }
+
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        Looper.getMainLooper().setMessageLogging(null);
+        Thread thread = watchdog;
+        watchdog = null;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * 消息耗时直方图，下标对应 {@link #getBucketBounds()}，末位为超出最大上界的计数
+     */
+    public long[] getHistogram() {
+        long[] copy = new long[histogram.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    public long[] getBucketBounds() {
+        return BUCKET_BOUNDS.clone();
+    }
+
+    // 超过阈值的消息数
+    public long getBlockCount() {
+        return blockCount;
+    }
+
+    // 跨卡顿聚合的热点堆栈
+    public List<HotStack> getHotStacks(int limit) {
+        return stackTable.snapshot(limit);
+    }
+
+    // 仅主线程写入
+    private void record(long duration) {
+        int bucket = bucketOf(duration);
+        histogram.lazySet(bucket, histogram.get(bucket) + 1);
+        if (duration >= BLOCK_THRESHOLD_MS) {
+            lastBlockMs = duration;
+            blockCount++;
+        }
+    }
+
+    private static int bucketOf(long duration) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (duration < BUCKET_BOUNDS[i]) return i;
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    private void watch() {
+        long incidentSeq = -1;
+        int incidentSamples = 0;
+        Thread self = Thread.currentThread();
+        while (watchdog == self) {
+            long seq = dispatchSeq;
+            long start = dispatchStartMs;
+
+            if (incidentSeq != -1 && seq != incidentSeq) {
+                report(incidentSeq, incidentSamples);
+                incidentSeq = -1;
+                incidentSamples = 0;
+            }
+
+            if ((seq & 1) == 0) {
+                // 空闲：下一条消息至少要到一个阈值之后才可能卡顿
+                park(BLOCK_THRESHOLD_MS);
+                continue;
+            }
+            long elapsed = SystemClock.uptimeMillis() - start;
+            if (elapsed < BLOCK_THRESHOLD_MS) {
+                park(BLOCK_THRESHOLD_MS - elapsed);
+                continue;
+            }
+
+            StackTraceElement[] stack = mainThread.getStackTrace();
+            // 采样期间消息已结束或本线程已被替换则丢弃本次采样
+            if (dispatchSeq != seq || watchdog != self) continue;
+            stackTable.record(stack, seq);
+            incidentSeq = seq;
+            incidentSamples++;
+            park(SAMPLE_INTERVAL_MS);
+        }
+    }
+
+    private void report(long incident, int samples) {
+        String hotStack = stackTable.hottestOf(incident);
+        Log.w(TAG, "主线程卡顿结束，总耗时 = " + lastBlockMs + "ms，采样 " + samples + " 次"
+                + (hotStack != null ? "，最常驻堆栈：" + hotStack : ""));
+    }
+
+    private static void park(long millis) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis)));
+    }
+}
@@ -0,0 +1,165 @@
+package com.rapid.android.core.analytics.monitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 堆栈帧驻留表 + 采样环 + 热点堆栈聚合
+ * 帧以 int ID 存放，同一堆栈在多次卡顿间累计；仅由采样线程写入，读取方加锁
+ */
+final class StackTable {
+
+    private static final int MAX_FRAMES = 4096;
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_HOT_STACKS = 256;
+    // 帧表写满后的统一 ID
+    private static final int OVERFLOW_FRAME = 0;
+    private static final String MONITOR_PACKAGE = "com.rapid.android.core.analytics.monitor";
+
+    private final Map<StackTraceElement, Integer> frameIds = new HashMap<>();
+    private final List<StackTraceElement> frames = new ArrayList<>();
+
+    // 采样环：最近 sampleCapacity 次采样的帧 ID 序列
+    private final int[][] samples;
+    private final long[] sampleIncidents;
+    private int sampleCursor;
+
+    private final Map<StackKey, HotStack> hotStacks = new HashMap<>();
+
+    StackTable(int sampleCapacity) {
+        samples = new int[sampleCapacity][];
+        sampleIncidents = new long[sampleCapacity];
+        frames.add(new StackTraceElement("<overflow>", "", null, -1));
+    }
+
+    /**
+     * 记录一次采样
+     *
+     * @param incident 所属卡顿序号，同一卡顿内重复命中只计一次 incidents
+     */
+    synchronized void record(StackTraceElement[] stack, long incident) {
+        int[] ids = intern(stack);
+        if (ids.length == 0) return;
+
+        int slot = sampleCursor++ % samples.length;
+        samples[slot] = ids;
+        sampleIncidents[slot] = incident;
+
+        StackKey key = new StackKey(ids);
+        HotStack hot = hotStacks.get(key);
+        if (hot == null) {
+            if (hotStacks.size() >= MAX_HOT_STACKS) {
+                evictColdest();
+            }
+            hot = new HotStack(ids);
+            hotStacks.put(key, hot);
+        }
+        hot.samples++;
+        if (hot.lastIncident != incident) {
+            hot.lastIncident = incident;
+            hot.incidents++;
+        }
+    }
+
+    // 指定卡顿内命中最多的堆栈
+    synchronized String hottestOf(long incident) {
+        Map<StackKey, Integer> counts = new HashMap<>();
+        StackKey best = null;
+        int bestCount = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (samples[i] == null || sampleIncidents[i] != incident) continue;
+            StackKey key = new StackKey(samples[i]);
+            Integer previous = counts.get(key);
+            int count = previous == null ? 1 : previous + 1;
+            counts.put(key, count);
+            if (count > bestCount) {
+                bestCount = count;
+                best = key;
+            }
+        }
+        return best == null ? null : format(best.ids);
+    }
+
+    // 跨卡顿聚合的热点堆栈，按采样次数降序
+    synchronized List<HotStack> snapshot(int limit) {
+        List<HotStack> list = new ArrayList<>(hotStacks.size());
+        for (HotStack hot : hotStacks.values()) {
+            list.add(hot.copy(format(hot.frames)));
+        }
+        Collections.sort(list, (a, b) -> Long.compare(b.samples, a.samples));
+        return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+    }
+
+    private int[] intern(StackTraceElement[] stack) {
+        int[] ids = new int[Math.min(stack.length, MAX_DEPTH)];
+        int n = 0;
+        for (StackTraceElement element : stack) {
+            if (n == ids.length) break;
+            if (isFiltered(element.getClassName())) continue;
+            Integer id = frameIds.get(element);
+            if (id == null) {
+                if (frames.size() >= MAX_FRAMES) {
+                    id = OVERFLOW_FRAME;
+                } else {
+                    id = frames.size();
+                    frames.add(element);
+                    frameIds.put(element, id);
+                }
+            }
+            ids[n++] = id;
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
+    // 过滤掉无关的系统层堆栈
+    private static boolean isFiltered(String className) {
+        return className.startsWith("android.")
+                || className.startsWith("java.")
+                || className.startsWith("dalvik.")
+                || className.startsWith(MONITOR_PACKAGE);
+    }
+
+    private void evictColdest() {
+        StackKey coldest = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<StackKey, HotStack> entry : hotStacks.entrySet()) {
+            if (entry.getValue().samples < min) {
+                min = entry.getValue().samples;
+                coldest = entry.getKey();
+            }
+        }
+        hotStacks.remove(coldest);
+    }
+
+    private String format(int[] ids) {
+        StringBuilder sb = new StringBuilder(ids.length * 64);
+        for (int id : ids) {
+            sb.append("\n    at ").append(frames.get(id));
+        }
+        return sb.toString();
+    }
+
+    private static final class StackKey {
+        final int[] ids;
+        final int hash;
+
+        StackKey(int[] ids) {
+            this.ids = ids;
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StackKey && Arrays.equals(ids, ((StackKey) o).ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,16 +1,157 @@
 package com.rapid.android.core.analytics.tracker;
 
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
-public class Event {
+/**
+ * 埋点事件，参数以类型化槽位存放，通过 obtain / recycle 复用实例
+ * 入队后由分析线程编码并回收，调用方不应再持有
+ */
+public final class Event {
+
+    static final byte TYPE_STRING = 0;
+    static final byte TYPE_LONG = 1;
+    static final byte TYPE_DOUBLE = 2;
+    static final byte TYPE_BOOLEAN = 3;
+
+    private static final int INITIAL_SLOTS = 4;
+    private static final int MAX_POOL_SIZE = 64;
+    private static final Object sPoolSync = new Object();
+    private static Event sPool;
+    private static int sPoolSize = 0;
+
+    private Event next;
+    // 入队时由 EventBuffer 写入
+    EventBuffer.CommonHeader commonHeader;
+
     private String name;
     private long timestamp;
-    private Map<String, Object> params;
+    private int size;
+    private String[] keys = new String[INITIAL_SLOTS];
+    private byte[] types = new byte[INITIAL_SLOTS];
+    private long[] primitives = new long[INITIAL_SLOTS];
+    private String[] strings = new String[INITIAL_SLOTS];
+
+    private Event() {
+    }
 
     public Event(String name, Map<String, Object> params) {
-        this.name = name;
+        reset(name);
+        putAll(params);
+    }
+
+    // 从复用池取出实例，事件名会被驻留
+    public static Event obtain(String name) {
+        Event event = null;
+        synchronized (sPoolSync) {
+            if (sPool != null) {
+                event = sPool;
+                sPool = event.next;
+                event.next = null;
+                sPoolSize--;
+            }
+        }
+        if (event == null) {
+            event = new Event();
+        }
+        event.reset(name);
+        return event;
+    }
+
+    void recycle() {
+        Arrays.fill(strings, 0, size, null);
+        Arrays.fill(keys, 0, size, null);
+        size = 0;
+        name = null;
+        commonHeader = null;
+        synchronized (sPoolSync) {
+            if (sPoolSize < MAX_POOL_SIZE) {
+                next = sPool;
+                sPool = this;
+                sPoolSize++;
+            }
+        }
+    }
+
+    private void reset(String name) {
+        this.name = EventNames.intern(name);
         this.timestamp = System.currentTimeMillis();
-        this.params = params;
+        this.size = 0;
+    }
+
+    public Event putString(String key, String value) {
+        int index = slot(key, TYPE_STRING);
+        strings[index] = value;
+        return this;
+    }
+
+    public Event putLong(String key, long value) {
+        primitives[slot(key, TYPE_LONG)] = value;
+        return this;
+    }
+
+    public Event putInt(String key, int value) {
+        return putLong(key, value);
+    }
+
+    public Event putDouble(String key, double value) {
+        primitives[slot(key, TYPE_DOUBLE)] = Double.doubleToRawLongBits(value);
+        return this;
+    }
+
+    public Event putBoolean(String key, boolean value) {
+        primitives[slot(key, TYPE_BOOLEAN)] = value ? 1 : 0;
+        return this;
+    }
+
+    // 兼容 Map 形式的参数，按值类型落入对应槽位
+    public Event put(String key, Object value) {
+        if (value instanceof Boolean) {
+            return putBoolean(key, (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            return putLong(key, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            return putDouble(key, ((Number) value).doubleValue());
+        }
+        return putString(key, value == null ? null : String.valueOf(value));
+    }
+
+    public Event putAll(Map<String, Object> params) {
+        if (params != null) {
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    private int slot(String key, byte type) {
+        int index = indexOf(key);
+        if (index < 0) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                types = Arrays.copyOf(types, capacity);
+                primitives = Arrays.copyOf(primitives, capacity);
+                strings = Arrays.copyOf(strings, capacity);
+            }
+            index = size++;
+            keys[index] = key;
+        }
+        types[index] = type;
+        strings[index] = null;
+        return index;
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) return i;
+        }
+        return -1;
     }
 
     public String getName() {
@@ -21,16 +162,55 @@ public class Event {
         return timestamp;
     }
 
+    public int size() {
+        return size;
+    }
+
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    byte typeAt(int index) {
+        return types[index];
+    }
+
+    long longAt(int index) {
+        return primitives[index];
+    }
+
+    double doubleAt(int index) {
+        return Double.longBitsToDouble(primitives[index]);
+    }
+
+    boolean booleanAt(int index) {
+        return primitives[index] != 0;
+    }
+
+    String stringAt(int index) {
+        return strings[index];
+    }
+
+    // 仅用于调试输出，会分配新的 Map
     public Map<String, Object> getParams() {
+        Map<String, Object> params = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            switch (types[i]) {
+                case TYPE_LONG: params.put(keys[i], longAt(i)); break;
+                case TYPE_DOUBLE: params.put(keys[i], doubleAt(i)); break;
+                case TYPE_BOOLEAN: params.put(keys[i], booleanAt(i)); break;
+                default: params.put(keys[i], strings[i]);
+            }
+        }
         return params;
     }
 
+    @NonNull
     @Override
     public String toString() {
         return "Event{" +
                 "name='" + name + '\'' +
                 ", timestamp=" + timestamp +
-                ", params=" + params +
+                ", params=" + getParams() +
                 '}';
     }
 }
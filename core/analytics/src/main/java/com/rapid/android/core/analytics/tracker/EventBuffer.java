@@ -1,48 +1,215 @@
 package com.rapid.android.core.analytics.tracker;
 
+import android.os.SystemClock;
 import android.util.Log;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import androidx.annotation.NonNull;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 埋点管道：无锁环形缓冲 -> 追加写磁盘分段 -> gzip 批量上报
+ * 满 BATCH_SIZE 条或距分段首条超过 FLUSH_INTERVAL_MS 即触发上报，失败按指数退避重试
+ */
 public class EventBuffer {
 
     private static final String TAG = "EventBuffer";
-    private BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
-    private ExecutorService worker = Executors.newSingleThreadExecutor();
-    private boolean isRunning = false;
+    private static final int RING_CAPACITY = 1024;
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_SEALED_SEGMENTS = 200;
+    private static final long FLUSH_INTERVAL_MS = 5000;
+    private static final long IDLE_PARK_MS = 1000;
+    private static final long BACKOFF_BASE_MS = 2000;
+    private static final long BACKOFF_MAX_MS = 5 * 60 * 1000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 2000;
+
+    private static final EventUploader LOG_UPLOADER = (gzipBody, eventCount) -> {
+        // 未配置上报通道时仅打印
+        Log.i(TAG, "Uploading " + eventCount + " events, " + gzipBody.length + " bytes");
+        return true;
+    };
+
+    private final EventRingBuffer<Event> ring = new EventRingBuffer<>(RING_CAPACITY);
+    private final EventMetrics metrics = new EventMetrics();
+    private final EventSerializer serializer = new EventSerializer();
+
+    private volatile Thread worker;
+    private volatile boolean running = false;
+    private volatile boolean flushRequested = false;
+    private volatile EventUploader uploader = LOG_UPLOADER;
+    private volatile CommonHeader commonHeader = new CommonHeader(0, null, null);
+
+    // 以下仅在工作线程访问
+    private EventSegmentStore store;
+    private int appliedCommonVersion = -1;
+    private long nextAttemptAt;
+    private int failedAttempts;
 
     public void enqueue(Event event) {
-        Log.i(TAG, "Event queued: " + event);
-        queue.offer(event);
-    }
-
-    public void start() {
-        if (isRunning) return;
-        isRunning = true;
-        worker.execute(() -> {
-            while (true) {
-                try {
-                    List<Event> batch = new ArrayList<>();
-                    queue.drainTo(batch, 50);  // 每次最多 50 条
-                    if (!batch.isEmpty()) upload(batch);
-                    Thread.sleep(5000);        // 每 5 秒上传一次
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+        // 入队时记下公共字段版本，落盘时按事件各自的版本切换批次
+        event.commonHeader = commonHeader;
+        if (!ring.offer(event)) {
+            metrics.dropped.incrementAndGet();
+            event.recycle();
+            return;
+        }
+        if (ring.size() >= BATCH_SIZE) {
+            wakeUp();
+        }
+    }
+
+    public void setUploader(EventUploader uploader) {
+        this.uploader = uploader != null ? uploader : LOG_UPLOADER;
+    }
+
+    // 公共字段写入批次首行，变化后开启新批次
+    public synchronized void setCommonFields(CommonFields common, String sessionId) {
+        commonHeader = new CommonHeader(commonHeader.version + 1, common, sessionId);
+        wakeUp();
+    }
+
+    /**
+     * 启动工作线程，start 之前入队的事件暂存在环形缓冲中
+     *
+     * @param dir 分段文件目录
+     */
+    public synchronized void start(@NonNull File dir) {
+        if (running) return;
+        running = true;
+        Thread thread = new Thread(() -> loop(dir), "analytics-worker");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        worker = thread;
+        thread.start();
+    }
+
+    // 立即封存当前分段并尝试上报，不等待结果
+    public void flush() {
+        flushRequested = true;
+        wakeUp();
+    }
+
+    // 缓冲中的事件落盘后停止工作线程，未上报的分段下次启动继续处理
+    public void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+            thread = worker;
+        }
+        if (thread == null || thread == Thread.currentThread()) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public EventMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void wakeUp() {
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void loop(File dir) {
+        store = new EventSegmentStore(dir, BATCH_SIZE, MAX_SEALED_SEGMENTS, metrics);
+        while (running) {
+            boolean busy = drainToDisk() > 0;
+            busy |= uploadNext();
+            if (!busy && ring.size() == 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(IDLE_PARK_MS));
             }
-        });
+        }
+        drainToDisk();
+        store.close();
+    }
+
+    // 公共字段版本变化时切换分段首行，旧版本入队的事件仍写入旧批次
+    private void applyCommonFields(CommonHeader header) {
+        if (header.version == appliedCommonVersion) return;
+        appliedCommonVersion = header.version;
+        store.setHeader(serializer.encodeHeader(header.fields, header.sessionId));
+    }
+
+    private int drainToDisk() {
+        int drained = 0;
+        Event event;
+        while ((event = ring.poll()) != null) {
+            drained++;
+            applyCommonFields(event.commonHeader);
+            try {
+                store.append(serializer.encode(event));
+                metrics.persisted.incrementAndGet();
+            } catch (IOException e) {
+                metrics.dropped.incrementAndGet();
+                Log.w(TAG, "persist event failed", e);
+            }
+            event.recycle();
+        }
+        return drained;
     }
 
-    private void upload(List<Event> events) {
-        // 这里可以是 HTTP POST 上报，暂时打印
-        Log.i(TAG, "Uploading " + events.size() + " events");
-        for (Event event : events) {
-//            Log.i(TAG, String.valueOf(event));
+    /**
+     * @return 成功上报一个批次返回 true
+     */
+    private boolean uploadNext() {
+        long now = SystemClock.elapsedRealtime();
+        if (flushRequested || store.currentAge(now) >= FLUSH_INTERVAL_MS) {
+            flushRequested = false;
+            store.seal();
         }
+        EventSegmentStore.Segment segment = store.oldest();
+        if (segment == null || now < nextAttemptAt) {
+            return false;
+        }
+
+        boolean success;
+        try {
+            EventSegmentStore.Batch batch = store.read(segment);
+            success = uploader.upload(batch.body, batch.count);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "upload failed", e);
+            success = false;
+        }
+
+        if (success) {
+            store.remove(segment);
+            metrics.uploaded.addAndGet(segment.count);
+            failedAttempts = 0;
+            nextAttemptAt = 0;
+            return true;
+        }
+        metrics.uploadFailures.incrementAndGet();
+        nextAttemptAt = now + backoff(++failedAttempts);
+        return false;
+    }
+
+    // 某一版本的公共字段，创建后不再修改
+    static final class CommonHeader {
+        final int version;
+        final CommonFields fields;
+        final String sessionId;
+
+        CommonHeader(int version, CommonFields fields, String sessionId) {
+            this.version = version;
+            this.fields = fields;
+            this.sessionId = sessionId;
+        }
+    }
+
+    // 指数退避，附带 0~50% 的随机抖动
+    private static long backoff(int attempts) {
+        long delay = BACKOFF_BASE_MS << Math.min(attempts - 1, 16);
+        delay = Math.min(delay, BACKOFF_MAX_MS);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
     }
 }
@@ -0,0 +1,47 @@
+package com.rapid.android.core.analytics.tracker;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 埋点管道计数
+ */
+public final class EventMetrics {
+
+    final AtomicLong dropped = new AtomicLong();
+    final AtomicLong persisted = new AtomicLong();
+    final AtomicLong uploaded = new AtomicLong();
+    final AtomicLong uploadFailures = new AtomicLong();
+
+    // 缓冲区已满被丢弃的事件数
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // 已写入磁盘分段的事件数
+    public long getPersisted() {
+        return persisted.get();
+    }
+
+    // 已确认上报的事件数
+    public long getUploaded() {
+        return uploaded.get();
+    }
+
+    // 失败的上报批次数
+    public long getUploadFailures() {
+        return uploadFailures.get();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "EventMetrics{" +
+                "dropped=" + dropped.get() +
+                ", persisted=" + persisted.get() +
+                ", uploaded=" + uploaded.get() +
+                ", uploadFailures=" + uploadFailures.get() +
+                '}';
+    }
+}
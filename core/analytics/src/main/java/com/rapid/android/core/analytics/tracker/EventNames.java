@@ -0,0 +1,35 @@
+package com.rapid.android.core.analytics.tracker;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 事件名驻留池，同名事件共享同一个 String 实例，编码时可按引用复用
+ */
+public final class EventNames {
+
+    public static final String CLICK = "click";
+    public static final String PAGE_CREATE = "page_create";
+    public static final String PAGE_DESTROY = "page_destroy";
+
+    // 防止动态拼接的事件名无限增长
+    private static final int MAX_SIZE = 512;
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    static {
+        intern(CLICK);
+        intern(PAGE_CREATE);
+        intern(PAGE_DESTROY);
+    }
+
+    private EventNames() {
+    }
+
+    public static String intern(String name) {
+        if (name == null) return null;
+        String existing = POOL.get(name);
+        if (existing != null) return existing;
+        if (POOL.size() >= MAX_SIZE) return name;
+        existing = POOL.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+}
@@ -0,0 +1,75 @@
+package com.rapid.android.core.analytics.tracker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者 / 单消费者）
+ * 每个槽位携带序号，生产者 CAS 抢占写指针，消费者通过序号判断槽位是否已发布
+ */
+final class EventRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return 缓冲区已满时返回 false
+     */
+    boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 仅允许单个消费线程调用
+     */
+    E poll() {
+        long pos = head.get();
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, pos + mask + 1);
+        head.lazySet(pos + 1);
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
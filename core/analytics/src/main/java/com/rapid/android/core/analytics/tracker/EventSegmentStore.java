@@ -0,0 +1,225 @@
+package com.rapid.android.core.analytics.tracker;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 追加写的磁盘分段：事件先落盘再上报，进程被杀后下次启动继续上报
+ * 当前分段写满 segmentCapacity 条后封存，封存分段即一个上报批次
+ * 分段首行为公共字段，公共字段变化时封存当前分段
+ * 仅在分析线程访问
+ */
+final class EventSegmentStore {
+
+    private static final String TAG = "EventSegmentStore";
+    private static final String SUFFIX = ".seg";
+    private static final byte[] HEADER_PREFIX = "{\"common\"".getBytes(StandardCharsets.UTF_8);
+
+    static final class Segment {
+        final File file;
+        int count;
+
+        Segment(File file, int count) {
+            this.file = file;
+            this.count = count;
+        }
+    }
+
+    static final class Batch {
+        final byte[] body;
+        final int count;
+
+        Batch(byte[] body, int count) {
+            this.body = body;
+            this.count = count;
+        }
+    }
+
+    private final File dir;
+    private final int segmentCapacity;
+    private final int maxSealedSegments;
+    private final EventMetrics metrics;
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+
+    private long nextSequence;
+    private Segment current;
+    private FileOutputStream currentStream;
+    private long currentOpenedAt;
+    private byte[] header;
+
+    EventSegmentStore(File dir, int segmentCapacity, int maxSealedSegments, EventMetrics metrics) {
+        this.dir = dir;
+        this.segmentCapacity = segmentCapacity;
+        this.maxSealedSegments = maxSealedSegments;
+        this.metrics = metrics;
+        recover();
+    }
+
+    // 上次进程遗留的分段全部视为已封存
+    private void recover() {
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Unable to create " + dir);
+        }
+        File[] files = dir.listFiles((d, name) -> name.endsWith(SUFFIX));
+        if (files == null) return;
+        Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+        for (File file : files) {
+            int count = countRecords(file);
+            if (count == 0) {
+                file.delete();
+                continue;
+            }
+            sealed.addLast(new Segment(file, count));
+            nextSequence = Math.max(nextSequence, parseSequence(file) + 1);
+        }
+        trimSealed();
+    }
+
+    void setHeader(byte[] header) {
+        if (this.header != null && !Arrays.equals(this.header, header)) {
+            seal();
+        }
+        this.header = header;
+    }
+
+    void append(byte[] record) throws IOException {
+        if (current == null) {
+            current = new Segment(new File(dir, String.format("%019d%s", nextSequence++, SUFFIX)), 0);
+            currentStream = new FileOutputStream(current.file, true);
+            currentOpenedAt = SystemClock.elapsedRealtime();
+            if (header != null) {
+                currentStream.write(header);
+            }
+        }
+        // 单次 write 写入整行，被杀时最多留下一条不完整的尾行
+        currentStream.write(record);
+        current.count++;
+        if (current.count >= segmentCapacity) {
+            seal();
+        }
+    }
+
+    void seal() {
+        if (current == null) return;
+        closeQuietly();
+        sealed.addLast(current);
+        current = null;
+        trimSealed();
+    }
+
+    int currentCount() {
+        return current == null ? 0 : current.count;
+    }
+
+    long currentAge(long now) {
+        return current == null ? 0 : now - currentOpenedAt;
+    }
+
+    Segment oldest() {
+        return sealed.peekFirst();
+    }
+
+    Batch read(Segment segment) throws IOException {
+        byte[] raw = readFully(segment.file);
+        int end = lastNewline(raw) + 1;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, end / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw, 0, end);
+        }
+        return new Batch(out.toByteArray(), segment.count);
+    }
+
+    void remove(Segment segment) {
+        sealed.remove(segment);
+        if (!segment.file.delete()) {
+            Log.w(TAG, "Unable to delete " + segment.file);
+        }
+    }
+
+    void close() {
+        closeQuietly();
+        current = null;
+    }
+
+    // 磁盘积压超限时丢弃最旧的分段
+    private void trimSealed() {
+        while (sealed.size() > maxSealedSegments) {
+            Segment dropped = sealed.pollFirst();
+            metrics.dropped.addAndGet(dropped.count);
+            dropped.file.delete();
+        }
+    }
+
+    private void closeQuietly() {
+        if (currentStream == null) return;
+        try {
+            currentStream.close();
+        } catch (IOException e) {
+            Log.w(TAG, "close segment failed", e);
+        }
+        currentStream = null;
+    }
+
+    private static int countRecords(File file) {
+        try {
+            byte[] raw = readFully(file);
+            int end = lastNewline(raw) + 1;
+            int count = 0;
+            for (int i = 0; i < end; i++) {
+                if (raw[i] == '\n') count++;
+            }
+            // 扣除公共字段行
+            return end > 0 && startsWith(raw, HEADER_PREFIX) ? count - 1 : count;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static boolean startsWith(byte[] raw, byte[] prefix) {
+        if (raw.length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (raw[i] != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static int lastNewline(byte[] raw) {
+        for (int i = raw.length - 1; i >= 0; i--) {
+            if (raw[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    private static long parseSequence(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] readFully(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.max(64, file.length()));
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.rapid.android.core.analytics.tracker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 事件编码为单行 JSON，分段文件与上报批次均为按行分隔的 JSON
+ * 每个分段以公共字段行开头，其后每行一个事件
+ */
+final class EventSerializer {
+
+    private static final int MAX_NAME_CACHE = 512;
+
+    private final StringBuilder builder = new StringBuilder(256);
+    // 驻留后的事件名按引用缓存转义结果
+    private final Map<String, String> escapedNames = new IdentityHashMap<>();
+
+    // 仅在分析线程调用，复用同一个 StringBuilder
+    byte[] encode(Event event) {
+        StringBuilder sb = builder;
+        sb.setLength(0);
+        sb.append("{\"name\":").append(escapedName(event.getName()));
+        sb.append(",\"timestamp\":").append(event.getTimestamp());
+        int size = event.size();
+        if (size > 0) {
+            sb.append(",\"params\":{");
+            for (int i = 0; i < size; i++) {
+                if (i > 0) sb.append(',');
+                appendString(sb, event.keyAt(i));
+                sb.append(':');
+                switch (event.typeAt(i)) {
+                    case Event.TYPE_LONG:
+                        sb.append(event.longAt(i));
+                        break;
+                    case Event.TYPE_DOUBLE:
+                        double d = event.doubleAt(i);
+                        if (Double.isNaN(d) || Double.isInfinite(d)) {
+                            sb.append("null");
+                        } else {
+                            sb.append(d);
+                        }
+                        break;
+                    case Event.TYPE_BOOLEAN:
+                        sb.append(event.booleanAt(i));
+                        break;
+                    default:
+                        appendString(sb, event.stringAt(i));
+                }
+            }
+            sb.append('}');
+        }
+        sb.append("}\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 批次首行，公共字段每批只写一次
+    byte[] encodeHeader(CommonFields common, String sessionId) {
+        StringBuilder sb = builder;
+        sb.setLength(0);
+        sb.append("{\"common\":{\"platform\":\"Android\"");
+        if (common != null) {
+            sb.append(",\"device_id\":");
+            appendString(sb, common.getDeviceId());
+            sb.append(",\"user_id\":");
+            appendString(sb, common.getUserId());
+            sb.append(",\"app_version\":");
+            appendString(sb, common.getAppVersion());
+        }
+        if (sessionId != null) {
+            sb.append(",\"session_id\":");
+            appendString(sb, sessionId);
+        }
+        sb.append("}}\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String escapedName(String name) {
+        String escaped = escapedNames.get(name);
+        if (escaped == null) {
+            StringBuilder sb = new StringBuilder(name == null ? 4 : name.length() + 2);
+            appendString(sb, name);
+            escaped = sb.toString();
+            if (escapedNames.size() < MAX_NAME_CACHE) {
+                escapedNames.put(name, escaped);
+            }
+        }
+        return escaped;
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
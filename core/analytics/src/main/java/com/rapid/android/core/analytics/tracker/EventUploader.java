@@ -0,0 +1,20 @@
+package com.rapid.android.core.analytics.tracker;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+/**
+ * 埋点上报通道，由宿主实现（HTTP、SDK 等）
+ */
+public interface EventUploader {
+
+    /**
+     * 上报一个批次，在分析线程同步调用
+     *
+     * @param gzipBody   gzip 压缩后的批次，解压后首行为公共字段，其后每行一个 JSON 事件
+     * @param eventCount 批次内事件数
+     * @return 服务端确认接收返回 true；返回 false 或抛出异常时按退避策略重试
+     */
+    boolean upload(@NonNull byte[] gzipBody, int eventCount) throws IOException;
+}
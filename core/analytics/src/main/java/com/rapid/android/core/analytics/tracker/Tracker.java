@@ -1,63 +1,75 @@
 package com.rapid.android.core.analytics.tracker;
 
-import java.util.HashMap;
+import android.content.Context;
+
+import java.io.File;
 import java.util.Map;
 import java.util.UUID;
 
 public class Tracker {
 
-    private static EventBuffer eventBuffer = new EventBuffer();
+    private static final EventBuffer eventBuffer = new EventBuffer();
     private static CommonFields commonFields;
     private static String sessionId;
 
     // 初始化 SDK
-    public static void init(CommonFields common) {
+    public static void init(Context context, CommonFields common) {
+        init(context, common, null);
+    }
+
+    // 初始化 SDK，uploader 为空时仅打印上报内容
+    public static void init(Context context, CommonFields common, EventUploader uploader) {
         commonFields = common;
         sessionId = UUID.randomUUID().toString();
-        eventBuffer.start();
+        eventBuffer.setUploader(uploader);
+        eventBuffer.setCommonFields(common, sessionId);
+        eventBuffer.start(new File(context.getFilesDir(), "analytics"));
     }
 
-    // 核心埋点接口
-    public static void track(String eventName, Map<String, Object> params) {
-        Map<String, Object> allParams = new HashMap<>();
-        if (params != null) {
-            allParams.putAll(params);
-        }
+    // 立即上报已缓冲的事件
+    public static void flush() {
+        eventBuffer.flush();
+    }
 
-        // 自动添加公共字段
-        if (commonFields != null) {
-            allParams.put("device_id", commonFields.getDeviceId());
-            allParams.put("user_id", commonFields.getUserId());
-            allParams.put("app_version", commonFields.getAppVersion());
-        }
-//        allParams.put("os_version", System.getProperty("os.version"));
-        allParams.put("platform", "Android");
-//        allParams.put("session_id", sessionId);
+    // 缓冲事件落盘并停止上报线程
+    public static void shutdown() {
+        eventBuffer.shutdown();
+    }
+
+    // 丢弃 / 落盘 / 上报计数
+    public static EventMetrics getMetrics() {
+        return eventBuffer.getMetrics();
+    }
+
+    // 取出复用的事件实例，填充参数后交给 track(Event)
+    public static Event newEvent(String eventName) {
+        return Event.obtain(eventName);
+    }
 
-        Event event = new Event(eventName, allParams);
+    // 核心埋点接口，公共字段在上报时按批次附加
+    public static void track(Event event) {
         eventBuffer.enqueue(event);
     }
 
+    public static void track(String eventName, Map<String, Object> params) {
+        track(Event.obtain(eventName).putAll(params));
+    }
+
     // 点击埋点
     public static void trackClick(String viewId) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("view_id", viewId);
-        track("click", params);
+        track(Event.obtain(EventNames.CLICK).putString("view_id", viewId));
     }
 
     // 页面创建埋点
     public static void trackPageCreate(String pageName) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("page", pageName);
-        track("page_create", params);
+        track(Event.obtain(EventNames.PAGE_CREATE).putString("page", pageName));
     }
 
     //页面销毁埋点
     public static void trackPageDestroy(String pageName, long duration) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("page", pageName);
-        params.put("duration_ms", duration);
-        track("page_destroy", params);
+        track(Event.obtain(EventNames.PAGE_DESTROY)
+                .putString("page", pageName)
+                .putLong("duration_ms", duration));
     }
 
     // 获取当前公共字段
@@ -69,6 +81,7 @@ public class Tracker {
     public static void setUserId(String userId) {
         if (commonFields != null) {
             commonFields = new CommonFields(commonFields.getDeviceId(), userId, commonFields.getAppVersion());
+            eventBuffer.setCommonFields(commonFields, sessionId);
         }
     }
 }
@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 
 import com.rapid.android.core.common.app.tasks.LogKitTask;
 import com.rapid.android.core.common.app.tasks.MmkvTask;
+import com.rapid.android.core.initializer.FirstFrameDetector;
 import com.rapid.android.core.initializer.Task;
 import com.rapid.android.core.initializer.TaskManager;
 
@@ -43,6 +44,7 @@ public abstract class BaseApplication extends Application {
 
     private void performInitialization() {
         TaskManager initManager = new TaskManager();
+        initManager.setTelemetry(new StartupTelemetry());
         // 添加初始化任务
         initManager.addTasks(
                 List.of(
@@ -50,8 +52,11 @@ public abstract class BaseApplication extends Application {
                 )
         );
         initManager.addTasks(addInitTasks());
+        // 首帧后释放 FIRST_FRAME / IDLE 阶段任务
+        FirstFrameDetector.install(this, initManager::notifyFirstFrameDrawn);
         // 启动异步初始化
         initManager.start();
+        onAppInitialized();
     }
 
     public abstract List<Task> addInitTasks();
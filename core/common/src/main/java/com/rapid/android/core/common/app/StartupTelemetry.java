@@ -0,0 +1,45 @@
+package com.rapid.android.core.common.app;
+
+import androidx.annotation.NonNull;
+
+import com.rapid.android.core.initializer.TaskTelemetry;
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.storage.PreferenceHelper;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 启动任务耗时基于 MMKV 持久化，启动轨迹写入 files/startup_trace.json
+ */
+final class StartupTelemetry implements TaskTelemetry {
+
+    private static final String TAG = "StartupTelemetry";
+    private static final String PREF_NAME = "startup_telemetry";
+    private static final String KEY_PREFIX = "duration_";
+    private static final String TRACE_FILE = "startup_trace.json";
+
+    private final PreferenceHelper prefs = PreferenceHelper.with(PREF_NAME);
+
+    @Override
+    public int loadDuration(@NonNull String taskName) {
+        return prefs.getInt(KEY_PREFIX + taskName, -1);
+    }
+
+    @Override
+    public void onStartupFinished(@NonNull Map<String, Integer> durations, @NonNull String traceJson) {
+        for (Map.Entry<String, Integer> entry : durations.entrySet()) {
+            prefs.putInt(KEY_PREFIX + entry.getKey(), entry.getValue());
+        }
+
+        File traceFile = new File(BaseApplication.getAppContext().getFilesDir(), TRACE_FILE);
+        try (FileOutputStream out = new FileOutputStream(traceFile)) {
+            out.write(traceJson.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LogKit.w(TAG, e, "Write startup trace failed");
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.rapid.android.core.common.app.tasks;
 
 import com.rapid.android.core.common.BuildConfig;
+import com.rapid.android.core.common.app.BaseApplication;
 import com.rapid.android.core.initializer.Task;
 import com.rapid.android.core.initializer.TaskType;
 import com.rapid.android.core.log.LogKit;
 
+import java.io.File;
+
 public class LogKitTask extends Task {
+
+    private static final String LOG_DIR = "logs";
+
     @Override
     public TaskType getTaskType() {
         return TaskType.BLOCKING;
@@ -13,6 +19,6 @@ public class LogKitTask extends Task {
 
     @Override
     public void run() {
-        LogKit.init(BuildConfig.DEBUG);
+        LogKit.init(BuildConfig.DEBUG, new File(BaseApplication.getAppContext().getFilesDir(), LOG_DIR));
     }
 }
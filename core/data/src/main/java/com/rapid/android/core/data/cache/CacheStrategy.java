@@ -0,0 +1,110 @@
+package com.rapid.android.core.data.cache;
+
+import androidx.annotation.NonNull;
+
+import com.rapid.android.core.data.mapper.DomainResultMapper;
+import com.rapid.android.core.domain.result.DomainResult;
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.network.base.BaseResponse;
+
+import java.lang.reflect.Type;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * 仓库层缓存策略，统一完成 BaseResponse 到 DomainResult 的映射。
+ * <ul>
+ *     <li>staleWhileRevalidate：缓存未超过最长使用时间时先发缓存，再发网络结果（内容未变化时不重复发射），适合列表首页及配置类接口</li>
+ *     <li>networkFirst：只发射一次，网络失败时回退缓存，适合翻页及被 zip 组合的接口</li>
+ *     <li>cacheFirst：有缓存直接发射缓存不再请求，否则走网络并写缓存，适合重新填充已回收的分页</li>
+ * </ul>
+ */
+public final class CacheStrategy {
+
+    private static final String TAG = "CacheStrategy";
+
+    private CacheStrategy() {
+    }
+
+    /**
+     * @param maxAgeMillis 缓存可先行展示的最长时间，超过后不再先发缓存，只在网络失败时回退到它
+     */
+    @NonNull
+    public static <T> Observable<DomainResult<T>> staleWhileRevalidate(@NonNull String key,
+                                                                      long maxAgeMillis,
+                                                                      @NonNull Type dataType,
+                                                                      @NonNull Observable<BaseResponse<T>> network) {
+        return Observable.defer(() -> {
+            ResponseCache cache = ResponseCache.getInstance();
+            ResponseCache.Entry<T> cached = cache.read(key, dataType);
+            if (cached == null || cached.isOlderThan(maxAgeMillis)) {
+                return network
+                        .doOnNext(response -> store(cache, key, response, cached != null ? cached.getJson() : null))
+                        .map(DomainResultMapper::map)
+                        .onErrorReturn(throwable -> cached != null
+                                ? DomainResultMapper.map(cached.getResponse())
+                                : DomainResultMapper.<T>mapError(throwable));
+            }
+
+            // 缓存只用于尽快出首屏，每次订阅都重新请求，下拉刷新不会被缓存挡住
+            Observable<DomainResult<T>> cachedResult = Observable.just(DomainResultMapper.map(cached.getResponse()));
+            Observable<DomainResult<T>> revalidate = network
+                    .filter(response -> store(cache, key, response, cached.getJson()) || !response.isSuccess())
+                    .map(DomainResultMapper::map)
+                    .onErrorResumeNext(throwable -> {
+                        // 已展示缓存，网络异常时保持缓存内容
+                        LogKit.w(TAG, "Revalidate failed for %s: %s", key, throwable.getMessage());
+                        return Observable.empty();
+                    });
+            return cachedResult.concatWith(revalidate);
+        });
+    }
+
+    @NonNull
+    public static <T> Observable<DomainResult<T>> networkFirst(@NonNull String key,
+                                                              @NonNull Type dataType,
+                                                              @NonNull Observable<BaseResponse<T>> network) {
+        return Observable.defer(() -> {
+            ResponseCache cache = ResponseCache.getInstance();
+            return network
+                    .doOnNext(response -> store(cache, key, response, null))
+                    .map(DomainResultMapper::map)
+                    .onErrorResumeNext(throwable -> {
+                        ResponseCache.Entry<T> cached = cache.read(key, dataType);
+                        if (cached != null) {
+                            return Observable.just(DomainResultMapper.map(cached.getResponse()));
+                        }
+                        return Observable.just(DomainResultMapper.<T>mapError(throwable));
+                    });
+        });
+    }
+
+    @NonNull
+    public static <T> Observable<DomainResult<T>> cacheFirst(@NonNull String key,
+                                                            @NonNull Type dataType,
+                                                            @NonNull Observable<BaseResponse<T>> network) {
+        return Observable.defer(() -> {
+            ResponseCache cache = ResponseCache.getInstance();
+            ResponseCache.Entry<T> cached = cache.read(key, dataType);
+            if (cached != null) {
+                return Observable.just(DomainResultMapper.map(cached.getResponse()));
+            }
+            return network
+                    .doOnNext(response -> store(cache, key, response, null))
+                    .map(DomainResultMapper::map)
+                    .onErrorReturn(DomainResultMapper::mapError);
+        });
+    }
+
+    private static boolean store(ResponseCache cache, String key, BaseResponse<?> response, String previousJson) {
+        if (!response.isSuccess()) {
+            return false;
+        }
+        try {
+            return cache.put(key, response, previousJson);
+        } catch (RuntimeException e) {
+            LogKit.w(TAG, e, "Failed to cache %s", key);
+            return true;
+        }
+    }
+}
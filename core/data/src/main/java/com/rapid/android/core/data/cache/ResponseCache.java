@@ -0,0 +1,147 @@
+package com.rapid.android.core.data.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.network.base.BaseResponse;
+import com.rapid.android.core.network.util.GsonProvider;
+import com.rapid.android.core.storage.PreferenceHelper;
+
+import java.lang.reflect.Type;
+
+/**
+ * 接口响应持久化缓存，按 "接口:页码" 保存成功的 {@link BaseResponse} JSON 及写入时间。
+ */
+public final class ResponseCache {
+
+    private static final String TAG = "ResponseCache";
+    private static final String PREF_NAME = "http_response_cache";
+    private static final String SUFFIX_SAVED_AT = "#ts";
+
+    private static volatile ResponseCache instance;
+
+    private final Gson gson = GsonProvider.get();
+    private volatile PreferenceHelper prefs;
+
+    private ResponseCache() {
+    }
+
+    public static ResponseCache getInstance() {
+        if (instance == null) {
+            synchronized (ResponseCache.class) {
+                if (instance == null) {
+                    instance = new ResponseCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @NonNull
+    public static String key(@NonNull String endpoint, int page) {
+        return endpoint + ":" + page;
+    }
+
+    /**
+     * 读取缓存，数据损坏或结构变更导致解析失败时会清除该条目并返回 null。
+     */
+    @Nullable
+    public <T> Entry<T> read(@NonNull String key, @NonNull Type dataType) {
+        String json = getPrefs().getString(key, null);
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            Type responseType = TypeToken.getParameterized(BaseResponse.class, dataType).getType();
+            BaseResponse<T> response = gson.fromJson(json, responseType);
+            if (response == null) {
+                return null;
+            }
+            long savedAt = getPrefs().getLong(key + SUFFIX_SAVED_AT, 0L);
+            return new Entry<>(response, json, savedAt);
+        } catch (JsonParseException e) {
+            LogKit.w(TAG, e, "Drop corrupted cache entry: %s", key);
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存并刷新写入时间。
+     *
+     * @param previousJson 上一次缓存的 JSON，用于判断内容是否变化
+     * @return 内容与 previousJson 不同时返回 true
+     */
+    public boolean put(@NonNull String key, @NonNull BaseResponse<?> response, @Nullable String previousJson) {
+        String json = gson.toJson(response);
+        PreferenceHelper helper = getPrefs();
+        helper.putLong(key + SUFFIX_SAVED_AT, System.currentTimeMillis());
+        if (json.equals(previousJson)) {
+            return false;
+        }
+        helper.putString(key, json);
+        return true;
+    }
+
+    public void remove(@NonNull String key) {
+        PreferenceHelper helper = getPrefs();
+        helper.remove(key);
+        helper.remove(key + SUFFIX_SAVED_AT);
+    }
+
+    public void clear() {
+        getPrefs().clearAll();
+    }
+
+    private PreferenceHelper getPrefs() {
+        PreferenceHelper helper = prefs;
+        if (helper == null) {
+            synchronized (this) {
+                helper = prefs;
+                if (helper == null) {
+                    helper = PreferenceHelper.with(PREF_NAME);
+                    prefs = helper;
+                }
+            }
+        }
+        return helper;
+    }
+
+    public static final class Entry<T> {
+        private final BaseResponse<T> response;
+        private final String json;
+        private final long savedAt;
+
+        Entry(BaseResponse<T> response, String json, long savedAt) {
+            this.response = response;
+            this.json = json;
+            this.savedAt = savedAt;
+        }
+
+        @NonNull
+        public BaseResponse<T> getResponse() {
+            return response;
+        }
+
+        @NonNull
+        public String getJson() {
+            return json;
+        }
+
+        public long getSavedAt() {
+            return savedAt;
+        }
+
+        /**
+         * 写入时间未知或晚于当前时间（系统时间被回拨）时同样视为过旧
+         */
+        public boolean isOlderThan(long maxAgeMillis) {
+            long age = System.currentTimeMillis() - savedAt;
+            return savedAt <= 0L || age < 0 || age >= maxAgeMillis;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.rapid.android.core.data.cache;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.rapid.android.core.domain.model.ArticleListBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 搜索结果的内存 LRU 缓存，按 (范围, 关键词, 页码) 保存成功结果。
+ * 重新搜索之前的关键词或回翻已加载的页时不再请求接口；条目超过 {@link #TTL_MILLIS} 视为未命中。
+ */
+public final class SearchResultCache {
+
+    private static final int MAX_ENTRIES = 64;
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static volatile SearchResultCache instance;
+
+    private final LruCache<String, Entry> cache = new LruCache<>(MAX_ENTRIES);
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private SearchResultCache() {
+    }
+
+    public static SearchResultCache getInstance() {
+        if (instance == null) {
+            synchronized (SearchResultCache.class) {
+                if (instance == null) {
+                    instance = new SearchResultCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @NonNull
+    public static String key(@NonNull String scope, @NonNull String keyword, int page) {
+        return scope + '\u0000' + keyword.trim() + '\u0000' + page;
+    }
+
+    @Nullable
+    public ArticleListBean get(@NonNull String key) {
+        Entry entry = cache.get(key);
+        if (entry != null && SystemClock.elapsedRealtime() - entry.savedAt >= TTL_MILLIS) {
+            cache.remove(key);
+            entry = null;
+        }
+        (entry != null ? hits : misses).incrementAndGet();
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(@NonNull String key, @NonNull ArticleListBean value) {
+        cache.put(key, new Entry(value, SystemClock.elapsedRealtime()));
+    }
+
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * 移除关键词在所有范围、所有页码下的条目，用户主动刷新时调用，使下一次查询直接请求接口
+     */
+    public void invalidate(@NonNull String keyword) {
+        String marker = '\u0000' + keyword.trim() + '\u0000';
+        for (String key : cache.snapshot().keySet()) {
+            if (key.contains(marker)) {
+                cache.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 命中率，取值 0~1，尚无查询时为 0；过期条目计为未命中
+     */
+    public float getHitRate() {
+        int hitCount = hits.get();
+        int total = hitCount + misses.get();
+        return total == 0 ? 0f : (float) hitCount / total;
+    }
+
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    private static final class Entry {
+        final ArticleListBean value;
+        final long savedAt;
+
+        Entry(ArticleListBean value, long savedAt) {
+            this.value = value;
+            this.savedAt = savedAt;
+        }
+    }
+}
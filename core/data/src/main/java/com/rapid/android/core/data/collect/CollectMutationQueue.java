@@ -0,0 +1,317 @@
+package com.rapid.android.core.data.collect;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.rapid.android.core.data.repository.RepositoryProvider;
+import com.rapid.android.core.domain.repository.UserRepository;
+import com.rapid.android.core.domain.result.DomainError;
+import com.rapid.android.core.domain.result.DomainResult;
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.network.state.NetworkStateManager;
+import com.rapid.android.core.storage.PreferenceHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 收藏 / 取消收藏的乐观写队列。
+ * <p>
+ * 界面先改本地状态再调用 {@link #enqueue(int, boolean, boolean)}，队列按文章记录「期望状态」与「服务端已确认状态」，
+ * 期望状态同时写入 {@link CollectedArticleIndex}，各列表绑定时即可读到；
+ * 防抖窗口内对同一文章的多次切换只保留最终意图，与服务端一致时直接丢弃，不发请求。
+ * 到期后批量派发，同时进行的请求数受 {@link #MAX_CONCURRENT_REQUESTS} 限制。
+ * <p>
+ * 网络类失败保留在队列中并持久化，按指数退避重试至多 {@link #MAX_RETRY_ATTEMPTS} 次，之后等待下次启动或网络恢复时重放；
+ * 业务失败（如未登录、文章不存在）放弃该变更，并在主线程通知 {@link Listener} 把界面回滚到服务端状态。
+ */
+public final class CollectMutationQueue {
+
+    private static final String TAG = "CollectMutationQueue";
+    private static final String PREF_NAME = "collect_mutations";
+    private static final long DEBOUNCE_MS = 400L;
+    private static final int MAX_CONCURRENT_REQUESTS = 2;
+    private static final long RETRY_BASE_DELAY_MS = 2_000L;
+    private static final int MAX_RETRY_ATTEMPTS = 5;
+
+    private static final int FLAG_DESIRED = 1;
+    private static final int FLAG_CONFIRMED = 1 << 1;
+
+    private static volatile CollectMutationQueue instance;
+
+    private final Map<Integer, Mutation> pending = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile PreferenceHelper prefs;
+    private boolean restored = false;
+    @Nullable
+    private Disposable scheduledFlush;
+
+    /**
+     * 变更被服务端拒绝时回调，运行在主线程
+     */
+    public interface Listener {
+        void onCollectReverted(int articleId, boolean collected);
+    }
+
+    private CollectMutationQueue() {
+        NetworkStateManager.getInstance().addOnNetworkAvailableListener(this::replay);
+    }
+
+    public static CollectMutationQueue getInstance() {
+        if (instance == null) {
+            synchronized (CollectMutationQueue.class) {
+                if (instance == null) {
+                    instance = new CollectMutationQueue();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 记录一次切换
+     *
+     * @param collected 切换前界面显示的状态，首次入队时视为服务端状态
+     * @param desired   切换后的目标状态
+     */
+    public synchronized void enqueue(int articleId, boolean collected, boolean desired) {
+        if (articleId <= 0) {
+            return;
+        }
+        ensureRestored();
+        Mutation mutation = pending.get(articleId);
+        if (mutation == null) {
+            mutation = new Mutation(collected);
+            pending.put(articleId, mutation);
+        }
+        mutation.desired = desired;
+        mutation.attempts = 0;
+        CollectedArticleIndex.getInstance().markCollected(articleId, desired);
+        if (!mutation.inFlight && mutation.desired == mutation.confirmed) {
+            // 来回切换抵消，无需请求
+            pending.remove(articleId);
+            getPrefs().remove(String.valueOf(articleId));
+            return;
+        }
+        persist(articleId, mutation);
+        scheduleFlush(DEBOUNCE_MS);
+    }
+
+    /**
+     * 文章是否还有未与服务端同步的变更
+     */
+    public synchronized boolean hasPending(int articleId) {
+        ensureRestored();
+        return pending.containsKey(articleId);
+    }
+
+    /**
+     * 立即派发全部待同步变更，用于启动与网络恢复时
+     */
+    public synchronized void replay() {
+        ensureRestored();
+        for (Mutation mutation : pending.values()) {
+            mutation.attempts = 0;
+        }
+        if (!pending.isEmpty()) {
+            scheduleFlush(0L);
+        }
+    }
+
+    /**
+     * 清空队列与持久化记录，登出时调用
+     */
+    public synchronized void clear() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        pending.clear();
+        restored = true;
+        getPrefs().clearAll();
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+        }
+        scheduledFlush = Schedulers.io().scheduleDirect(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        List<int[]> batch = new ArrayList<>();
+        synchronized (this) {
+            scheduledFlush = null;
+            for (Map.Entry<Integer, Mutation> entry : pending.entrySet()) {
+                Mutation mutation = entry.getValue();
+                if (mutation.inFlight || mutation.desired == mutation.confirmed) {
+                    continue;
+                }
+                mutation.inFlight = true;
+                batch.add(new int[]{entry.getKey(), mutation.desired ? 1 : 0});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        UserRepository repository = RepositoryProvider.getUserRepository();
+        Observable.fromIterable(batch)
+                .flatMap(item -> {
+                    int articleId = item[0];
+                    boolean target = item[1] == 1;
+                    Observable<DomainResult<String>> request = target
+                            ? repository.collectArticle(articleId)
+                            : repository.unCollectArticle(articleId);
+                    return request
+                            .take(1)
+                            .subscribeOn(Schedulers.io())
+                            .doOnNext(result -> onResult(articleId, target, result));
+                }, false, MAX_CONCURRENT_REQUESTS)
+                .subscribe(ignored -> {
+                }, throwable -> LogKit.w(TAG, throwable, "Collect dispatch failed"));
+    }
+
+    private void onResult(int articleId, boolean target, @Nullable DomainResult<String> result) {
+        boolean revert = false;
+        boolean confirmed;
+        synchronized (this) {
+            Mutation mutation = pending.get(articleId);
+            if (mutation == null) {
+                // 期间队列被清空（登出）
+                return;
+            }
+            mutation.inFlight = false;
+            if (result != null && result.isSuccess()) {
+                mutation.confirmed = target;
+                mutation.attempts = 0;
+            } else if (isTransient(result)) {
+                // 网络类失败保留变更：超时等偶发失败按退避重试，次数用完后等待网络恢复或下次启动时重放
+                if (mutation.attempts < MAX_RETRY_ATTEMPTS) {
+                    long delay = RETRY_BASE_DELAY_MS << mutation.attempts;
+                    mutation.attempts++;
+                    LogKit.d(TAG, "Collect %d failed, retry #%d in %dms", articleId, mutation.attempts, delay);
+                    // 已有派发计划时沿用，届时会一并重试
+                    if (scheduledFlush == null) {
+                        scheduleFlush(delay);
+                    }
+                } else {
+                    LogKit.d(TAG, "Collect %d deferred until network returns", articleId);
+                }
+                return;
+            } else {
+                mutation.desired = mutation.confirmed;
+                CollectedArticleIndex.getInstance().markCollected(articleId, mutation.confirmed);
+                revert = true;
+            }
+            confirmed = mutation.confirmed;
+            if (mutation.desired == mutation.confirmed) {
+                pending.remove(articleId);
+                getPrefs().remove(String.valueOf(articleId));
+            } else {
+                // 请求期间用户又切换了一次
+                persist(articleId, mutation);
+                scheduleFlush(DEBOUNCE_MS);
+            }
+        }
+        if (revert) {
+            notifyReverted(articleId, confirmed);
+        }
+    }
+
+    private void notifyReverted(int articleId, boolean collected) {
+        AndroidSchedulers.mainThread().scheduleDirect(() -> dispatchReverted(articleId, collected));
+    }
+
+    @MainThread
+    private void dispatchReverted(int articleId, boolean collected) {
+        for (Listener listener : listeners) {
+            listener.onCollectReverted(articleId, collected);
+        }
+    }
+
+    private static boolean isTransient(@Nullable DomainResult<String> result) {
+        if (result == null) {
+            return false;
+        }
+        DomainError error = result.getError();
+        return error != null && (error.getCause() instanceof IOException
+                || error.getCode() == DomainError.NETWORK_UNAVAILABLE_CODE);
+    }
+
+    private void persist(int articleId, Mutation mutation) {
+        int flags = (mutation.desired ? FLAG_DESIRED : 0) | (mutation.confirmed ? FLAG_CONFIRMED : 0);
+        getPrefs().putInt(String.valueOf(articleId), flags);
+    }
+
+    private void ensureRestored() {
+        if (restored) {
+            return;
+        }
+        restored = true;
+        PreferenceHelper helper = getPrefs();
+        for (String key : helper.allKeys()) {
+            int articleId;
+            try {
+                articleId = Integer.parseInt(key);
+            } catch (NumberFormatException e) {
+                helper.remove(key);
+                continue;
+            }
+            int flags = helper.getInt(key, 0);
+            Mutation mutation = new Mutation((flags & FLAG_CONFIRMED) != 0);
+            mutation.desired = (flags & FLAG_DESIRED) != 0;
+            if (mutation.desired != mutation.confirmed && !pending.containsKey(articleId)) {
+                pending.put(articleId, mutation);
+                CollectedArticleIndex.getInstance().markCollected(articleId, mutation.desired);
+            } else {
+                helper.remove(key);
+            }
+        }
+    }
+
+    private PreferenceHelper getPrefs() {
+        PreferenceHelper helper = prefs;
+        if (helper == null) {
+            synchronized (this) {
+                helper = prefs;
+                if (helper == null) {
+                    helper = PreferenceHelper.with(PREF_NAME);
+                    prefs = helper;
+                }
+            }
+        }
+        return helper;
+    }
+
+    private static final class Mutation {
+        boolean desired;
+        boolean confirmed;
+        boolean inFlight;
+        /** 连续网络类失败后已安排的重试次数 */
+        int attempts;
+
+        Mutation(boolean confirmed) {
+            this.confirmed = confirmed;
+            this.desired = confirmed;
+        }
+    }
+}
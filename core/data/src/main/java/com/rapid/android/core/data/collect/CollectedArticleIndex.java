@@ -0,0 +1,262 @@
+package com.rapid.android.core.data.collect;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.rapid.android.core.data.network.NetApis;
+import com.rapid.android.core.domain.model.ArticleListBean;
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.network.base.BaseResponse;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 进程内的已收藏文章 id 索引，所有列表在绑定时从这里读取收藏状态。
+ * <p>
+ * 登录后后台拉取收藏列表作为种子，之后由收藏 / 取消收藏接口与 {@link CollectMutationQueue} 的乐观更新维持同步，
+ * 网络返回的列表页中标记为已收藏的文章也会并入索引（在网页端或其它设备上新收藏的文章）。
+ * 种子完整之前只能确认「已知收藏」与「已知取消」的文章，其余返回调用方传入的接口字段；
+ * 收藏夹过大、超出 {@link #MAX_SEED_PAGES} 时保持这种降级模式。
+ * <p>
+ * 状态变化在主线程通知 {@link Listener}，让其它页面中已显示的条目及时刷新图标。
+ */
+public final class CollectedArticleIndex {
+
+    /** 通知中的文章 id 为该值时表示索引整体变化（种子完成或清空），监听方应刷新全部条目 */
+    public static final int ALL_ARTICLES = 0;
+
+    private static final String TAG = "CollectedArticleIndex";
+    private static final int MAX_SEED_PAGES = 30;
+
+    private static volatile CollectedArticleIndex instance;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private IntHashSet collected = new IntHashSet();
+    /** 种子完整前显式取消收藏的文章，用于覆盖接口返回的旧字段 */
+    private final IntHashSet removed = new IntHashSet();
+    private boolean seeded = false;
+    private int generation = 0;
+    @Nullable
+    private Disposable seedTask;
+
+    /**
+     * 收藏状态变化回调，运行在主线程
+     */
+    public interface Listener {
+        void onCollectChanged(int articleId, boolean collected);
+    }
+
+    private CollectedArticleIndex() {
+    }
+
+    public static CollectedArticleIndex getInstance() {
+        if (instance == null) {
+            synchronized (CollectedArticleIndex.class) {
+                if (instance == null) {
+                    instance = new CollectedArticleIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 查询文章的收藏状态，索引无法确定时返回 {@code fallback}（通常是接口返回的 collect 字段）
+     */
+    public synchronized boolean isCollected(int articleId, boolean fallback) {
+        if (collected.contains(articleId)) {
+            return true;
+        }
+        if (seeded || removed.contains(articleId)) {
+            return false;
+        }
+        return fallback;
+    }
+
+    public void markCollected(int articleId, boolean isCollected) {
+        if (articleId <= 0) {
+            return;
+        }
+        boolean changed;
+        synchronized (this) {
+            boolean before = collected.contains(articleId);
+            if (isCollected) {
+                collected.add(articleId);
+                removed.remove(articleId);
+            } else {
+                collected.remove(articleId);
+                if (!seeded) {
+                    removed.add(articleId);
+                }
+            }
+            changed = before != isCollected;
+        }
+        if (changed) {
+            notifyChanged(articleId, isCollected);
+        }
+    }
+
+    /**
+     * 记录收藏列表中的一页，收藏夹页面加载时顺带补充索引
+     */
+    public void addCollectedPage(@Nullable List<ArticleListBean.Data> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (ArticleListBean.Data item : items) {
+                int articleId = item != null ? item.getOriginId() : 0;
+                if (articleId > 0 && !removed.contains(articleId)) {
+                    collected.add(articleId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 合并网络列表页中服务端标记为已收藏的文章；本进程内显式取消收藏或仍有待同步变更的文章以本地为准。
+     * 只应传入网络结果，缓存中的旧字段可能已过时
+     */
+    public void mergeServerState(@Nullable List<ArticleListBean.Data> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        IntHashSet candidates = new IntHashSet();
+        CollectMutationQueue queue = CollectMutationQueue.getInstance();
+        for (ArticleListBean.Data item : items) {
+            // 在索引锁外查询队列，避免与队列入队时的加锁顺序相反
+            if (item != null && item.isCollect() && item.getId() > 0 && !queue.hasPending(item.getId())) {
+                candidates.add(item.getId());
+            }
+        }
+        if (candidates.size() == 0) {
+            return;
+        }
+        synchronized (this) {
+            candidates.removeAllFrom(removed);
+            collected.addAllFrom(candidates);
+        }
+    }
+
+    /**
+     * 后台拉取完整收藏列表重建索引，登录后与启动时调用
+     */
+    public void refresh() {
+        final int runGeneration;
+        synchronized (this) {
+            if (seedTask != null) {
+                seedTask.dispose();
+            }
+            runGeneration = ++generation;
+        }
+        IntHashSet fresh = new IntHashSet();
+        Disposable task = fetchSeedPage(0, fresh)
+                .subscribeOn(Schedulers.io())
+                .subscribe(complete -> applySeed(runGeneration, fresh, complete),
+                        throwable -> LogKit.w(TAG, throwable, "Seed collected index failed"));
+        synchronized (this) {
+            if (generation == runGeneration) {
+                seedTask = task;
+            } else {
+                task.dispose();
+            }
+        }
+    }
+
+    /**
+     * 清空索引，登出时调用
+     */
+    public void clear() {
+        synchronized (this) {
+            if (seedTask != null) {
+                seedTask.dispose();
+                seedTask = null;
+            }
+            generation++;
+            collected = new IntHashSet();
+            removed.clear();
+            seeded = false;
+        }
+        notifyChanged(ALL_ARTICLES, false);
+    }
+
+    /**
+     * 逐页拉取收藏列表，发射种子是否完整
+     */
+    private Observable<Boolean> fetchSeedPage(int page, IntHashSet into) {
+        return NetApis.User().collectList(page)
+                .take(1)
+                .flatMap(response -> {
+                    ArticleListBean bean = extract(response);
+                    if (bean == null) {
+                        return Observable.just(false);
+                    }
+                    List<ArticleListBean.Data> items = bean.getDatas();
+                    if (items != null) {
+                        for (ArticleListBean.Data item : items) {
+                            if (item != null && item.getOriginId() > 0) {
+                                into.add(item.getOriginId());
+                            }
+                        }
+                    }
+                    boolean more = !bean.isOver() && items != null && !items.isEmpty();
+                    if (!more) {
+                        return Observable.just(true);
+                    }
+                    if (page + 1 >= MAX_SEED_PAGES) {
+                        return Observable.just(false);
+                    }
+                    return fetchSeedPage(page + 1, into);
+                });
+    }
+
+    @Nullable
+    private static ArticleListBean extract(@Nullable BaseResponse<ArticleListBean> response) {
+        return response != null && response.isSuccess() ? response.getData() : null;
+    }
+
+    private void applySeed(int runGeneration, IntHashSet fresh, boolean complete) {
+        synchronized (this) {
+            if (generation != runGeneration) {
+                return;
+            }
+            seedTask = null;
+            // 拉取期间发生的显式变更比种子更新
+            fresh.addAllFrom(collected);
+            fresh.removeAllFrom(removed);
+            collected = fresh;
+            if (complete) {
+                removed.clear();
+                seeded = true;
+            }
+            LogKit.d(TAG, "Collected index seeded: %d articles, complete=%s", fresh.size(), complete);
+        }
+        // 已显示的列表按新索引刷新
+        notifyChanged(ALL_ARTICLES, false);
+    }
+
+    private void notifyChanged(int articleId, boolean isCollected) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        AndroidSchedulers.mainThread().scheduleDirect(() -> {
+            for (Listener listener : listeners) {
+                listener.onCollectChanged(articleId, isCollected);
+            }
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.rapid.android.core.data.collect;
+
+import java.util.Arrays;
+
+/**
+ * 开放寻址（线性探测）的 int 集合，不装箱，容量始终为 2 的幂。
+ * 0 作为空槽标记，因此只能存放非 0 值；删除时回移后续元素，不留墓碑。非线程安全。
+ */
+final class IntHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] slots;
+    private int size;
+
+    IntHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    IntHashSet(int expected) {
+        slots = new int[capacityFor(expected)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int value) {
+        if (value == 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        int current;
+        while ((current = slots[index]) != 0) {
+            if (current == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean add(int value) {
+        if (value == 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        int current;
+        while ((current = slots[index]) != 0) {
+            if (current == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        // 负载因子 0.5，探测链保持很短
+        if (++size * 2 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    boolean remove(int value) {
+        if (value == 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        int current;
+        while ((current = slots[index]) != 0) {
+            if (current == value) {
+                shiftBack(index, mask);
+                size--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    void addAllFrom(IntHashSet other) {
+        for (int value : other.slots) {
+            if (value != 0) {
+                add(value);
+            }
+        }
+    }
+
+    void removeAllFrom(IntHashSet other) {
+        for (int value : other.slots) {
+            if (value != 0) {
+                remove(value);
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    /**
+     * 回移被删除位置之后、落在同一探测链上的元素
+     */
+    private void shiftBack(int gap, int mask) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int current = slots[index];
+            if (current == 0) {
+                break;
+            }
+            int home = mix(current) & mask;
+            // home 不在 (gap, index] 区间内时，元素可以前移到空位
+            boolean movable = gap <= index ? (home <= gap || home > index) : (home <= gap && home > index);
+            if (movable) {
+                slots[gap] = current;
+                gap = index;
+            }
+        }
+        slots[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int value : old) {
+            if (value == 0) {
+                continue;
+            }
+            int index = mix(value) & mask;
+            while (slots[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = value;
+        }
+    }
+
+    private static int capacityFor(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
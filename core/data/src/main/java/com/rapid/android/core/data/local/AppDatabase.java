@@ -0,0 +1,48 @@
+package com.rapid.android.core.data.local;
+
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+import com.rapid.android.core.common.app.BaseApplication;
+import com.rapid.android.core.data.local.dao.ArticleDao;
+import com.rapid.android.core.data.local.dao.UserDao;
+import com.rapid.android.core.data.local.entity.*;
+
+@Database(
+        entities = {
+                UserEntity.class,
+                ArticleEntity.class,
+                ArticleFtsEntity.class,
+                ChapterEntity.class,
+                ArticleTagEntity.class,
+                FeedPageEntity.class,
+                FeedEntryEntity.class
+        },
+        version = 1,
+        exportSchema = false
+)
+public abstract class AppDatabase extends RoomDatabase {
+
+    private static final String DB_NAME = "rapid.db";
+
+    private static volatile AppDatabase instance;
+
+    public static AppDatabase getInstance() {
+        if (instance == null) {
+            synchronized (AppDatabase.class) {
+                if (instance == null) {
+                    // 库中只有可重新拉取的缓存数据，结构升级时直接重建
+                    instance = Room.databaseBuilder(BaseApplication.getAppContext(), AppDatabase.class, DB_NAME)
+                            .fallbackToDestructiveMigration(true)
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public abstract UserDao userDao();
+
+    public abstract ArticleDao articleDao();
+}
@@ -0,0 +1,286 @@
+package com.rapid.android.core.data.local;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.rapid.android.core.data.cache.CacheStrategy;
+import com.rapid.android.core.data.cache.ResponseCache;
+import com.rapid.android.core.data.collect.CollectedArticleIndex;
+import com.rapid.android.core.data.local.dao.ArticleDao;
+import com.rapid.android.core.data.local.entity.*;
+import com.rapid.android.core.data.mapper.ArticleEntityMapper;
+import com.rapid.android.core.domain.model.ArticleListBean;
+import com.rapid.android.core.domain.result.DomainError;
+import com.rapid.android.core.domain.result.DomainResult;
+import com.rapid.android.core.log.LogKit;
+import com.rapid.android.core.network.base.BaseResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 本地文章库：仓库拉取到的文章按页写入 Room，网络不可用时由此还原列表，并提供标题 / 作者 / 摘要的全文检索。
+ * <p>
+ * 每页的文章、章节、标签与列表顺序在同一事务中写入；写入在后台执行，不阻塞结果下发。
+ */
+public final class ArticleStore {
+
+    private static final String TAG = "ArticleStore";
+    private static final int FIRST_PAGE = 0;
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private static volatile ArticleStore instance;
+
+    private final AtomicBoolean pruned = new AtomicBoolean(false);
+
+    private ArticleStore() {
+    }
+
+    public static ArticleStore getInstance() {
+        if (instance == null) {
+            synchronized (ArticleStore.class) {
+                if (instance == null) {
+                    instance = new ArticleStore();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 分页文章列表：首页先发缓存再刷新，后续页只发射一次，避免分页追加重复数据；网络结果写入本地文章库，离线时由其兜底
+     *
+     * @param feedKey      列表标识，同时作为响应缓存的接口名
+     * @param maxAgeMillis 首页缓存可先行展示的最长时间
+     */
+    @NonNull
+    public Observable<DomainResult<ArticleListBean>> pagedFeed(@NonNull String feedKey, int page, long maxAgeMillis,
+                                                              @NonNull Observable<BaseResponse<ArticleListBean>> network) {
+        String key = ResponseCache.key(feedKey, page);
+        Observable<BaseResponse<ArticleListBean>> request = fromNetwork(feedKey, page, network);
+        Observable<DomainResult<ArticleListBean>> source = page == FIRST_PAGE
+                ? CacheStrategy.staleWhileRevalidate(key, maxAgeMillis, ArticleListBean.class, request)
+                : CacheStrategy.networkFirst(key, ArticleListBean.class, request);
+        return feed(feedKey, page, source);
+    }
+
+    /**
+     * 包装列表接口的网络请求：成功的响应把服务端的收藏状态合并进 {@link CollectedArticleIndex}。
+     * 缓存命中的结果不经过这里，旧字段不会覆盖索引
+     */
+    @NonNull
+    public Observable<BaseResponse<ArticleListBean>> fromNetwork(@NonNull Observable<BaseResponse<ArticleListBean>> network) {
+        return network.doOnNext(response -> {
+            if (response.isSuccess() && response.getData() != null) {
+                CollectedArticleIndex.getInstance().mergeServerState(response.getData().getDatas());
+            }
+        });
+    }
+
+    /**
+     * 同 {@link #fromNetwork(Observable)}，并把成功的响应按页写入本地文章库。
+     * 只有网络结果会刷新页的写入时间，响应缓存的重放不会让长期未更新的页逃过清理
+     *
+     * @param feedKey 列表标识，与页码共同定位一页
+     */
+    @NonNull
+    public Observable<BaseResponse<ArticleListBean>> fromNetwork(@NonNull String feedKey, int page,
+                                                                 @NonNull Observable<BaseResponse<ArticleListBean>> network) {
+        return fromNetwork(network).doOnNext(response -> {
+            if (response.isSuccess() && response.getData() != null) {
+                savePageAsync(feedKey, page, response.getData());
+            }
+        });
+    }
+
+    /**
+     * 网络类失败时改为发射本地保存的同一页（若有）；写入由 {@link #fromNetwork(String, int, Observable)} 负责
+     *
+     * @param feedKey 列表标识，与页码共同定位一页
+     */
+    @NonNull
+    public Observable<DomainResult<ArticleListBean>> feed(@NonNull String feedKey, int page,
+                                                         @NonNull Observable<DomainResult<ArticleListBean>> source) {
+        return source.concatMap(result -> {
+            if (result.isSuccess() || !isTransient(result.getError())) {
+                return Observable.just(result);
+            }
+            return loadPage(feedKey, page)
+                    .map(DomainResult::success)
+                    .defaultIfEmpty(result)
+                    .toObservable();
+        });
+    }
+
+    /**
+     * 只收录文章用于全文检索，不记录列表顺序（如远程搜索结果）
+     */
+    @NonNull
+    public Observable<DomainResult<ArticleListBean>> collect(@NonNull Observable<DomainResult<ArticleListBean>> source) {
+        return source.doOnNext(result -> {
+            if (result.isSuccess() && result.getData() != null) {
+                saveArticlesAsync(result.getData().getDatas());
+            }
+        });
+    }
+
+    /**
+     * 在本地文章中全文检索，多个关键词之间为 AND，每个词按前缀匹配
+     */
+    @NonNull
+    public Single<List<ArticleListBean.Data>> search(@Nullable String keyword, int limit) {
+        return Single.fromCallable(() -> {
+            String query = buildMatchQuery(keyword);
+            if (query == null) {
+                return Collections.<ArticleListBean.Data>emptyList();
+            }
+            ArticleDao dao = dao();
+            return toDataList(dao, dao.search(query, limit));
+        }).onErrorReturn(throwable -> {
+            LogKit.w(TAG, throwable, "Local search failed: %s", keyword);
+            return Collections.emptyList();
+        });
+    }
+
+    private Maybe<ArticleListBean> loadPage(String feedKey, int page) {
+        return Maybe.<ArticleListBean>fromCallable(() -> {
+            ArticleDao dao = dao();
+            FeedPageEntity pageEntity = dao.findFeedPage(feedKey, page);
+            if (pageEntity == null) {
+                return null;
+            }
+            List<ArticleEntity> articles = dao.findFeedArticles(feedKey, page);
+            if (articles.isEmpty()) {
+                return null;
+            }
+            LogKit.d(TAG, "Serve %s:%d from local store", feedKey, page);
+            return ArticleEntityMapper.toBean(pageEntity, toDataList(dao, articles));
+        }).subscribeOn(Schedulers.io())
+                .onErrorComplete();
+    }
+
+    private void savePageAsync(String feedKey, int page, ArticleListBean bean) {
+        write(() -> {
+            long now = System.currentTimeMillis();
+            save(ArticleEntityMapper.toFeedPage(feedKey, page, bean, now), bean.getDatas(), now);
+        });
+    }
+
+    private void saveArticlesAsync(@Nullable List<ArticleListBean.Data> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        write(() -> save(null, items, System.currentTimeMillis()));
+    }
+
+    private void save(@Nullable FeedPageEntity page, @Nullable List<ArticleListBean.Data> items, long now) {
+        List<ArticleEntity> articles = new ArrayList<>();
+        Map<Integer, ChapterEntity> chapters = new LinkedHashMap<>();
+        List<ArticleTagEntity> tags = new ArrayList<>();
+        List<FeedEntryEntity> entries = new ArrayList<>();
+        if (items != null) {
+            for (ArticleListBean.Data item : items) {
+                if (item == null || item.getId() <= 0) {
+                    continue;
+                }
+                articles.add(ArticleEntityMapper.toEntity(item, now));
+                ArticleEntityMapper.collectChapters(item, chapters);
+                ArticleEntityMapper.collectTags(item, tags);
+                if (page != null) {
+                    entries.add(FeedEntryEntity.create(page.getFeedKey(), page.getPage(), entries.size(), item.getId()));
+                }
+            }
+        }
+        dao().savePage(page, articles, new ArrayList<>(chapters.values()), tags, entries);
+    }
+
+    private void write(Runnable action) {
+        Completable.fromRunnable(() -> {
+                    action.run();
+                    // 每个进程首次写入后清理一次过期数据
+                    if (pruned.compareAndSet(false, true)) {
+                        dao().prune(System.currentTimeMillis() - RETENTION_MILLIS);
+                    }
+                })
+                .subscribeOn(Schedulers.io())
+                .subscribe(() -> {
+                }, throwable -> LogKit.w(TAG, throwable, "Failed to write article store"));
+    }
+
+    private static List<ArticleListBean.Data> toDataList(ArticleDao dao, List<ArticleEntity> articles) {
+        if (articles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> articleIds = new ArrayList<>(articles.size());
+        List<Integer> chapterIds = new ArrayList<>();
+        for (ArticleEntity article : articles) {
+            articleIds.add(article.getId());
+            chapterIds.add(article.getChapterId());
+            chapterIds.add(article.getSuperChapterId());
+        }
+        Map<Integer, ChapterEntity> chapters = new HashMap<>();
+        for (ChapterEntity chapter : dao.findChapters(chapterIds)) {
+            chapters.put(chapter.getId(), chapter);
+        }
+        Map<Integer, List<ArticleTagEntity>> tags = new HashMap<>();
+        for (ArticleTagEntity tag : dao.findTags(articleIds)) {
+            List<ArticleTagEntity> list = tags.get(tag.getArticleId());
+            if (list == null) {
+                list = new ArrayList<>(2);
+                tags.put(tag.getArticleId(), list);
+            }
+            list.add(tag);
+        }
+        List<ArticleListBean.Data> result = new ArrayList<>(articles.size());
+        for (ArticleEntity article : articles) {
+            result.add(ArticleEntityMapper.toData(article, chapters, tags.get(article.getId())));
+        }
+        return result;
+    }
+
+    /**
+     * 把用户输入转换为 FTS MATCH 表达式：去掉引号等语法字符，每个词加引号并按前缀匹配
+     */
+    @Nullable
+    private static String buildMatchQuery(@Nullable String keyword) {
+        if (TextUtils.isEmpty(keyword)) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String term : keyword.trim().split("\\s+")) {
+            String cleaned = term.replaceAll("[\"*^()]", "");
+            if (cleaned.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('"').append(cleaned).append("*\"");
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    private static boolean isTransient(@Nullable DomainError error) {
+        return error != null && (error.getCause() instanceof IOException
+                || error.getCode() == DomainError.NETWORK_UNAVAILABLE_CODE);
+    }
+
+    private static ArticleDao dao() {
+        return AppDatabase.getInstance().articleDao();
+    }
+}
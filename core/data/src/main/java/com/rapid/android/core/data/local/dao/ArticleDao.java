@@ -0,0 +1,118 @@
+package com.rapid.android.core.data.local.dao;
+
+import androidx.annotation.Nullable;
+import androidx.room.*;
+
+import com.rapid.android.core.data.local.entity.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章库访问接口。方法均为阻塞调用，需在后台线程执行。
+ * <p>
+ * 文章使用 {@link Upsert} 而不是 REPLACE 写入：REPLACE 冲突时的隐式删除不会触发全文索引的同步触发器。
+ */
+@Dao
+public abstract class ArticleDao {
+
+    @Upsert
+    protected abstract void upsertArticles(List<ArticleEntity> articles);
+
+    @Upsert
+    protected abstract void upsertChapters(List<ChapterEntity> chapters);
+
+    @Query("DELETE FROM article_tags WHERE articleId IN (:articleIds)")
+    protected abstract void deleteTags(List<Integer> articleIds);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract void insertTags(List<ArticleTagEntity> tags);
+
+    @Upsert
+    protected abstract void upsertFeedPage(FeedPageEntity page);
+
+    @Query("DELETE FROM feed_entries WHERE feedKey = :feedKey AND page = :page")
+    protected abstract void deleteFeedEntries(String feedKey, int page);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract void insertFeedEntries(List<FeedEntryEntity> entries);
+
+    /**
+     * 在一个事务内写入一页文章及其章节、标签；{@code page} 为 null 时只写文章，不记录列表顺序（如搜索结果）
+     */
+    @Transaction
+    public void savePage(@Nullable FeedPageEntity page,
+                         List<ArticleEntity> articles,
+                         List<ChapterEntity> chapters,
+                         List<ArticleTagEntity> tags,
+                         List<FeedEntryEntity> entries) {
+        if (!articles.isEmpty()) {
+            upsertArticles(articles);
+            List<Integer> articleIds = new ArrayList<>(articles.size());
+            for (ArticleEntity article : articles) {
+                articleIds.add(article.getId());
+            }
+            deleteTags(articleIds);
+        }
+        if (!chapters.isEmpty()) {
+            upsertChapters(chapters);
+        }
+        if (!tags.isEmpty()) {
+            insertTags(tags);
+        }
+        if (page != null) {
+            upsertFeedPage(page);
+            deleteFeedEntries(page.getFeedKey(), page.getPage());
+            if (!entries.isEmpty()) {
+                insertFeedEntries(entries);
+            }
+        }
+    }
+
+    @Nullable
+    @Query("SELECT * FROM feed_pages WHERE feedKey = :feedKey AND page = :page")
+    public abstract FeedPageEntity findFeedPage(String feedKey, int page);
+
+    @Query("SELECT a.* FROM feed_entries e INNER JOIN articles a ON a.id = e.articleId "
+            + "WHERE e.feedKey = :feedKey AND e.page = :page ORDER BY e.position")
+    public abstract List<ArticleEntity> findFeedArticles(String feedKey, int page);
+
+    @Query("SELECT * FROM chapters WHERE id IN (:ids)")
+    public abstract List<ChapterEntity> findChapters(List<Integer> ids);
+
+    @Query("SELECT * FROM article_tags WHERE articleId IN (:articleIds)")
+    public abstract List<ArticleTagEntity> findTags(List<Integer> articleIds);
+
+    @Query("SELECT a.* FROM articles a INNER JOIN articles_fts f ON a.id = f.rowid "
+            + "WHERE articles_fts MATCH :query ORDER BY a.publishTime DESC LIMIT :limit")
+    public abstract List<ArticleEntity> search(String query, int limit);
+
+    /**
+     * 删除早于 {@code before} 写入且不再被任何列表引用的文章
+     */
+    @Query("DELETE FROM articles WHERE updatedAt < :before "
+            + "AND id NOT IN (SELECT articleId FROM feed_entries)")
+    public abstract int pruneDetached(long before);
+
+    @Query("DELETE FROM feed_pages WHERE savedAt < :before")
+    protected abstract void deleteFeedPagesBefore(long before);
+
+    @Query("DELETE FROM feed_entries WHERE NOT EXISTS (SELECT 1 FROM feed_pages p "
+            + "WHERE p.feedKey = feed_entries.feedKey AND p.page = feed_entries.page)")
+    protected abstract void deleteOrphanEntries();
+
+    @Query("DELETE FROM article_tags WHERE articleId NOT IN (SELECT id FROM articles)")
+    protected abstract void deleteOrphanTags();
+
+    /**
+     * 清理长期未刷新的列表页以及随之失去引用的文章和标签
+     */
+    @Transaction
+    public void prune(long before) {
+        deleteFeedPagesBefore(before);
+        deleteOrphanEntries();
+        if (pruneDetached(before) > 0) {
+            deleteOrphanTags();
+        }
+    }
+}
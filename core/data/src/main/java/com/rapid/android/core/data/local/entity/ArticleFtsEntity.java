@@ -0,0 +1,56 @@
+package com.rapid.android.core.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * 文章标题、作者、分享人与摘要的全文索引，内容取自 {@link ArticleEntity}，由 Room 生成的触发器保持同步。
+ * 使用 ICU 分词，中文标题也能按词匹配。
+ */
+@Fts4(contentEntity = ArticleEntity.class, tokenizer = FtsOptions.TOKENIZER_ICU)
+@Entity(tableName = "articles_fts")
+public class ArticleFtsEntity {
+    private String title;
+    private String author;
+    private String shareUser;
+    @ColumnInfo(name = "description")
+    private String description;
+
+    // No-argument constructor required by Room
+    public ArticleFtsEntity() {
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getShareUser() {
+        return shareUser;
+    }
+
+    public void setShareUser(String shareUser) {
+        this.shareUser = shareUser;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
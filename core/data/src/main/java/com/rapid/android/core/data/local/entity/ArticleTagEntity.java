@@ -0,0 +1,49 @@
+package com.rapid.android.core.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+@Entity(tableName = "article_tags", primaryKeys = {"articleId", "name"})
+public class ArticleTagEntity {
+    private int articleId;
+    @NonNull
+    private String name = "";
+    private String url;
+
+    // No-argument constructor required by Room
+    public ArticleTagEntity() {
+    }
+
+    public static ArticleTagEntity create(int articleId, @NonNull String name, String url) {
+        ArticleTagEntity tag = new ArticleTagEntity();
+        tag.articleId = articleId;
+        tag.name = name;
+        tag.url = url;
+        return tag;
+    }
+
+    public int getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(int articleId) {
+        this.articleId = articleId;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+}
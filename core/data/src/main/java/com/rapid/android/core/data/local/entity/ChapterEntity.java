@@ -0,0 +1,52 @@
+package com.rapid.android.core.data.local.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * 文章所属的章节（分类），一级分类的 parentId 为 0
+ */
+@Entity(tableName = "chapters")
+public class ChapterEntity {
+    @PrimaryKey
+    private int id;
+
+    private String name;
+    private int parentId;
+
+    // No-argument constructor required by Room
+    public ChapterEntity() {
+    }
+
+    public static ChapterEntity create(int id, String name, int parentId) {
+        ChapterEntity chapter = new ChapterEntity();
+        chapter.id = id;
+        chapter.name = name;
+        chapter.parentId = parentId;
+        return chapter;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(int parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.rapid.android.core.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * 列表页中的一条文章引用，按 position 还原接口返回的顺序
+ */
+@Entity(tableName = "feed_entries",
+        primaryKeys = {"feedKey", "page", "position"},
+        indices = {@Index("articleId")})
+public class FeedEntryEntity {
+    @NonNull
+    private String feedKey = "";
+    private int page;
+    private int position;
+    private int articleId;
+
+    // No-argument constructor required by Room
+    public FeedEntryEntity() {
+    }
+
+    public static FeedEntryEntity create(@NonNull String feedKey, int page, int position, int articleId) {
+        FeedEntryEntity entry = new FeedEntryEntity();
+        entry.feedKey = feedKey;
+        entry.page = page;
+        entry.position = position;
+        entry.articleId = articleId;
+        return entry;
+    }
+
+    @NonNull
+    public String getFeedKey() {
+        return feedKey;
+    }
+
+    public void setFeedKey(@NonNull String feedKey) {
+        this.feedKey = feedKey;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public int getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(int articleId) {
+        this.articleId = articleId;
+    }
+}
@@ -0,0 +1,99 @@
+package com.rapid.android.core.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+/**
+ * 某个列表某一页的分页信息，条目顺序见 {@link FeedEntryEntity}
+ */
+@Entity(tableName = "feed_pages", primaryKeys = {"feedKey", "page"})
+public class FeedPageEntity {
+    @NonNull
+    private String feedKey = "";
+    private int page;
+
+    private int curPage;
+    private int offset;
+    private boolean over;
+    private int pageCount;
+    private int size;
+    private int total;
+    private long savedAt;
+
+    // No-argument constructor required by Room
+    public FeedPageEntity() {
+    }
+
+    @NonNull
+    public String getFeedKey() {
+        return feedKey;
+    }
+
+    public void setFeedKey(@NonNull String feedKey) {
+        this.feedKey = feedKey;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getCurPage() {
+        return curPage;
+    }
+
+    public void setCurPage(int curPage) {
+        this.curPage = curPage;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public void setOver(boolean over) {
+        this.over = over;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    public void setSavedAt(long savedAt) {
+        this.savedAt = savedAt;
+    }
+}
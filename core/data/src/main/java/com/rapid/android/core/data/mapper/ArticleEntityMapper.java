@@ -0,0 +1,140 @@
+package com.rapid.android.core.data.mapper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.rapid.android.core.data.local.entity.ArticleEntity;
+import com.rapid.android.core.data.local.entity.ArticleTagEntity;
+import com.rapid.android.core.data.local.entity.ChapterEntity;
+import com.rapid.android.core.data.local.entity.FeedPageEntity;
+import com.rapid.android.core.domain.model.ArticleListBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章领域模型与本地表结构之间的转换。
+ */
+public final class ArticleEntityMapper {
+
+    private ArticleEntityMapper() {
+    }
+
+    @NonNull
+    public static ArticleEntity toEntity(@NonNull ArticleListBean.Data data, long now) {
+        ArticleEntity entity = new ArticleEntity();
+        entity.setId(data.getId());
+        entity.setTitle(data.getTitle());
+        entity.setAuthor(data.getAuthor());
+        entity.setShareUser(data.getShareUser());
+        entity.setDescription(data.getDesc());
+        entity.setLink(data.getLink());
+        entity.setEnvelopePic(data.getEnvelopePic());
+        entity.setProjectLink(data.getProjectLink());
+        entity.setNiceDate(data.getNiceDate());
+        entity.setNiceShareDate(data.getNiceShareDate());
+        entity.setPublishTime(data.getPublishTime());
+        entity.setShareDate(data.getShareDate());
+        entity.setChapterId(data.getChapterId());
+        entity.setSuperChapterId(data.getSuperChapterId());
+        entity.setOriginId(data.getOriginId());
+        entity.setUserId(data.getUserId());
+        entity.setType(data.getType());
+        entity.setFresh(data.isFresh());
+        entity.setUpdatedAt(now);
+        return entity;
+    }
+
+    /**
+     * 提取文章所属的二级与一级章节
+     */
+    public static void collectChapters(@NonNull ArticleListBean.Data data, @NonNull Map<Integer, ChapterEntity> into) {
+        if (data.getChapterId() > 0) {
+            into.put(data.getChapterId(),
+                    ChapterEntity.create(data.getChapterId(), data.getChapterName(), data.getSuperChapterId()));
+        }
+        if (data.getSuperChapterId() > 0 && !into.containsKey(data.getSuperChapterId())) {
+            into.put(data.getSuperChapterId(),
+                    ChapterEntity.create(data.getSuperChapterId(), data.getSuperChapterName(), 0));
+        }
+    }
+
+    public static void collectTags(@NonNull ArticleListBean.Data data, @NonNull List<ArticleTagEntity> into) {
+        List<ArticleListBean.Data.Tag> tags = data.getTags();
+        if (tags == null) {
+            return;
+        }
+        for (ArticleListBean.Data.Tag tag : tags) {
+            if (tag != null && tag.getName() != null) {
+                into.add(ArticleTagEntity.create(data.getId(), tag.getName(), tag.getUrl()));
+            }
+        }
+    }
+
+    @NonNull
+    public static FeedPageEntity toFeedPage(@NonNull String feedKey, int page, @NonNull ArticleListBean bean, long now) {
+        FeedPageEntity entity = new FeedPageEntity();
+        entity.setFeedKey(feedKey);
+        entity.setPage(page);
+        entity.setCurPage(bean.getCurPage());
+        entity.setOffset(bean.getOffset());
+        entity.setOver(bean.isOver());
+        entity.setPageCount(bean.getPageCount());
+        entity.setSize(bean.getSize());
+        entity.setTotal(bean.getTotal());
+        entity.setSavedAt(now);
+        return entity;
+    }
+
+    @NonNull
+    public static ArticleListBean toBean(@NonNull FeedPageEntity page, @NonNull List<ArticleListBean.Data> items) {
+        return new ArticleListBean(page.getCurPage(), items, page.getOffset(), page.isOver(),
+                page.getPageCount(), page.getSize(), page.getTotal());
+    }
+
+    @NonNull
+    public static ArticleListBean.Data toData(@NonNull ArticleEntity entity,
+                                              @NonNull Map<Integer, ChapterEntity> chapters,
+                                              @Nullable List<ArticleTagEntity> tags) {
+        ArticleListBean.Data data = new ArticleListBean.Data();
+        data.setId(entity.getId());
+        data.setTitle(nonNull(entity.getTitle()));
+        data.setAuthor(nonNull(entity.getAuthor()));
+        data.setShareUser(nonNull(entity.getShareUser()));
+        data.setDesc(nonNull(entity.getDescription()));
+        data.setLink(nonNull(entity.getLink()));
+        data.setEnvelopePic(nonNull(entity.getEnvelopePic()));
+        data.setProjectLink(nonNull(entity.getProjectLink()));
+        data.setNiceDate(nonNull(entity.getNiceDate()));
+        data.setNiceShareDate(nonNull(entity.getNiceShareDate()));
+        data.setPublishTime(entity.getPublishTime());
+        data.setShareDate(entity.getShareDate());
+        data.setChapterId(entity.getChapterId());
+        data.setSuperChapterId(entity.getSuperChapterId());
+        data.setOriginId(entity.getOriginId());
+        data.setUserId(entity.getUserId());
+        data.setType(entity.getType());
+        data.setFresh(entity.isFresh());
+        ChapterEntity chapter = chapters.get(entity.getChapterId());
+        if (chapter != null) {
+            data.setChapterName(nonNull(chapter.getName()));
+        }
+        ChapterEntity superChapter = chapters.get(entity.getSuperChapterId());
+        if (superChapter != null) {
+            data.setSuperChapterName(nonNull(superChapter.getName()));
+        }
+        if (tags != null && !tags.isEmpty()) {
+            List<ArticleListBean.Data.Tag> mapped = new ArrayList<>(tags.size());
+            for (ArticleTagEntity tag : tags) {
+                mapped.add(new ArticleListBean.Data.Tag(tag.getName(), tag.getUrl()));
+            }
+            data.setTags(mapped);
+        }
+        return data;
+    }
+
+    private static String nonNull(@Nullable String value) {
+        return value != null ? value : "";
+    }
+}
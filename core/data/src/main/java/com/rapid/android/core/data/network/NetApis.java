@@ -6,22 +6,35 @@ import com.rapid.android.core.network.client.NetworkClientManager;
 public final class NetApis {
 
     public static LoginApi Login() {
-        return NetworkClientManager.getDefaultClient().createService(LoginApi.class);
+        return NetworkClientManager.getDefaultService(LoginApi.class);
     }
 
     public static HomeApi Home() {
-        return NetworkClientManager.getDefaultClient().createService(HomeApi.class);
+        return NetworkClientManager.getDefaultService(HomeApi.class);
     }
 
     public static UserApi User() {
-        return NetworkClientManager.getDefaultClient().createService(UserApi.class);
+        return NetworkClientManager.getDefaultService(UserApi.class);
     }
 
     public static ContentApi Content() {
-        return NetworkClientManager.getDefaultClient().createService(ContentApi.class);
+        return NetworkClientManager.getDefaultService(ContentApi.class);
     }
 
     public static MessageApi Message() {
-        return NetworkClientManager.getDefaultClient().createService(MessageApi.class);
+        return NetworkClientManager.getDefaultService(MessageApi.class);
+    }
+
+    /**
+     * 后台预解析全部接口方法，建议在默认客户端初始化后调用
+     */
+    public static void prewarm() {
+        NetworkClientManager.prewarmDefaultServices(
+                HomeApi.class,
+                ContentApi.class,
+                UserApi.class,
+                LoginApi.class,
+                MessageApi.class
+        );
     }
 }
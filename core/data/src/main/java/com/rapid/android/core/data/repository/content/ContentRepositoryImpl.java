@@ -1,7 +1,12 @@
 package com.rapid.android.core.data.repository.content;
 
+import com.google.gson.reflect.TypeToken;
 import com.rapid.android.core.data.api.ContentApi;
 import com.rapid.android.core.data.api.HomeApi;
+import com.rapid.android.core.data.cache.CacheStrategy;
+import com.rapid.android.core.data.cache.ResponseCache;
+import com.rapid.android.core.data.cache.SearchResultCache;
+import com.rapid.android.core.data.local.ArticleStore;
 import com.rapid.android.core.data.mapper.DomainResultMapper;
 import com.rapid.android.core.data.network.NetApis;
 import com.rapid.android.core.domain.model.*;
@@ -9,115 +14,199 @@ import com.rapid.android.core.domain.repository.ContentRepository;
 import com.rapid.android.core.domain.result.DomainResult;
 import com.rapid.android.core.network.base.BaseResponse;
 
+import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.core.Observable;
 
 public class ContentRepositoryImpl implements ContentRepository {
+
+    // 各接口缓存可先行展示的最长时间，超过后首屏等待网络结果
+    private static final long TTL_ARTICLES = TimeUnit.DAYS.toMillis(1);
+    private static final long TTL_HOT_KEYS = TimeUnit.DAYS.toMillis(3);
+    private static final long TTL_TREE = TimeUnit.DAYS.toMillis(7);
+
+    private static final Type CATEGORY_LIST = new TypeToken<List<CategoryNodeBean>>() {
+    }.getType();
+    private static final Type COIN_RECORD_PAGE = new TypeToken<PageBean<CoinRecordBean>>() {
+    }.getType();
+    private static final Type COIN_RANK_PAGE = new TypeToken<PageBean<CoinRankBean>>() {
+    }.getType();
+
     @Override
     public Observable<DomainResult<List<CategoryNodeBean>>> knowledgeTree() {
-        return map(api().knowledgeTree());
+        return CacheStrategy.staleWhileRevalidate("content/tree", TTL_TREE, CATEGORY_LIST, api().knowledgeTree());
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> articlesByCategory(int page, int categoryId) {
-        return map(api().articlesByCategory(page, categoryId));
+        return ArticleStore.getInstance().pagedFeed("content/category/" + categoryId, page, TTL_ARTICLES,
+                api().articlesByCategory(page, categoryId));
     }
 
     @Override
     public Observable<DomainResult<List<NavigationBean>>> navigation() {
-        return map(api().navigation());
+        return CacheStrategy.staleWhileRevalidate("content/navi", TTL_TREE,
+                new TypeToken<List<NavigationBean>>() {
+                }.getType(),
+                api().navigation());
     }
 
     @Override
     public Observable<DomainResult<List<CategoryNodeBean>>> projectTree() {
-        return map(api().projectTree());
+        return CacheStrategy.staleWhileRevalidate("content/project_tree", TTL_TREE, CATEGORY_LIST, api().projectTree());
     }
 
     @Override
     public Observable<DomainResult<ProjectPageBean>> projectArticles(int page, int categoryId) {
-        return api().projectArticles(page, categoryId)
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.networkFirst(ResponseCache.key("content/project/" + categoryId, page),
+                ProjectPageBean.class, api().projectArticles(page, categoryId));
     }
 
     @Override
     public Observable<DomainResult<List<WxChapterBean>>> wechatChapters() {
-        return map(api().weChatChapters());
+        return CacheStrategy.staleWhileRevalidate("content/wx_chapters", TTL_TREE,
+                new TypeToken<List<WxChapterBean>>() {
+                }.getType(),
+                api().weChatChapters());
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> wechatArticles(int chapterId, int page) {
-        return map(api().weChatArticles(chapterId, page));
+        return ArticleStore.getInstance().feed("content/wx/" + chapterId, page,
+                CacheStrategy.networkFirst(ResponseCache.key("content/wx/" + chapterId, page),
+                        ArticleListBean.class, ArticleStore.getInstance().fromNetwork("content/wx/" + chapterId, page,
+                                api().weChatArticles(chapterId, page))));
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> wechatArticlesSearch(int chapterId, int page, String keyword) {
-        return map(api().weChatArticlesSearch(chapterId, page, keyword));
+        return cachedSearch(SearchResultCache.key("wx/" + chapterId, keyword, page),
+                ArticleStore.getInstance().collect(map(ArticleStore.getInstance().fromNetwork(api().weChatArticlesSearch(chapterId, page, keyword)))));
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> searchArticles(int page, String keyword) {
-        return map(api().searchArticles(page, keyword));
+        return cachedSearch(SearchResultCache.key("article", keyword, page),
+                ArticleStore.getInstance().collect(map(ArticleStore.getInstance().fromNetwork(api().searchArticles(page, keyword)))));
+    }
+
+    @Override
+    public Observable<DomainResult<List<ArticleListBean.Data>>> searchLocalArticles(String keyword, int limit) {
+        return ArticleStore.getInstance().search(keyword, limit)
+                .map(DomainResult::success)
+                .toObservable();
     }
 
     @Override
     public Observable<DomainResult<List<HotKeyBean>>> hotKeys() {
-        return homeApi().hotKeys()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/hotkey", TTL_HOT_KEYS,
+                new TypeToken<List<HotKeyBean>>() {
+                }.getType(),
+                homeApi().hotKeys());
     }
 
     @Override
     public Observable<DomainResult<List<FriendLinkBean>>> friendLinks() {
-        return homeApi().friendLinks()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/friend", TTL_TREE,
+                new TypeToken<List<FriendLinkBean>>() {
+                }.getType(),
+                homeApi().friendLinks());
     }
 
+    // popular* 在首页通过 zip 组合，只能发射一次，因此仅在网络失败时回退缓存
     @Override
     public Observable<DomainResult<List<ArticleListBean.Data>>> popularWenda() {
-        return map(api().popularWenda());
+        return CacheStrategy.networkFirst("content/popular_wenda",
+                new TypeToken<List<ArticleListBean.Data>>() {
+                }.getType(),
+                api().popularWenda());
     }
 
     @Override
     public Observable<DomainResult<List<PopularColumnBean>>> popularColumns() {
-        return map(api().popularColumns());
+        return CacheStrategy.networkFirst("content/popular_column",
+                new TypeToken<List<PopularColumnBean>>() {
+                }.getType(),
+                api().popularColumns());
     }
 
     @Override
     public Observable<DomainResult<List<CategoryNodeBean>>> popularRoutes() {
-        return map(api().popularRoutes());
+        return CacheStrategy.networkFirst("content/popular_route", CATEGORY_LIST, api().popularRoutes());
     }
 
     @Override
     public Observable<DomainResult<List<CategoryNodeBean>>> tutorialChapters() {
-        return map(api().tutorialChapters());
+        return CacheStrategy.staleWhileRevalidate("content/tutorial", TTL_TREE, CATEGORY_LIST, api().tutorialChapters());
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> tutorialArticles(int page, int tutorialId) {
-        return map(api().tutorialArticles(page, tutorialId, 1));
+        return ArticleStore.getInstance().pagedFeed("content/tutorial/" + tutorialId, page, TTL_ARTICLES,
+                api().tutorialArticles(page, tutorialId, 1));
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> questionAnswers(int page) {
-        return map(api().questionAnswers(page));
+        return ArticleStore.getInstance().feed("content/wenda", page,
+                map(ArticleStore.getInstance().fromNetwork("content/wenda", page, api().questionAnswers(page))));
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> userShares(int userId, int page) {
-        return map(api().userSharedArticles(userId, page));
+        return ArticleStore.getInstance().feed("content/user_share/" + userId, page,
+                map(ArticleStore.getInstance().fromNetwork("content/user_share/" + userId, page,
+                        api().userSharedArticles(userId, page))));
     }
 
     @Override
     public Observable<DomainResult<PageBean<CoinRecordBean>>> coinRecords(int page) {
-        return map(api().coinRecords(page));
+        return coinRecords(page, false);
+    }
+
+    @Override
+    public Observable<DomainResult<PageBean<CoinRecordBean>>> coinRecords(int page, boolean preferCache) {
+        return pagedCoins("content/coin_records", page, COIN_RECORD_PAGE, api().coinRecords(page), preferCache);
     }
 
     @Override
     public Observable<DomainResult<PageBean<CoinRankBean>>> coinRank(int page) {
-        return map(api().coinRank(page));
+        return coinRank(page, false);
+    }
+
+    @Override
+    public Observable<DomainResult<PageBean<CoinRankBean>>> coinRank(int page, boolean preferCache) {
+        return pagedCoins("content/coin_rank", page, COIN_RANK_PAGE, api().coinRank(page), preferCache);
+    }
+
+    // 积分列表按页缓存，供分页窗口重新填充已回收的页
+    private <T> Observable<DomainResult<PageBean<T>>> pagedCoins(String endpoint, int page, Type pageType,
+                                                               Observable<BaseResponse<PageBean<T>>> network,
+                                                               boolean preferCache) {
+        String key = ResponseCache.key(endpoint, page);
+        if (preferCache) {
+            return CacheStrategy.cacheFirst(key, pageType, network);
+        }
+        return CacheStrategy.networkFirst(key, pageType, network);
+    }
+
+    // 搜索结果先查内存 LRU，命中时不请求接口
+    private Observable<DomainResult<ArticleListBean>> cachedSearch(String key,
+                                                                  Observable<DomainResult<ArticleListBean>> network) {
+        return Observable.defer(() -> {
+            SearchResultCache cache = SearchResultCache.getInstance();
+            ArticleListBean cached = cache.get(key);
+            if (cached != null) {
+                return Observable.just(DomainResult.success(cached));
+            }
+            return network.doOnNext(result -> {
+                if (result.isSuccess() && result.getData() != null) {
+                    cache.put(key, result.getData());
+                }
+            });
+        });
     }
 
     private <T> Observable<DomainResult<T>> map(Observable<BaseResponse<T>> source) {
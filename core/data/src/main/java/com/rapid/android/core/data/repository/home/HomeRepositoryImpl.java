@@ -1,7 +1,10 @@
 package com.rapid.android.core.data.repository.home;
 
+import com.google.gson.reflect.TypeToken;
 import com.rapid.android.core.data.api.HomeApi;
-import com.rapid.android.core.data.mapper.DomainResultMapper;
+import com.rapid.android.core.data.cache.CacheStrategy;
+import com.rapid.android.core.data.cache.ResponseCache;
+import com.rapid.android.core.data.local.ArticleStore;
 import com.rapid.android.core.data.network.NetApis;
 import com.rapid.android.core.domain.model.*;
 import com.rapid.android.core.domain.repository.HomeRepository;
@@ -9,71 +12,90 @@ import com.rapid.android.core.domain.result.DomainResult;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.core.Observable;
 
 public class HomeRepositoryImpl implements HomeRepository {
+
+    // 各接口缓存可先行展示的最长时间，超过后首屏等待网络结果
+    private static final long TTL_BANNER = TimeUnit.DAYS.toMillis(1);
+    private static final long TTL_ARTICLES = TimeUnit.DAYS.toMillis(1);
+    private static final long TTL_TOP_ARTICLES = TimeUnit.DAYS.toMillis(1);
+    private static final long TTL_HOT_KEYS = TimeUnit.DAYS.toMillis(3);
+    private static final long TTL_HARMONY = TimeUnit.DAYS.toMillis(3);
+    private static final long TTL_STATIC = TimeUnit.DAYS.toMillis(7);
+
     @Override
     public Observable<DomainResult<ArrayList<BannerItemBean>>> banner() {
-        return api().banner()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/banner", TTL_BANNER,
+                new TypeToken<ArrayList<BannerItemBean>>() {
+                }.getType(),
+                api().banner());
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> homeArticles(int page) {
-        return api().articleList(page)
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return ArticleStore.getInstance().pagedFeed("home/articles", page, TTL_ARTICLES, api().articleList(page));
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> projectArticles(int page) {
-        return api().listProjectList(page)
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return ArticleStore.getInstance().pagedFeed("home/projects", page, TTL_ARTICLES, api().listProjectList(page));
     }
 
     @Override
     public Observable<DomainResult<ArticleListBean>> plazaArticles(int page) {
-        return api().userArticleList(page, null)
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return ArticleStore.getInstance().pagedFeed("home/plaza", page, TTL_ARTICLES, api().userArticleList(page, null));
+    }
+
+    @Override
+    public Observable<DomainResult<ArticleListBean>> plazaArticles(int page, boolean preferCache) {
+        if (!preferCache) {
+            return plazaArticles(page);
+        }
+        return ArticleStore.getInstance().feed("home/plaza", page,
+                CacheStrategy.cacheFirst(ResponseCache.key("home/plaza", page), ArticleListBean.class,
+                        ArticleStore.getInstance().fromNetwork("home/plaza", page, api().userArticleList(page, null))));
     }
 
     @Override
     public Observable<DomainResult<List<ArticleListBean.Data>>> topArticles() {
-        return api().topArticles()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/top", TTL_TOP_ARTICLES,
+                new TypeToken<List<ArticleListBean.Data>>() {
+                }.getType(),
+                api().topArticles());
     }
 
     @Override
     public Observable<DomainResult<List<FriendLinkBean>>> friendLinks() {
-        return api().friendLinks()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/friend", TTL_STATIC,
+                new TypeToken<List<FriendLinkBean>>() {
+                }.getType(),
+                api().friendLinks());
     }
 
     @Override
     public Observable<DomainResult<List<HotKeyBean>>> hotKeys() {
-        return api().hotKeys()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/hotkey", TTL_HOT_KEYS,
+                new TypeToken<List<HotKeyBean>>() {
+                }.getType(),
+                api().hotKeys());
     }
 
     @Override
     public Observable<DomainResult<HarmonyIndexBean>> harmonyIndex() {
-        return api().harmonyIndex()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/harmony", TTL_HARMONY,
+                HarmonyIndexBean.class,
+                api().harmonyIndex());
     }
 
     @Override
     public Observable<DomainResult<List<ToolItemBean>>> toolList() {
-        return api().toolList()
-                .map(DomainResultMapper::map)
-                .onErrorReturn(DomainResultMapper::mapError);
+        return CacheStrategy.staleWhileRevalidate("home/tools", TTL_STATIC,
+                new TypeToken<List<ToolItemBean>>() {
+                }.getType(),
+                api().toolList());
     }
 
     private HomeApi api() {
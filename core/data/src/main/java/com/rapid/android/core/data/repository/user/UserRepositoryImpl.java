@@ -1,5 +1,9 @@
 package com.rapid.android.core.data.repository.user;
 
+import com.rapid.android.core.data.cache.ResponseCache;
+import com.rapid.android.core.data.cache.SearchResultCache;
+import com.rapid.android.core.data.collect.CollectMutationQueue;
+import com.rapid.android.core.data.collect.CollectedArticleIndex;
 import com.rapid.android.core.data.mapper.DomainResultMapper;
 import com.rapid.android.core.data.network.NetApis;
 import com.rapid.android.core.domain.model.*;
@@ -18,7 +22,14 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Observable<DomainResult<LoginBean>> login(String username, String password) {
-        return map(NetApis.Login().login(username, password));
+        return map(NetApis.Login().login(username, password))
+                .doOnNext(result -> {
+                    // 缓存的文章列表包含收藏状态，切换账号后需要失效
+                    if (result.isSuccess()) {
+                        ResponseCache.getInstance().clear();
+                        SearchResultCache.getInstance().clear();
+                    }
+                });
     }
 
     @Override
@@ -40,6 +51,13 @@ public class UserRepositoryImpl implements UserRepository {
                     return authStorage.clearAuthData()
                             .toObservable()
                             .map(ignore -> DomainResult.failure(DomainError.of(DomainError.UNKNOWN_CODE, "网络登出失败: " + throwable.getMessage())));
+                })
+                .doFinally(() -> {
+                    ResponseCache.getInstance().clear();
+                    SearchResultCache.getInstance().clear();
+                    // 未同步的收藏变更属于上一个账号
+                    CollectMutationQueue.getInstance().clear();
+                    CollectedArticleIndex.getInstance().clear();
                 });
     }
 
@@ -75,7 +93,12 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Observable<DomainResult<ArticleListBean>> favoriteArticles(int page) {
-        return map(NetApis.User().collectList(page));
+        return map(NetApis.User().collectList(page))
+                .doOnNext(result -> {
+                    if (result.isSuccess() && result.getData() != null) {
+                        CollectedArticleIndex.getInstance().addCollectedPage(result.getData().getDatas());
+                    }
+                });
     }
 
     @Override
@@ -125,17 +148,26 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Observable<DomainResult<String>> collectArticle(int id) {
-        return map(NetApis.User().collect(id));
+        return map(NetApis.User().collect(id))
+                .doOnNext(result -> syncIndex(id, true, result));
     }
 
     @Override
     public Observable<DomainResult<String>> unCollectArticle(int id) {
-        return map(NetApis.User().unCollect(id));
+        return map(NetApis.User().unCollect(id))
+                .doOnNext(result -> syncIndex(id, false, result));
     }
 
     @Override
     public Observable<DomainResult<String>> unCollectFavorite(int collectId, int originId) {
-        return map(NetApis.User().unCollectInMine(collectId, originId));
+        return map(NetApis.User().unCollectInMine(collectId, originId))
+                .doOnNext(result -> syncIndex(originId, false, result));
+    }
+
+    private static void syncIndex(int articleId, boolean collected, DomainResult<String> result) {
+        if (result.isSuccess()) {
+            CollectedArticleIndex.getInstance().markCollected(articleId, collected);
+        }
     }
 
     private <T> Observable<DomainResult<T>> map(Observable<BaseResponse<T>> source) {
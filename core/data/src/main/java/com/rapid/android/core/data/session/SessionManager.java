@@ -4,6 +4,8 @@ import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.rapid.android.core.data.collect.CollectMutationQueue;
+import com.rapid.android.core.data.collect.CollectedArticleIndex;
 import com.rapid.android.core.data.repository.RepositoryProvider;
 import com.rapid.android.core.domain.model.LoginBean;
 import com.rapid.android.core.domain.model.UserInfoBean;
@@ -85,6 +87,9 @@ public class SessionManager {
                                         // 已登录，获取用户信息
                                         setState(createCachedSessionState());
                                         refreshUserInfoInternal();
+                                        CollectedArticleIndex.getInstance().refresh();
+                                        // 重放上次未同步的收藏变更
+                                        CollectMutationQueue.getInstance().replay();
                                     } else {
                                         // 未登录，设置为访客状态
                                         setState(SessionState.GUEST);
@@ -105,6 +110,10 @@ public class SessionManager {
                 SessionState.loggedIn(userInfo) :
                 SessionState.loggedIn(null);
         setState(newState);
+        // 账号可能已切换，重建收藏索引
+        CollectedArticleIndex index = CollectedArticleIndex.getInstance();
+        index.clear();
+        index.refresh();
     }
 
     // 登出
@@ -450,6 +450,27 @@ public class ArticleListBean {
             this.zan = zan;
         }
 
+        /**
+         * 列表展示相关字段的 64 位内容哈希，用于列表 diff 时 O(1) 比较内容；
+         * 不缓存，字段可变（如收藏状态），每次调用重新计算
+         */
+        public long contentHash() {
+            long h = collect ? 1L : 0L;
+            h = mix(h, title);
+            h = mix(h, author);
+            h = mix(h, shareUser);
+            h = mix(h, niceShareDate);
+            h = mix(h, niceDate);
+            h = mix(h, superChapterName);
+            h = mix(h, desc);
+            h = mix(h, link);
+            return h;
+        }
+
+        private static long mix(long h, String value) {
+            long v = value != null ? value.hashCode() : 0;
+            return (h ^ (v + (value != null ? value.length() : -1))) * 0x100000001B3L + 0x9E3779B97F4A7C15L;
+        }
 
         public static class Tag {
             private String name;
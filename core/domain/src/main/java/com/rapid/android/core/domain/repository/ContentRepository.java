@@ -27,6 +27,11 @@ public interface ContentRepository {
 
     Observable<DomainResult<ArticleListBean>> searchArticles(int page, String keyword);
 
+    /**
+     * 在本地已缓存的文章中检索标题、作者与摘要，不发起网络请求
+     */
+    Observable<DomainResult<List<ArticleListBean.Data>>> searchLocalArticles(String keyword, int limit);
+
     Observable<DomainResult<List<HotKeyBean>>> hotKeys();
 
     Observable<DomainResult<List<FriendLinkBean>>> friendLinks();
@@ -47,5 +52,15 @@ public interface ContentRepository {
 
     Observable<DomainResult<PageBean<CoinRecordBean>>> coinRecords(int page);
 
+    /**
+     * @param preferCache 为 true 时有本地缓存直接返回缓存，不发起请求
+     */
+    Observable<DomainResult<PageBean<CoinRecordBean>>> coinRecords(int page, boolean preferCache);
+
     Observable<DomainResult<PageBean<CoinRankBean>>> coinRank(int page);
+
+    /**
+     * @param preferCache 为 true 时有本地缓存直接返回缓存，不发起请求
+     */
+    Observable<DomainResult<PageBean<CoinRankBean>>> coinRank(int page, boolean preferCache);
 }
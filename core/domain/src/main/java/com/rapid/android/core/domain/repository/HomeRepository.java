@@ -18,6 +18,11 @@ public interface HomeRepository {
 
     Observable<DomainResult<ArticleListBean>> plazaArticles(int page);
 
+    /**
+     * @param preferCache 为 true 时有本地缓存直接返回缓存，不发起请求
+     */
+    Observable<DomainResult<ArticleListBean>> plazaArticles(int page, boolean preferCache);
+
     Observable<DomainResult<List<ArticleListBean.Data>>> topArticles();
 
     Observable<DomainResult<List<FriendLinkBean>>> friendLinks();
@@ -18,7 +18,7 @@ import com.bumptech.glide.request.RequestOptions;
 public final class ImageLoader {
 
     private static ImageConfig defaultConfig = new ImageConfig.Builder().build();
-    private static NoImageModeProvider noImageModeProvider = () -> false;
+    private static volatile boolean noImageMode = false;
 
     private ImageLoader() {
         // 工具类，禁止实例化
@@ -32,10 +32,10 @@ public final class ImageLoader {
     }
 
     /**
-     * 设置无图模式提供者
+     * 设置无图模式，由设置项变化时推送，加载图片时直接读取
      */
-    public static void setNoImageModeProvider(@NonNull NoImageModeProvider provider) {
-        noImageModeProvider = provider;
+    public static void setNoImageMode(boolean enabled) {
+        noImageMode = enabled;
     }
 
     /**
@@ -50,7 +50,7 @@ public final class ImageLoader {
      */
     public static void load(@NonNull ImageView imageView, @Nullable String url, @NonNull ImageConfig config) {
         // 检查无图模式
-        if (noImageModeProvider.isNoImageMode()) {
+        if (noImageMode) {
             showPlaceholder(imageView, config.getPlaceholder());
             return;
         }
@@ -83,7 +83,7 @@ public final class ImageLoader {
      */
     public static void loadOrHide(@NonNull ImageView imageView, @Nullable String url, @NonNull ImageConfig config) {
         // 检查无图模式
-        if (noImageModeProvider.isNoImageMode()) {
+        if (noImageMode) {
             showPlaceholder(imageView, config.getPlaceholder());
             return;
         }
@@ -115,7 +115,7 @@ public final class ImageLoader {
      * 加载圆形图片（自定义配置）
      */
     public static void loadCircle(@NonNull ImageView imageView, @Nullable String url, @NonNull ImageConfig config) {
-        if (noImageModeProvider.isNoImageMode()) {
+        if (noImageMode) {
             showPlaceholder(imageView, config.getPlaceholder());
             return;
         }
@@ -183,11 +183,4 @@ public final class ImageLoader {
         imageView.setScaleType(ImageView.ScaleType.CENTER_INSIDE);
         imageView.setImageResource(placeholder);
     }
-
-    /**
-     * 无图模式提供者接口
-     */
-    public interface NoImageModeProvider {
-        boolean isNoImageMode();
-    }
 }
@@ -0,0 +1,71 @@
+package com.rapid.android.core.initializer;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 监听首个 Activity 的首帧绘制，回调在该帧结束后的主线程执行
+ */
+public final class FirstFrameDetector {
+
+    private FirstFrameDetector() {
+    }
+
+    public static void install(@NonNull Application application, @NonNull Runnable onFirstFrame) {
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {
+                application.unregisterActivityLifecycleCallbacks(this);
+                observeDraw(activity.getWindow().getDecorView(), onFirstFrame);
+            }
+
+            @Override
+            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            }
+
+            @Override
+            public void onActivityStarted(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityPaused(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityStopped(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            }
+
+            @Override
+            public void onActivityDestroyed(@NonNull Activity activity) {
+            }
+        });
+    }
+
+    private static void observeDraw(View decorView, Runnable onFirstFrame) {
+        Handler handler = new Handler(Looper.getMainLooper());
+        decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean fired = false;
+
+            @Override
+            public void onDraw() {
+                if (fired) return;
+                fired = true;
+                // onDraw 处于绘制分发中，回调与移除监听都推迟到本帧结束后
+                handler.postAtFrontOfQueue(onFirstFrame);
+                handler.post(() -> decorView.getViewTreeObserver().removeOnDrawListener(this));
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.rapid.android.core.initializer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 以 Chrome Trace Event 格式（"X" 完整事件）记录启动任务
+ */
+final class StartupTrace {
+
+    private final StringBuilder builder = new StringBuilder(256).append("{\"traceEvents\":[");
+    private final long originNs;
+    private boolean empty = true;
+
+    StartupTrace(long originNs) {
+        this.originNs = originNs;
+    }
+
+    void add(@NonNull String name, @NonNull TaskType type, @NonNull TaskPhase phase, long startNs, long endNs,
+             long threadId, @NonNull String threadName, int criticalPath) {
+        appendSeparator();
+        builder.append("{\"name\":\"").append(escape(name))
+                .append("\",\"cat\":\"startup\",\"ph\":\"X\",\"pid\":0")
+                .append(",\"tid\":").append(threadId)
+                .append(",\"ts\":").append((startNs - originNs) / 1000L)
+                .append(",\"dur\":").append((endNs - startNs) / 1000L)
+                .append(",\"args\":{\"type\":\"").append(type.name())
+                .append("\",\"phase\":\"").append(phase.name())
+                .append("\",\"thread\":\"").append(escape(threadName))
+                .append("\",\"cp\":").append(criticalPath)
+                .append("}}");
+    }
+
+    // 全局瞬时事件，如首帧
+    void addInstant(@NonNull String name, long timeNs) {
+        appendSeparator();
+        builder.append("{\"name\":\"").append(escape(name))
+                .append("\",\"cat\":\"startup\",\"ph\":\"i\",\"s\":\"g\",\"pid\":0,\"tid\":0")
+                .append(",\"ts\":").append((timeNs - originNs) / 1000L)
+                .append('}');
+    }
+
+    @NonNull
+    String toJson() {
+        return builder.toString() + "]}";
+    }
+
+    private void appendSeparator() {
+        if (!empty) {
+            builder.append(',');
+        }
+        empty = false;
+    }
+
+    private static String escape(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(' ');
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -4,11 +4,19 @@ import java.util.List;
 
 public abstract class Task implements Runnable {
 
+    // 上次启动实测耗时（毫秒），-1 表示暂无记录
+    private volatile int measuredDuration = -1;
+
     // 任务类型
     public TaskType getTaskType(){
         return TaskType.ASYNC;
     };
 
+    // 所属启动阶段
+    public TaskPhase getPhase() {
+        return TaskPhase.APPLICATION_CREATE;
+    }
+
     // 依赖的任务列表
     public List<Class<? extends Task>> getDependencies() {
         return List.of();
@@ -22,7 +30,14 @@ public abstract class Task implements Runnable {
     @Override
     public abstract void run();
 
+    /**
+     * 预估耗时，默认使用 TaskManager 回填的上次实测值，子类覆写则以覆写值为准
+     */
     public Integer getEstimatedDuration(){
-        return 0;
+        return Math.max(measuredDuration, 0);
+    }
+
+    void setMeasuredDuration(int durationMs) {
+        this.measuredDuration = durationMs;
     }
 }
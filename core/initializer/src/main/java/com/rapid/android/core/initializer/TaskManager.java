@@ -1,39 +1,63 @@
 package com.rapid.android.core.initializer;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TaskManager
- * - 关键路径阻塞任务阻塞主线程
- * - 非关键路径阻塞任务并行执行
- * - 非阻塞任务按关键路径优先执行
- * - 支持循环依赖检测
+ * - 启动前一次性解析依赖图（拓扑排序 + 循环依赖检测 + 关键路径）
+ * - 任务按 {@link TaskPhase} 分阶段释放：onCreate 返回前 / 首帧绘制后 / 首帧后主线程空闲，允许跨阶段依赖
+ * - APPLICATION_CREATE 阶段的 BLOCKING、MAIN 任务全部完成前主线程等待，等待期间主线程执行就绪的 MAIN 任务
+ * - 就绪任务按剩余关键路径长度优先，由共享的 work-stealing 线程池调度
+ * - 记录每个任务的实测耗时，下次启动回填为 {@link Task#getEstimatedDuration()}
  */
 public class TaskManager {
 
     private static final String TAG = "TaskManager";
 
+    // 宿主未上报首帧（如后台拉起进程）时的兜底
+    private static final long FIRST_FRAME_TIMEOUT_MS = 5_000L;
+
+    private static volatile ForkJoinPool sharedExecutor;
+
     private final List<Task> allTasks = new ArrayList<>();
-    private final Map<Class<? extends Task>, TaskNode> nodes = new HashMap<>();
+    private final Set<Class<? extends Task>> taskClasses = new HashSet<>();
     private final List<Throwable> taskExceptions = Collections.synchronizedList(new ArrayList<>());
 
-    private final AtomicInteger criticalBlockingRemaining = new AtomicInteger(0);
+    private final AtomicInteger pendingTasks = new AtomicInteger(0);
+    private final Map<TaskPhase, List<TaskNode>> phaseNodes = new EnumMap<>(TaskPhase.class);
+    private final AtomicBoolean deferredPhasesEntered = new AtomicBoolean(false);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
-    private ExecutorService blockingExecutor;
-    private ExecutorService nonBlockingExecutor;
+    // 主线程任务队列，start() 等待期间由主线程直接消费
+    private final Object mainLock = new Object();
+    private final ArrayDeque<TaskNode> mainQueue = new ArrayDeque<>();
+    private boolean draining = false;
+    private int createPhaseRemaining = 0;
+
+    private TaskNode[] nodes = new TaskNode[0];
+    private ForkJoinPool executor;
+    @Nullable
+    private TaskTelemetry telemetry;
+    private long startNs;
+    private volatile long firstFrameNs;
 
     public TaskManager() {
     }
 
     public void addTask(Task task) {
-        if (nodes.containsKey(task.getClass())) {
+        if (!taskClasses.add(task.getClass())) {
             Log.i(TAG, "Task already added: " + task.getName());
             return;
         }
@@ -44,210 +68,345 @@ public class TaskManager {
         for (Task task : tasks) addTask(task);
     }
 
+    public void setTelemetry(@Nullable TaskTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * 需在主线程调用（Application.onCreate 中）
+     */
     public void start() {
-        long startTime = System.currentTimeMillis();
+        startNs = System.nanoTime();
 
+        applyMeasuredDurations();
         buildGraph();
-        calculateCriticalPathsAndMarkCriticalBlocking();
+        printGraph();
 
-        // 初始化线程池
-        int cores = Runtime.getRuntime().availableProcessors();
-        blockingExecutor = Executors.newFixedThreadPool(Math.max(2, cores / 2));
-        nonBlockingExecutor = Executors.newFixedThreadPool(cores);
+        int blockingCount = 0;
+        for (TaskNode node : nodes) {
+            if (node.blocksCreate()) blockingCount++;
+        }
+        synchronized (mainLock) {
+            createPhaseRemaining = blockingCount;
+            draining = true;
+        }
+        pendingTasks.set(nodes.length);
+        executor = getSharedExecutor();
 
-        // 执行阻塞任务（关键路径和非关键路径一起执行）
-        nodes.values().stream()
-                .filter(n -> n.remainingDeps.get() == 0 && n.task.getTaskType() == TaskType.BLOCKING)
-                .sorted((a, b) -> Integer.compare(b.criticalPath, a.criticalPath))
-                .forEach(n -> executeTask(n, n.isCriticalBlocking));
+        if (nodes.length == 0) {
+            synchronized (mainLock) {
+                draining = false;
+            }
+            finish();
+            return;
+        }
 
-        // 等待关键路径阻塞任务完成
-        awaitCriticalBlockingTasks();
+        // 根任务按关键路径降序入队
+        for (TaskNode node : sortByCriticalPath(Arrays.asList(nodes))) {
+            if (node.remainingDeps.get() == 0) {
+                dispatch(node);
+            }
+        }
+
+        drainMainUntilCreateDone();
+        Log.i(TAG, "->Application create cost: " + (System.nanoTime() - startNs) / 1_000_000L + "ms");
 
-        // 执行非阻塞任务（优先级队列）
-        PriorityBlockingQueue<TaskNode> queue = new PriorityBlockingQueue<>(nodes.size(),
-                Comparator.comparingInt((TaskNode n) -> -n.criticalPath));
-        nodes.values().stream()
-                .filter(n -> n.remainingDeps.get() == 0 && n.task.getTaskType() != TaskType.BLOCKING)
-                .forEach(queue::offer);
+        mainHandler.postDelayed(() -> {
+            if (!deferredPhasesEntered.get()) {
+                Log.w(TAG, "First frame not reported in " + FIRST_FRAME_TIMEOUT_MS + "ms, releasing deferred tasks");
+                enterDeferredPhases();
+            }
+        }, FIRST_FRAME_TIMEOUT_MS);
+    }
 
-        while (!queue.isEmpty()) {
-            TaskNode node = queue.poll();
-            executeTask(node, false);
+    /**
+     * 宿主在首帧绘制完成后调用（主线程），释放 FIRST_FRAME 阶段任务，并在随后的主线程空闲时释放 IDLE 阶段任务
+     */
+    public void notifyFirstFrameDrawn() {
+        if (firstFrameNs != 0L) {
+            return;
         }
+        firstFrameNs = System.nanoTime();
+        Log.i(TAG, "->First frame: " + (firstFrameNs - startNs) / 1_000_000L + "ms");
+        enterDeferredPhases();
+    }
 
-        shutdownExecutors();
+    private void enterDeferredPhases() {
+        if (!deferredPhasesEntered.compareAndSet(false, true)) {
+            return;
+        }
+        releasePhase(TaskPhase.FIRST_FRAME);
+        Looper.getMainLooper().getQueue().addIdleHandler(() -> {
+            releasePhase(TaskPhase.IDLE);
+            return false; // 只执行一次
+        });
+    }
 
-        long totalDuration = System.currentTimeMillis() - startTime;
-        Log.i(TAG, "->Total cost: " + totalDuration + "ms");
-        if (!taskExceptions.isEmpty()) {
-            Log.e(TAG, "Exceptions occurred during tasks (limited to 10):");
-            taskExceptions.stream().limit(10).forEach(t -> Log.e(TAG, t.toString()));
+    private void releasePhase(TaskPhase phase) {
+        List<TaskNode> gated = phaseNodes.get(phase);
+        if (gated == null) return;
+        Log.i(TAG, "Enter phase " + phase + " | tasks: " + gated.size());
+        for (TaskNode node : gated) {
+            if (node.remainingDeps.decrementAndGet() == 0) {
+                dispatch(node);
+            }
         }
     }
 
+    // ------------------- 共享线程池 -------------------
+
+    private static ForkJoinPool getSharedExecutor() {
+        if (sharedExecutor == null) {
+            synchronized (TaskManager.class) {
+                if (sharedExecutor == null) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int parallelism = Math.max(2, Math.min(cores, 4));
+                    AtomicInteger threadIndex = new AtomicInteger(0);
+                    ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("startup-" + threadIndex.incrementAndGet());
+                        return thread;
+                    };
+                    // asyncMode = true：本地队列 FIFO，先 fork 的高优先级任务先执行，其余由空闲线程窃取
+                    sharedExecutor = new ForkJoinPool(parallelism, factory, null, true);
+                }
+            }
+        }
+        return sharedExecutor;
+    }
+
     // ------------------- DAG 构建 -------------------
 
-    private void buildGraph() {
-        // 创建节点
+    private void applyMeasuredDurations() {
+        if (telemetry == null) return;
         for (Task task : allTasks) {
-            nodes.put(task.getClass(), new TaskNode(task));
+            try {
+                int measured = telemetry.loadDuration(task.getName());
+                if (measured >= 0) task.setMeasuredDuration(measured);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Load duration failed: " + task.getName(), e);
+            }
+        }
+    }
+
+    private void buildGraph() {
+        int size = allTasks.size();
+        nodes = new TaskNode[size];
+        Map<Class<? extends Task>, TaskNode> byClass = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Task task = allTasks.get(i);
+            Integer estimated = task.getEstimatedDuration();
+            nodes[i] = new TaskNode(task, estimated != null ? Math.max(estimated, 0) : 0);
+            byClass.put(task.getClass(), nodes[i]);
         }
 
-        // 构建依赖
-        for (TaskNode node : nodes.values()) {
+        for (TaskNode node : nodes) {
+            if (node.task.getTaskType() == TaskType.BLOCKING && node.phase != TaskPhase.APPLICATION_CREATE) {
+                throw new IllegalStateException("BLOCKING task must belong to APPLICATION_CREATE: " + node.task.getName());
+            }
             List<Class<? extends Task>> deps = node.task.getDependencies();
-            if (deps != null) {
-                for (Class<? extends Task> depClass : deps) {
-                    TaskNode depNode = nodes.get(depClass);
-                    if (depNode != null) {
-                        depNode.dependents.add(node);
-                        node.remainingDeps.incrementAndGet();
-                    } else {
-                        throw new IllegalStateException("Dependency not found: " + depClass.getSimpleName());
-                    }
+            if (deps == null) continue;
+            for (Class<? extends Task> depClass : deps) {
+                TaskNode depNode = byClass.get(depClass);
+                if (depNode == null) {
+                    throw new IllegalStateException("Dependency not found: " + depClass.getSimpleName());
+                }
+                if (depNode.phase.ordinal() > node.phase.ordinal()) {
+                    throw new IllegalStateException(node.task.getName() + " (" + node.phase
+                            + ") cannot depend on later phase task " + depNode.task.getName() + " (" + depNode.phase + ")");
                 }
+                depNode.dependents.add(node);
+                node.dependencyCount++;
             }
         }
 
-        detectCycles();
-        printGraph();
-    }
+        List<TaskNode> order = topologicalOrder();
+        calculateCriticalPaths(order);
 
-    // 循环依赖检测
-    private void detectCycles() {
-        Set<TaskNode> visited = new HashSet<>();
-        Set<TaskNode> stack = new HashSet<>();
-        for (TaskNode node : nodes.values()) {
-            if (!visited.contains(node)) {
-                if (dfsCycle(node, visited, stack)) {
-                    throw new IllegalStateException("Cycle detected in tasks!");
-                }
+        for (TaskNode node : nodes) {
+            // 依赖就绪后按关键路径顺序派发
+            if (node.dependents.size() > 1) {
+                List<TaskNode> sorted = sortByCriticalPath(node.dependents);
+                node.dependents.clear();
+                node.dependents.addAll(sorted);
             }
+            // 非首阶段任务额外持有一个阶段闸门，阶段开始时释放
+            int gate = node.phase == TaskPhase.APPLICATION_CREATE ? 0 : 1;
+            node.remainingDeps.set(node.dependencyCount + gate);
         }
-    }
 
-    private boolean dfsCycle(TaskNode node, Set<TaskNode> visited, Set<TaskNode> stack) {
-        visited.add(node);
-        stack.add(node);
-        for (TaskNode dep : node.dependents) {
-            if (!visited.contains(dep)) {
-                if (dfsCycle(dep, visited, stack)) return true;
-            } else if (stack.contains(dep)) {
-                return true;
+        phaseNodes.clear();
+        for (TaskNode node : sortByCriticalPath(Arrays.asList(nodes))) {
+            if (node.phase != TaskPhase.APPLICATION_CREATE) {
+                phaseNodes.computeIfAbsent(node.phase, key -> new ArrayList<>()).add(node);
             }
         }
-        stack.remove(node);
-        return false;
     }
 
-    // ------------------- 关键路径计算 & 阻塞任务标记 -------------------
+    // Kahn 拓扑排序，无法排完即存在循环依赖
+    private List<TaskNode> topologicalOrder() {
+        Map<TaskNode, Integer> inDegree = new HashMap<>(nodes.length * 2);
+        ArrayDeque<TaskNode> ready = new ArrayDeque<>();
+        for (TaskNode node : nodes) {
+            inDegree.put(node, node.dependencyCount);
+            if (node.dependencyCount == 0) ready.add(node);
+        }
+
+        List<TaskNode> order = new ArrayList<>(nodes.length);
+        while (!ready.isEmpty()) {
+            TaskNode node = ready.poll();
+            order.add(node);
+            for (TaskNode dep : node.dependents) {
+                int left = inDegree.get(dep) - 1;
+                inDegree.put(dep, left);
+                if (left == 0) ready.add(dep);
+            }
+        }
 
-    private void calculateCriticalPathsAndMarkCriticalBlocking() {
-        int maxCP = 0;
-        Map<TaskNode, Integer> memo = new HashMap<>();
-        for (TaskNode node : nodes.values()) {
-            int cp = dfsCriticalPath(node, memo);
-            node.criticalPath = cp;
-            maxCP = Math.max(maxCP, cp);
+        if (order.size() != nodes.length) {
+            throw new IllegalStateException("Cycle detected in tasks!");
         }
+        return order;
+    }
 
-        // 标记关键路径阻塞任务
-        for (TaskNode node : nodes.values()) {
-            if (node.task.getTaskType() == TaskType.BLOCKING && node.criticalPath == maxCP) {
-                node.isCriticalBlocking = true;
+    // 关键路径：自身耗时 + 下游最长链耗时，逆拓扑序一次计算
+    private void calculateCriticalPaths(List<TaskNode> order) {
+        for (int i = order.size() - 1; i >= 0; i--) {
+            TaskNode node = order.get(i);
+            int maxDownstream = 0;
+            for (TaskNode dep : node.dependents) {
+                maxDownstream = Math.max(maxDownstream, dep.criticalPath);
             }
+            node.criticalPath = node.estimatedDuration + maxDownstream;
         }
-        // 统计关键阻塞任务数量
-        criticalBlockingRemaining.set((int) nodes.values().stream()
-                .filter(n -> n.isCriticalBlocking).count());
     }
 
-    private int dfsCriticalPath(TaskNode node, Map<TaskNode, Integer> memo) {
-        if (memo.containsKey(node)) return memo.get(node);
+    private static List<TaskNode> sortByCriticalPath(List<TaskNode> source) {
+        List<TaskNode> sorted = new ArrayList<>(source);
+        sorted.sort((a, b) -> Integer.compare(b.criticalPath, a.criticalPath));
+        return sorted;
+    }
 
-        int maxDep = 0;
-        List<Class<? extends Task>> deps = node.task.getDependencies();
-        if (deps != null) {
-            for (Class<? extends Task> depClass : deps) {
-                TaskNode depNode = nodes.get(depClass);
-                if (depNode != null) {
-                    maxDep = Math.max(maxDep, dfsCriticalPath(depNode, memo));
+    // ------------------- 任务执行 -------------------
+
+    private void dispatch(TaskNode node) {
+        if (node.task.getTaskType() == TaskType.MAIN) {
+            synchronized (mainLock) {
+                if (draining) {
+                    mainQueue.add(node);
+                    mainLock.notifyAll();
+                    return;
                 }
             }
+            mainHandler.post(() -> runNode(node));
+            return;
         }
-        int total = maxDep + node.task.getEstimatedDuration();
-        memo.put(node, total);
-        return total;
-    }
 
-    // ------------------- 任务执行 -------------------
+        Runnable runner = () -> runNode(node);
+        if (ForkJoinTask.inForkJoinPool()) {
+            // 工作线程内 fork 到本地队列，空闲线程可窃取
+            ForkJoinTask.adapt(runner).fork();
+        } else {
+            executor.execute(runner);
+        }
+    }
 
-    private void executeTask(TaskNode node, boolean isCriticalBlocking) {
-        Runnable runner = () -> {
-            long startTime = System.currentTimeMillis();
-            try {
-                Log.i(TAG, "Start " + node.task.getName() + " | " + node.task.getTaskType());
-                node.task.run();
-            } catch (Exception e) {
-                taskExceptions.add(e);
-                Log.e(TAG, "Failed: " + node.task.getName(), e);
-            } finally {
-                int duration = (int) (System.currentTimeMillis() - startTime);
-                Log.i(TAG, "Done " + node.task.getName() + " | " + node.task.getTaskType() + " | Time: " + duration + "ms");
-
-                // 下游任务依赖减1，满足条件就执行
-                for (TaskNode dep : node.dependents) {
-                    if (dep.remainingDeps.decrementAndGet() == 0) {
-                        boolean critical = dep.task.getTaskType() == TaskType.BLOCKING && dep.isCriticalBlocking;
-                        executeTask(dep, critical);
+    // 主线程等待 APPLICATION_CREATE 阶段的阻塞任务，期间执行就绪的 MAIN 任务
+    private void drainMainUntilCreateDone() {
+        boolean interrupted = false;
+        while (true) {
+            TaskNode next;
+            synchronized (mainLock) {
+                while (mainQueue.isEmpty() && createPhaseRemaining > 0) {
+                    try {
+                        mainLock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
                     }
                 }
+                next = mainQueue.poll();
+                if (next == null) {
+                    draining = false;
+                    break;
+                }
+            }
+            runNode(next);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runNode(TaskNode node) {
+        Thread thread = Thread.currentThread();
+        node.threadId = thread.getId();
+        node.threadName = thread.getName();
+        node.startNs = System.nanoTime();
+        try {
+            Log.i(TAG, "Start " + node.task.getName() + " | " + node.task.getTaskType() + " | " + node.phase);
+            node.task.run();
+        } catch (Exception e) {
+            taskExceptions.add(e);
+            Log.e(TAG, "Failed: " + node.task.getName(), e);
+        } finally {
+            node.endNs = System.nanoTime();
+            Log.i(TAG, "Done " + node.task.getName() + " | " + node.task.getTaskType()
+                    + " | Time: " + node.durationMs() + "ms");
+
+            for (TaskNode dep : node.dependents) {
+                if (dep.remainingDeps.decrementAndGet() == 0) {
+                    dispatch(dep);
+                }
+            }
 
-                // 关键路径阻塞任务完成
-                if (isCriticalBlocking) {
-                    if (criticalBlockingRemaining.decrementAndGet() == 0) {
-                        synchronized (criticalBlockingRemaining) {
-                            criticalBlockingRemaining.notifyAll();
-                        }
+            if (node.blocksCreate()) {
+                synchronized (mainLock) {
+                    if (--createPhaseRemaining == 0) {
+                        mainLock.notifyAll();
                     }
                 }
             }
-        };
-
-        if (node.task.getTaskType() == TaskType.BLOCKING) {
-            blockingExecutor.execute(runner);
-        } else {
-            nonBlockingExecutor.execute(runner);
+            if (pendingTasks.decrementAndGet() == 0) {
+                finish();
+            }
         }
     }
 
-    private void awaitCriticalBlockingTasks() {
-        synchronized (criticalBlockingRemaining) {
-            while (criticalBlockingRemaining.get() > 0) {
-                try {
-                    criticalBlockingRemaining.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+    // ------------------- 统计 & 轨迹 -------------------
+
+    private void finish() {
+        long totalDuration = (System.nanoTime() - startNs) / 1_000_000L;
+        Log.i(TAG, "->Total cost: " + totalDuration + "ms");
+        if (!taskExceptions.isEmpty()) {
+            Log.e(TAG, "Exceptions occurred during tasks (limited to 10):");
+            synchronized (taskExceptions) {
+                for (int i = 0; i < Math.min(10, taskExceptions.size()); i++) {
+                    Log.e(TAG, taskExceptions.get(i).toString());
                 }
             }
         }
-    }
 
-    private void shutdownExecutors() {
-        shutdownExecutor(blockingExecutor);
-        shutdownExecutor(nonBlockingExecutor);
-    }
+        StartupTrace trace = new StartupTrace(startNs);
+        if (firstFrameNs != 0L) {
+            trace.addInstant("first_frame", firstFrameNs);
+        }
+        Map<String, Integer> durations = new HashMap<>(nodes.length * 2);
+        for (TaskNode node : nodes) {
+            trace.add(node.task.getName(), node.task.getTaskType(), node.phase, node.startNs, node.endNs,
+                    node.threadId, node.threadName, node.criticalPath);
+            // 与上次实测值做平滑，避免单次抖动影响调度
+            int measured = node.durationMs();
+            int previous = node.estimatedDuration;
+            durations.put(node.task.getName(), previous > 0 ? (previous + measured) / 2 : measured);
+        }
+        String traceJson = trace.toJson();
+        Log.i(TAG, "Startup trace: " + traceJson);
 
-    private void shutdownExecutor(ExecutorService executor) {
-        if (executor != null) {
-            executor.shutdown();
+        if (telemetry != null) {
             try {
-                if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-                    Log.w(TAG, "Some tasks may not finish in time");
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                telemetry.onStartupFinished(durations, traceJson);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Save telemetry failed", e);
             }
         }
     }
@@ -256,13 +415,11 @@ public class TaskManager {
 
     private void printGraph() {
         Log.i(TAG, "---Task DAG Tree Structure---");
-        List<TaskNode> roots = new ArrayList<>();
-        for (TaskNode node : nodes.values()) {
-            if (node.remainingDeps.get() == 0) roots.add(node);
-        }
         Set<Class<? extends Task>> visited = new HashSet<>();
-        for (TaskNode root : roots) {
-            printNode(root, "", visited);
+        for (TaskNode node : nodes) {
+            if (node.dependencyCount == 0) {
+                printNode(node, "", visited);
+            }
         }
         Log.i(TAG, "---Task DAG Tree Structure---");
     }
@@ -274,8 +431,9 @@ public class TaskManager {
         }
         Log.i(TAG, prefix + node.task.getName() +
                 " | " + node.task.getTaskType() +
-                " | CP: " + node.criticalPath +
-                (node.isCriticalBlocking ? " | CRITICAL" : ""));
+                " | " + node.phase +
+                " | Est: " + node.estimatedDuration + "ms" +
+                " | CP: " + node.criticalPath);
         visited.add(node.task.getClass());
 
         List<TaskNode> children = node.dependents;
@@ -291,13 +449,34 @@ public class TaskManager {
 
     private static class TaskNode {
         final Task task;
+        final TaskPhase phase;
+        final int estimatedDuration;
         final AtomicInteger remainingDeps = new AtomicInteger(0);
         final List<TaskNode> dependents = new ArrayList<>();
+        int dependencyCount = 0;
         int criticalPath = 0;
-        boolean isCriticalBlocking = false;
 
-        TaskNode(Task task) {
+        long startNs;
+        long endNs;
+        long threadId;
+        @NonNull
+        String threadName = "";
+
+        TaskNode(Task task, int estimatedDuration) {
             this.task = task;
+            TaskPhase declared = task.getPhase();
+            this.phase = declared != null ? declared : TaskPhase.APPLICATION_CREATE;
+            this.estimatedDuration = estimatedDuration;
+        }
+
+        // 是否需要在 Application.onCreate 返回前完成
+        boolean blocksCreate() {
+            TaskType type = task.getTaskType();
+            return phase == TaskPhase.APPLICATION_CREATE && (type == TaskType.BLOCKING || type == TaskType.MAIN);
+        }
+
+        int durationMs() {
+            return (int) ((endNs - startNs) / 1_000_000L);
         }
     }
 }
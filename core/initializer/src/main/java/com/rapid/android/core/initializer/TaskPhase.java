@@ -0,0 +1,13 @@
+package com.rapid.android.core.initializer;
+
+/**
+ * 启动阶段，任务在所属阶段开始且依赖完成后才会执行，允许依赖更早阶段的任务
+ */
+public enum TaskPhase {
+    // Application.onCreate 返回前
+    APPLICATION_CREATE,
+    // 首帧绘制完成后
+    FIRST_FRAME,
+    // 首帧后主线程首次空闲时
+    IDLE
+}
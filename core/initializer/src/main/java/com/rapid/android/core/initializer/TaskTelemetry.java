@@ -0,0 +1,24 @@
+package com.rapid.android.core.initializer;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+
+/**
+ * 启动耗时持久化接口，由宿主提供存储实现
+ */
+public interface TaskTelemetry {
+
+    /**
+     * @return 上次记录的任务耗时（毫秒），无记录返回 -1
+     */
+    int loadDuration(@NonNull String taskName);
+
+    /**
+     * 全部任务结束后回调（工作线程）
+     *
+     * @param durations 平滑后的任务耗时，下次启动通过 {@link #loadDuration} 读回
+     * @param traceJson Chrome Trace Event 格式的启动轨迹，可直接导入 chrome://tracing 或 Perfetto
+     */
+    void onStartupFinished(@NonNull Map<String, Integer> durations, @NonNull String traceJson);
+}
@@ -1,6 +1,10 @@
 package com.rapid.android.core.initializer;
 
 public enum TaskType {
+    // 后台线程执行，所属阶段为 APPLICATION_CREATE 时主线程等待其完成
     BLOCKING,
-    ASYNC
+    // 后台线程执行，不阻塞主线程
+    ASYNC,
+    // 主线程执行（如 WebView、StrictMode 线程策略等必须在主线程完成的初始化）
+    MAIN
 }
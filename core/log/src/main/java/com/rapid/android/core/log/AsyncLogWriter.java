@@ -0,0 +1,202 @@
+package com.rapid.android.core.log;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志写入：调用线程只把原始参数放入无锁环形缓冲区，格式化与输出都在单独的写日志线程上完成。
+ * <p>
+ * 多个线程通过 CAS 争用写入位置，单个消费线程按顺序读取；缓冲区满时新日志直接丢弃并计数，
+ * 不阻塞调用线程，丢弃数量在下一条日志输出前报告。
+ */
+final class AsyncLogWriter implements Runnable {
+
+    private static final String TAG = "LogKit";
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final LogSink sink;
+    private final int minPriority;
+    private final boolean captureCaller;
+    private final Slot[] slots;
+    private final int mask;
+    /** 每个槽位已发布的序号，消费线程据此判断槽位是否写完 */
+    private final AtomicLongArray published;
+    /** 下一个待分配的序号 */
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong pendingDropped = new AtomicLong();
+    private final AtomicLong totalDropped = new AtomicLong();
+    private final Thread thread;
+
+    /** 已消费的序号数量，生产者用它判断缓冲区是否已满 */
+    private volatile long consumed = 0L;
+    private volatile boolean waiting = false;
+    private volatile boolean running = true;
+
+    AsyncLogWriter(@NonNull LogSink sink) {
+        this(sink, DEFAULT_CAPACITY);
+    }
+
+    AsyncLogWriter(@NonNull LogSink sink, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.sink = sink;
+        this.minPriority = sink.getMinPriority();
+        this.captureCaller = sink.needsCaller();
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1L);
+        }
+        this.thread = new Thread(this, "LogKit-writer");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * 停止写日志线程，已入队的日志输出完后退出
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    boolean isLoggable(int priority) {
+        return priority >= minPriority;
+    }
+
+    long getDroppedCount() {
+        return totalDropped.get();
+    }
+
+    /**
+     * 放入一条日志，缓冲区已满时丢弃并返回 false
+     */
+    boolean enqueue(int priority, @Nullable String tag, @Nullable Throwable t,
+                    @NonNull String message, @Nullable Object[] args) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                pendingDropped.incrementAndGet();
+                totalDropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.priority = priority;
+        slot.tag = tag;
+        slot.throwable = t;
+        slot.message = message;
+        slot.args = args;
+        slot.callerStack = captureCaller ? Thread.currentThread().getStackTrace() : null;
+        published.set((int) (sequence & mask), sequence);
+
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        long next = 0L;
+        while (true) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                if (!running) {
+                    return;
+                }
+                waitForRecord(index, next);
+                continue;
+            }
+
+            Slot slot = slots[index];
+            int priority = slot.priority;
+            String tag = slot.tag;
+            Throwable throwable = slot.throwable;
+            String message = slot.message;
+            Object[] args = slot.args;
+            StackTraceElement[] callerStack = slot.callerStack;
+            slot.clear();
+            // 参数已取出，槽位可以立即交还给生产者
+            next++;
+            consumed = next;
+
+            reportDropped();
+            write(priority, tag, throwable, format(message, args), callerStack);
+        }
+    }
+
+    private void waitForRecord(int index, long sequence) {
+        waiting = true;
+        // 置位后再检查一次，避免生产者在置位前发布而错过唤醒
+        if (published.get(index) != sequence && running) {
+            LockSupport.park(this);
+        }
+        waiting = false;
+    }
+
+    private void reportDropped() {
+        long dropped = pendingDropped.getAndSet(0L);
+        if (dropped > 0) {
+            write(Log.WARN, TAG, null, "Log buffer overflow, dropped " + dropped + " records", null);
+        }
+    }
+
+    private void write(int priority, @Nullable String tag, @Nullable Throwable t,
+                       @NonNull String message, @Nullable StackTraceElement[] callerStack) {
+        try {
+            sink.write(priority, tag, message, t, callerStack);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to write log", e);
+        }
+    }
+
+    @NonNull
+    private static String format(@NonNull String message, @Nullable Object[] args) {
+        if (args == null || args.length == 0) {
+            return message;
+        }
+        try {
+            return String.format(message, args);
+        } catch (IllegalFormatException e) {
+            return message + " " + Arrays.toString(args);
+        }
+    }
+
+    private static final class Slot {
+        int priority;
+        String tag;
+        Throwable throwable;
+        String message;
+        Object[] args = NO_ARGS;
+        StackTraceElement[] callerStack;
+
+        void clear() {
+            tag = null;
+            throwable = null;
+            message = null;
+            args = NO_ARGS;
+            callerStack = null;
+        }
+    }
+}
@@ -9,14 +9,13 @@ import androidx.annotation.Nullable;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
-import timber.log.Timber;
-
-final class DebugTree extends Timber.Tree {
+/**
+ * Debug 环境输出到 Logcat，并在消息前附加调用处的类名与行号
+ */
+final class DebugTree implements LogSink {
 
     private static final String[] FRAMEWORK_PREFIX = {
-            "timber.log.Timber",
-            "com.rapid.android.core.log.LogKit",
-            "com.rapid.android.core.log.DebugTree",
+            "com.rapid.android.core.log.",
             "android.",
             "java.",
             "androidx.",
@@ -24,13 +23,23 @@ final class DebugTree extends Timber.Tree {
             "sun.",
             "com.android.",
             "org.apache.",
-            "kotlin.",
-            "com.jakewharton.timber"
+            "kotlin."
     };
 
     @Override
-    protected void log(int priority, @Nullable String tag, @NonNull String message, @Nullable Throwable t) {
-        StackTraceElement element = findCaller(Thread.currentThread().getStackTrace());
+    public int getMinPriority() {
+        return Log.VERBOSE;
+    }
+
+    @Override
+    public boolean needsCaller() {
+        return true;
+    }
+
+    @Override
+    public void write(int priority, @Nullable String tag, @NonNull String message,
+                      @Nullable Throwable t, @Nullable StackTraceElement[] callerStack) {
+        StackTraceElement element = callerStack != null ? findCaller(callerStack) : null;
         String fileLineInfo = "";
         String simpleTag = tag;
 
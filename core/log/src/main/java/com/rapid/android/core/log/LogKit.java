@@ -1,21 +1,34 @@
 package com.rapid.android.core.log;
 
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import timber.log.Timber;
+import java.io.File;
 
 /**
- * 日志统一入口，基于 Timber 封装，提供统一初始化和多重重载。
+ * 日志统一入口，提供统一初始化和多重重载。
+ * <p>
+ * 调用线程只做级别判断并把参数放入缓冲区，格式化、调用栈解析与输出都在写日志线程上完成。
  */
 public final class LogKit {
 
     private static volatile boolean initialized = false;
+    @Nullable
+    private static volatile AsyncLogWriter writer;
 
     private LogKit() {
     }
 
     public static void init(boolean isDebug) {
+        init(isDebug, null);
+    }
+
+    /**
+     * @param logDir Release 环境下日志文件的目录，为 null 时不写文件
+     */
+    public static void init(boolean isDebug, @Nullable File logDir) {
         if (initialized) {
             return;
         }
@@ -23,145 +36,147 @@ public final class LogKit {
             if (initialized) {
                 return;
             }
-            if (isDebug) {
-                Timber.plant(new DebugTree());
-            } else {
-                Timber.plant(new ReleaseTree());
-            }
+            AsyncLogWriter created = new AsyncLogWriter(isDebug ? new DebugTree() : new ReleaseTree(logDir));
+            created.start();
+            writer = created;
             initialized = true;
         }
     }
 
     public static void reset() {
         synchronized (LogKit.class) {
-            Timber.uprootAll();
+            AsyncLogWriter current = writer;
+            if (current != null) {
+                current.shutdown();
+            }
+            writer = null;
             initialized = false;
         }
     }
 
+    /**
+     * 该级别的日志是否会被输出，参数需要额外计算时可先判断
+     */
+    public static boolean isLoggable(int priority) {
+        AsyncLogWriter current = writer;
+        return current != null && current.isLoggable(priority);
+    }
+
+    /**
+     * 缓冲区已满而被丢弃的日志总数
+     */
+    public static long getDroppedCount() {
+        AsyncLogWriter current = writer;
+        return current != null ? current.getDroppedCount() : 0L;
+    }
+
     // Verbose
     public static void v(@NonNull String message, Object... args) {
-        Timber.v(message, args);
+        log(Log.VERBOSE, null, null, message, args);
     }
 
     public static void v(@Nullable Throwable t, @NonNull String message, Object... args) {
-        Timber.v(t, message, args);
+        log(Log.VERBOSE, null, t, message, args);
     }
 
     public static void v(@NonNull String tag, @NonNull String message, Object... args) {
-        Timber.tag(tag).v(message, args);
+        log(Log.VERBOSE, tag, null, message, args);
     }
 
     public static void v(@NonNull String tag, @Nullable Throwable t, @NonNull String message, Object... args) {
-        if (t != null) {
-            Timber.tag(tag).v(t, message, args);
-        } else {
-            Timber.tag(tag).v(message, args);
-        }
+        log(Log.VERBOSE, tag, t, message, args);
     }
 
     // Debug
     public static void d(@NonNull String message, Object... args) {
-        Timber.d(message, args);
+        log(Log.DEBUG, null, null, message, args);
     }
 
     public static void d(@Nullable Throwable t, @NonNull String message, Object... args) {
-        Timber.d(t, message, args);
+        log(Log.DEBUG, null, t, message, args);
     }
 
     public static void d(@NonNull String tag, @NonNull String message, Object... args) {
-        Timber.tag(tag).d(message, args);
+        log(Log.DEBUG, tag, null, message, args);
     }
 
     public static void d(@NonNull String tag, @Nullable Throwable t, @NonNull String message, Object... args) {
-        if (t != null) {
-            Timber.tag(tag).d(t, message, args);
-        } else {
-            Timber.tag(tag).d(message, args);
-        }
+        log(Log.DEBUG, tag, t, message, args);
     }
 
     // Info
     public static void i(@NonNull String message, Object... args) {
-        Timber.i(message, args);
+        log(Log.INFO, null, null, message, args);
     }
 
     public static void i(@Nullable Throwable t, @NonNull String message, Object... args) {
-        Timber.i(t, message, args);
+        log(Log.INFO, null, t, message, args);
     }
 
     public static void i(@NonNull String tag, @NonNull String message, Object... args) {
-        Timber.tag(tag).i(message, args);
+        log(Log.INFO, tag, null, message, args);
     }
 
     public static void i(@NonNull String tag, @Nullable Throwable t, @NonNull String message, Object... args) {
-        if (t != null) {
-            Timber.tag(tag).i(t, message, args);
-        } else {
-            Timber.tag(tag).i(message, args);
-        }
+        log(Log.INFO, tag, t, message, args);
     }
 
     // Warn
     public static void w(@NonNull String message, Object... args) {
-        Timber.w(message, args);
+        log(Log.WARN, null, null, message, args);
     }
 
     public static void w(@Nullable Throwable t, @NonNull String message, Object... args) {
-        Timber.w(t, message, args);
+        log(Log.WARN, null, t, message, args);
     }
 
     public static void w(@NonNull String tag, @NonNull String message, Object... args) {
-        Timber.tag(tag).w(message, args);
+        log(Log.WARN, tag, null, message, args);
     }
 
     public static void w(@NonNull String tag, @Nullable Throwable t, @NonNull String message, Object... args) {
-        if (t != null) {
-            Timber.tag(tag).w(t, message, args);
-        } else {
-            Timber.tag(tag).w(message, args);
-        }
+        log(Log.WARN, tag, t, message, args);
     }
 
     // Error
     public static void e(@NonNull String message, Object... args) {
-        Timber.e(message, args);
+        log(Log.ERROR, null, null, message, args);
     }
 
     public static void e(@Nullable Throwable t, @NonNull String message, Object... args) {
-        Timber.e(t, message, args);
+        log(Log.ERROR, null, t, message, args);
     }
 
     public static void e(@NonNull String tag, @NonNull String message, Object... args) {
-        Timber.tag(tag).e(message, args);
+        log(Log.ERROR, tag, null, message, args);
     }
 
     public static void e(@NonNull String tag, @Nullable Throwable t, @NonNull String message, Object... args) {
-        if (t != null) {
-            Timber.tag(tag).e(t, message, args);
-        } else {
-            Timber.tag(tag).e(message, args);
-        }
+        log(Log.ERROR, tag, t, message, args);
     }
 
     // Assert
     public static void wtf(@NonNull String message, Object... args) {
-        Timber.wtf(message, args);
+        log(Log.ASSERT, null, null, message, args);
     }
 
     public static void wtf(@Nullable Throwable t, @NonNull String message, Object... args) {
-        Timber.wtf(t, message, args);
+        log(Log.ASSERT, null, t, message, args);
     }
 
     public static void wtf(@NonNull String tag, @NonNull String message, Object... args) {
-        Timber.tag(tag).wtf(message, args);
+        log(Log.ASSERT, tag, null, message, args);
     }
 
     public static void wtf(@NonNull String tag, @Nullable Throwable t, @NonNull String message, Object... args) {
-        if (t != null) {
-            Timber.tag(tag).wtf(t, message, args);
-        } else {
-            Timber.tag(tag).wtf(message, args);
+        log(Log.ASSERT, tag, t, message, args);
+    }
+
+    private static void log(int priority, @Nullable String tag, @Nullable Throwable t,
+                            @NonNull String message, Object[] args) {
+        AsyncLogWriter current = writer;
+        if (current != null && current.isLoggable(priority)) {
+            current.enqueue(priority, tag, t, message, args);
         }
     }
 }
@@ -0,0 +1,113 @@
+package com.rapid.android.core.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 日志分段离线解码工具，只依赖 JDK。
+ * <p>
+ * 用法：{@code java -cp <classes> com.rapid.android.core.log.LogSegmentDecoder <文件或目录>...}，
+ * 支持 .seg 与 .seg.gz，目录按文件名顺序解码，结果输出到标准输出。
+ */
+public final class LogSegmentDecoder {
+
+    private static final char[] PRIORITY_LABELS = {'?', '?', 'V', 'D', 'I', 'W', 'E', 'A'};
+
+    private LogSegmentDecoder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: LogSegmentDecoder <file-or-dir>...");
+            System.exit(1);
+        }
+        PrintStream out = new PrintStream(System.out, true, "UTF-8");
+        for (String arg : args) {
+            File file = new File(arg);
+            File[] files = file.isDirectory()
+                    ? file.listFiles((d, name) -> name.endsWith(LogSegmentFormat.ACTIVE_SUFFIX)
+                    || name.endsWith(LogSegmentFormat.ARCHIVE_SUFFIX))
+                    : new File[]{file};
+            if (files == null) {
+                continue;
+            }
+            Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+            for (File segment : files) {
+                decode(segment, out);
+            }
+        }
+    }
+
+    /**
+     * 解码单个分段，遇到结束标记或不完整的记录即停止
+     *
+     * @return 解码出的记录数
+     */
+    public static int decode(File segment, PrintStream out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(read(segment));
+        if (buffer.remaining() < LogSegmentFormat.HEADER_SIZE || buffer.getInt() != LogSegmentFormat.MAGIC) {
+            System.err.println("Skip " + segment.getName() + ": not a log segment");
+            return 0;
+        }
+        short version = buffer.getShort();
+        if (version != LogSegmentFormat.VERSION) {
+            System.err.println("Skip " + segment.getName() + ": unsupported version " + version);
+            return 0;
+        }
+        buffer.getShort();
+        long startMillis = buffer.getLong();
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.US);
+        int count = 0;
+        while (buffer.remaining() >= LogSegmentFormat.LENGTH_SIZE) {
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer record = buffer.slice();
+            record.limit(length);
+            buffer.position(buffer.position() + length);
+
+            int priority = record.get();
+            long time = startMillis + record.getInt();
+            String tag = readString(record);
+            String message = readString(record);
+            char label = priority >= 0 && priority < PRIORITY_LABELS.length ? PRIORITY_LABELS[priority] : '?';
+            out.println(dateFormat.format(new Date(time)) + ' ' + label + '/' + tag + ": " + message);
+            count++;
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = LogSegmentFormat.getVarint(record);
+        String value = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+
+    private static byte[] read(File segment) throws IOException {
+        try (InputStream raw = new FileInputStream(segment);
+             InputStream in = segment.getName().endsWith(LogSegmentFormat.ARCHIVE_SUFFIX)
+                     ? new GZIPInputStream(raw) : raw) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
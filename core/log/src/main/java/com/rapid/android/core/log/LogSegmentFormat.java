@@ -0,0 +1,47 @@
+package com.rapid.android.core.log;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 日志分段文件格式，写入端与 {@link LogSegmentDecoder} 共用。只依赖 JDK，便于在桌面 JVM 上解码。
+ * <pre>
+ * 文件头：magic(int) version(short) reserved(short) startMillis(long)
+ * 记录：  length(int) priority(byte) deltaMillis(int) tagLength(varint) tag(UTF-8) messageLength(varint) message(UTF-8)
+ * </pre>
+ * length 不含自身的 4 字节，为 0 表示分段结束。写入时先写记录体，最后写 length，进程中途被杀也不会留下半条记录。
+ */
+final class LogSegmentFormat {
+
+    static final int MAGIC = 0x524C4F47; // "RLOG"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int LENGTH_SIZE = 4;
+    /** priority + deltaMillis + 两个长度前缀的上限 */
+    static final int MAX_RECORD_OVERHEAD = 1 + 4 + 5 + 5;
+
+    static final String ACTIVE_SUFFIX = ".seg";
+    static final String ARCHIVE_SUFFIX = ".seg.gz";
+
+    private LogSegmentFormat() {
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+}
@@ -0,0 +1,23 @@
+package com.rapid.android.core.log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 日志输出端，只在写日志线程上被调用，实现无需考虑并发
+ */
+interface LogSink {
+
+    /**
+     * 低于该级别的日志在调用处直接丢弃，不做任何格式化
+     */
+    int getMinPriority();
+
+    /**
+     * 是否需要调用处的类名与行号；为 false 时不抓取调用栈
+     */
+    boolean needsCaller();
+
+    void write(int priority, @Nullable String tag, @NonNull String message,
+               @Nullable Throwable t, @Nullable StackTraceElement[] callerStack);
+}
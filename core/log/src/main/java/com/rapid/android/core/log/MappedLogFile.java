@@ -0,0 +1,186 @@
+package com.rapid.android.core.log;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 内存映射的日志分段文件：每个分段预先分配固定大小并整体映射，追加记录只是内存写入，不产生逐行的系统调用。
+ * <p>
+ * 映射页由内核负责落盘，进程被杀时已写入的记录不会丢失；上次进程遗留的分段在下次启动时归档。
+ * 分段写满或过旧时切换新分段，旧分段在后台 gzip 压缩，只保留最近 {@link #MAX_ARCHIVES} 个归档。
+ * <p>
+ * 只在写日志线程上调用，非线程安全。
+ */
+final class MappedLogFile {
+
+    private static final String TAG = "MappedLogFile";
+    private static final String FILE_PREFIX = "log-";
+    private static final int SEGMENT_SIZE = 1024 * 1024;
+    private static final long MAX_SEGMENT_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int MAX_TAG_BYTES = 128;
+    private static final int MAX_ARCHIVES = 8;
+
+    private final File dir;
+    private final ExecutorService archiver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LogKit-archiver");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private MappedByteBuffer buffer;
+    private File activeFile;
+    private long segmentStart;
+    private boolean recovered = false;
+    private boolean disabled = false;
+
+    MappedLogFile(@NonNull File dir) {
+        this.dir = dir;
+    }
+
+    void append(int priority, @NonNull String tag, @NonNull String message) {
+        if (disabled) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            if (buffer == null) {
+                openSegment(now);
+            }
+            byte[] tagBytes = truncate(tag.getBytes(StandardCharsets.UTF_8), MAX_TAG_BYTES);
+            byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
+            int overhead = LogSegmentFormat.LENGTH_SIZE + LogSegmentFormat.MAX_RECORD_OVERHEAD + tagBytes.length;
+            if (overhead + messageBytes.length > buffer.remaining()
+                    || now - segmentStart >= MAX_SEGMENT_AGE_MILLIS) {
+                rotate(now);
+                // 单条超过整个分段时截断
+                messageBytes = truncate(messageBytes, buffer.remaining() - overhead);
+            }
+
+            int start = buffer.position();
+            buffer.position(start + LogSegmentFormat.LENGTH_SIZE);
+            buffer.put((byte) priority);
+            buffer.putInt((int) (now - segmentStart));
+            LogSegmentFormat.putVarint(buffer, tagBytes.length);
+            buffer.put(tagBytes);
+            LogSegmentFormat.putVarint(buffer, messageBytes.length);
+            buffer.put(messageBytes);
+            // 长度最后写入，记录才算完整
+            buffer.putInt(start, buffer.position() - start - LogSegmentFormat.LENGTH_SIZE);
+
+            if (priority >= Log.ERROR) {
+                // 严重错误之后可能紧跟崩溃或断电，立即同步
+                buffer.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            disabled = true;
+            buffer = null;
+            Log.w(TAG, "Log file disabled", e);
+        }
+    }
+
+    private void openSegment(long now) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create log dir " + dir);
+        }
+        if (!recovered) {
+            recovered = true;
+            File[] leftovers = dir.listFiles((d, name) -> name.endsWith(LogSegmentFormat.ACTIVE_SUFFIX));
+            if (leftovers != null) {
+                for (File leftover : leftovers) {
+                    scheduleArchive(leftover);
+                }
+            }
+        }
+
+        File file = new File(dir, FILE_PREFIX + now + LogSegmentFormat.ACTIVE_SUFFIX);
+        for (int i = 1; file.exists(); i++) {
+            file = new File(dir, FILE_PREFIX + now + "-" + i + LogSegmentFormat.ACTIVE_SUFFIX);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(SEGMENT_SIZE);
+            // 映射在通道关闭后依然有效
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+        }
+        buffer.putInt(LogSegmentFormat.MAGIC);
+        buffer.putShort(LogSegmentFormat.VERSION);
+        buffer.putShort((short) 0);
+        buffer.putLong(now);
+        activeFile = file;
+        segmentStart = now;
+    }
+
+    private void rotate(long now) throws IOException {
+        buffer.force();
+        buffer = null;
+        scheduleArchive(activeFile);
+        openSegment(now);
+    }
+
+    private void scheduleArchive(File segment) {
+        archiver.execute(() -> {
+            try {
+                compress(segment);
+                pruneArchives();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to archive " + segment.getName(), e);
+            }
+        });
+    }
+
+    private void compress(File segment) throws IOException {
+        String name = segment.getName();
+        String baseName = name.substring(0, name.length() - LogSegmentFormat.ACTIVE_SUFFIX.length());
+        File target = new File(dir, baseName + LogSegmentFormat.ARCHIVE_SUFFIX);
+        File temp = new File(dir, baseName + LogSegmentFormat.ARCHIVE_SUFFIX + ".tmp");
+        try (InputStream in = new FileInputStream(segment);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(temp))) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot rename " + temp);
+        }
+        segment.delete();
+    }
+
+    private void pruneArchives() {
+        File[] archives = dir.listFiles((d, name) -> name.endsWith(LogSegmentFormat.ARCHIVE_SUFFIX));
+        if (archives == null || archives.length <= MAX_ARCHIVES) {
+            return;
+        }
+        // 文件名以创建时间开头，按名称排序即按时间排序
+        Arrays.sort(archives, (a, b) -> a.getName().compareTo(b.getName()));
+        for (int i = 0; i < archives.length - MAX_ARCHIVES; i++) {
+            archives[i].delete();
+        }
+    }
+
+    private static byte[] truncate(byte[] bytes, int maxLength) {
+        if (bytes.length <= maxLength) {
+            return bytes;
+        }
+        return Arrays.copyOf(bytes, Math.max(0, maxLength));
+    }
+}
@@ -1,14 +1,46 @@
 package com.rapid.android.core.log;
 
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import timber.log.Timber;
+import java.io.File;
+
+/**
+ * Release 环境不输出到 Logcat；指定了日志目录时 INFO 及以上级别写入内存映射文件，
+ * 未指定时所有级别在调用处即被丢弃。
+ */
+final class ReleaseTree implements LogSink {
+
+    private static final String DEFAULT_TAG = "LogKit";
+
+    @Nullable
+    private final MappedLogFile logFile;
+
+    ReleaseTree(@Nullable File logDir) {
+        this.logFile = logDir != null ? new MappedLogFile(logDir) : null;
+    }
 
-final class ReleaseTree extends Timber.Tree {
+    @Override
+    public int getMinPriority() {
+        return logFile != null ? Log.INFO : Log.ASSERT + 1;
+    }
+
+    @Override
+    public boolean needsCaller() {
+        return false;
+    }
 
     @Override
-    protected void log(int priority, @Nullable String tag, @NonNull String message, @Nullable Throwable t) {
-        // Release 环境可根据需要上报或写文件，这里默认不输出。
+    public void write(int priority, @Nullable String tag, @NonNull String message,
+                      @Nullable Throwable t, @Nullable StackTraceElement[] callerStack) {
+        if (logFile == null) {
+            return;
+        }
+        if (t != null) {
+            message += "\n" + Log.getStackTraceString(t);
+        }
+        logFile.append(priority, tag != null && !tag.isEmpty() ? tag : DEFAULT_TAG, message);
     }
 }
@@ -30,6 +30,10 @@ public class BaseResponse<T> {
         successCode = code;
     }
 
+    public static int getSuccessCode() {
+        return successCode;
+    }
+
     public int getErrorCode() {
         return errorCode;
     }
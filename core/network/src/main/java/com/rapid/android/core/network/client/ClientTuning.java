@@ -0,0 +1,102 @@
+package com.rapid.android.core.network.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Dns;
+
+/**
+ * 客户端的连接池、并发上限与预连接配置，通过 {@link NetworkClientManager#setTuning} 按 tag 指定
+ */
+public final class ClientTuning {
+
+    private final int maxIdleConnections;
+    private final long keepAliveMillis;
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final boolean preconnect;
+    @Nullable
+    private final Dns dns;
+
+    private ClientTuning(Builder builder) {
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAliveMillis = builder.keepAliveMillis;
+        this.maxRequests = builder.maxRequests;
+        this.maxRequestsPerHost = builder.maxRequestsPerHost;
+        this.preconnect = builder.preconnect;
+        this.dns = builder.dns;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public boolean isPreconnect() {
+        return preconnect;
+    }
+
+    @Nullable
+    public Dns getDns() {
+        return dns;
+    }
+
+    public static class Builder {
+        // 默认值与 OkHttp 一致
+        private int maxIdleConnections = 5;
+        private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 5;
+        private boolean preconnect = false;
+        private Dns dns;
+
+        public Builder connectionPool(int maxIdleConnections, long keepAlive, @NonNull TimeUnit unit) {
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAliveMillis = unit.toMillis(keepAlive);
+            return this;
+        }
+
+        public Builder maxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * 客户端创建后是否提前建立到 baseUrl 的连接
+         */
+        public Builder preconnect(boolean preconnect) {
+            this.preconnect = preconnect;
+            return this;
+        }
+
+        /**
+         * 该 tag 的客户端使用的 DNS，如 {@link com.rapid.android.core.network.dns.CachingDns}；为 null 时使用系统解析
+         */
+        public Builder dns(@Nullable Dns dns) {
+            this.dns = dns;
+            return this;
+        }
+
+        public ClientTuning build() {
+            return new ClientTuning(this);
+        }
+    }
+}
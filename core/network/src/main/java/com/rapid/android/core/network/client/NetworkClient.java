@@ -1,26 +1,47 @@
 package com.rapid.android.core.network.client;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.rapid.android.core.log.LogKit;
 import com.rapid.android.core.network.interceptor.LoggingInterceptor;
+import com.rapid.android.core.network.metrics.NetworkMetrics;
+import com.rapid.android.core.network.util.GsonProvider;
 import com.rapid.android.core.network.util.SslManager;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.CookieJar;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 public class NetworkClient {
 
+    private static final String TAG = "NetworkClient";
+
     private final Retrofit retrofit;
+    private final OkHttpClient okHttpClient;
+    private final String baseUrl;
+    @Nullable
+    private final ClientTuning tuning;
     private final OkHttpClient.Builder currentOkHttpBuilder;
     private final Retrofit.Builder currentRetrofitBuilder;
     private final String tag;
 
     private NetworkClient(Builder builder) {
         this.tag = builder.tag;
+        this.baseUrl = builder.baseUrl;
+        this.tuning = builder.tuning;
 
         OkHttpClient.Builder okHttpBuilder = builder.okHttpBuilder != null
                 ? builder.okHttpBuilder
@@ -32,10 +53,17 @@ public class NetworkClient {
 
         retrofitBuilder.baseUrl(builder.baseUrl);
 
+        if (tuning != null) {
+            applyTuning(okHttpBuilder, tuning);
+        }
+        if (builder.dns != null) {
+            okHttpBuilder.dns(builder.dns);
+        }
+
         this.currentOkHttpBuilder = okHttpBuilder;
         this.currentRetrofitBuilder = retrofitBuilder;
 
-        OkHttpClient okHttpClient = okHttpBuilder.build();
+        this.okHttpClient = okHttpBuilder.build();
         this.retrofit = retrofitBuilder
                 .client(okHttpClient)
                 .build();
@@ -50,6 +78,7 @@ public class NetworkClient {
                 .readTimeout(10, TimeUnit.SECONDS)
                 .writeTimeout(10, TimeUnit.SECONDS)
                 .addInterceptor(new LoggingInterceptor())
+                .eventListenerFactory(NetworkMetrics.getInstance().getEventListenerFactory())
                 .sslSocketFactory(
                         SslManager.getSSLSocketFactory(),
                         SslManager.getTrustManager()[0]
@@ -60,10 +89,22 @@ public class NetworkClient {
     @NonNull
     public static Retrofit.Builder getDefaultRetrofitBuilder() {
         return new Retrofit.Builder()
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.get()))
                 .addCallAdapterFactory(RxJava3CallAdapterFactory.create());
     }
 
+    private static void applyTuning(OkHttpClient.Builder okHttpBuilder, ClientTuning tuning) {
+        okHttpBuilder.connectionPool(new ConnectionPool(
+                tuning.getMaxIdleConnections(), tuning.getKeepAliveMillis(), TimeUnit.MILLISECONDS));
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(tuning.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(tuning.getMaxRequestsPerHost());
+        okHttpBuilder.dispatcher(dispatcher);
+        if (tuning.getDns() != null) {
+            okHttpBuilder.dns(tuning.getDns());
+        }
+    }
+
     // ========== 公共 API ==========
 
     public String getTag() {
@@ -75,6 +116,46 @@ public class NetworkClient {
         return retrofit;
     }
 
+    @NonNull
+    public OkHttpClient getOkHttpClient() {
+        return okHttpClient;
+    }
+
+    /**
+     * 在 Dispatcher 线程上向 baseUrl 发一个 HEAD 请求，提前完成 DNS、TCP 与 TLS，
+     * 建好的连接留在连接池中供首个业务请求复用。结果只影响耗时，失败时忽略。
+     * <p>
+     * 该请求不计入 {@link NetworkMetrics}，也不读写 Cookie：派生客户端与原客户端共用连接池和 Dispatcher，
+     * 只替换 CookieJar，避免预连接的响应改写登录态
+     */
+    public void preconnect() {
+        Request request;
+        try {
+            request = new Request.Builder()
+                    .url(baseUrl)
+                    .head()
+                    .tag(NetworkMetrics.Untracked.class, NetworkMetrics.Untracked.INSTANCE)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            LogKit.w(TAG, e, "Skip preconnect, invalid base url: %s", baseUrl);
+            return;
+        }
+        OkHttpClient preconnectClient = okHttpClient.newBuilder()
+                .cookieJar(CookieJar.NO_COOKIES)
+                .build();
+        preconnectClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                LogKit.d(TAG, "Preconnect to %s failed: %s", baseUrl, e.getMessage());
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                response.close();
+            }
+        });
+    }
+
     @NonNull
     public <T> T createService(@NonNull Class<T> service) {
         return retrofit.create(service);
@@ -97,6 +178,8 @@ public class NetworkClient {
         private String tag;
         private OkHttpClient.Builder okHttpBuilder;
         private Retrofit.Builder retrofitBuilder;
+        private ClientTuning tuning;
+        private Dns dns;
 
         public Builder(@NonNull String baseUrl) {
             this.baseUrl = baseUrl;
@@ -117,6 +200,19 @@ public class NetworkClient {
             return this;
         }
 
+        public Builder tuning(ClientTuning tuning) {
+            this.tuning = tuning;
+            return this;
+        }
+
+        /**
+         * 指定 DNS，优先于 {@link ClientTuning} 中的配置
+         */
+        public Builder dns(Dns dns) {
+            this.dns = dns;
+            return this;
+        }
+
         public NetworkClient build() {
             return new NetworkClient(this);
         }
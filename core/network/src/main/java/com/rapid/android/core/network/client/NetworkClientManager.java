@@ -1,6 +1,7 @@
 package com.rapid.android.core.network.client;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.HashSet;
 import java.util.Map;
@@ -14,6 +15,18 @@ public class NetworkClientManager {
 
     private static final String DEFAULT_TAG = "default";
     private static final Map<String, NetworkClient> clients = new ConcurrentHashMap<>();
+    private static final Map<String, ClientTuning> tunings = new ConcurrentHashMap<>();
+
+    /**
+     * 指定 tag 的连接池、并发上限与预连接配置，在该 tag 下次创建或重新初始化客户端时生效
+     */
+    public static void setTuning(@NonNull String tag, @NonNull ClientTuning tuning) {
+        tunings.put(tag, tuning);
+    }
+
+    public static void setDefaultTuning(@NonNull ClientTuning tuning) {
+        setTuning(DEFAULT_TAG, tuning);
+    }
 
     public static void initializeClient(String tag, String baseUrl) {
         if (baseUrl == null || baseUrl.trim().isEmpty()) {
@@ -39,22 +52,41 @@ public class NetworkClientManager {
         return client;
     }
 
+    /**
+     * 获取缓存的服务代理，客户端重新初始化后自动重建
+     */
+    public static <T> T getService(@NonNull String tag, @NonNull Class<T> service) {
+        return ServiceRegistry.get(tag, service);
+    }
+
+    public static <T> T getDefaultService(@NonNull Class<T> service) {
+        return ServiceRegistry.get(DEFAULT_TAG, service);
+    }
+
+    /**
+     * 在后台线程预解析默认客户端的服务接口
+     */
+    public static void prewarmDefaultServices(@NonNull Class<?>... services) {
+        ServiceRegistry.prewarm(DEFAULT_TAG, services);
+    }
+
     public static NetworkClient getOrCreate(String tag, String baseUrl) {
-        return clients.computeIfAbsent(tag, key ->
-                new NetworkClient.Builder(baseUrl).tag(tag).build()
-        );
+        return clients.computeIfAbsent(tag, key -> warmUp(
+                new NetworkClient.Builder(baseUrl).tag(tag).tuning(tunings.get(tag)).build()
+        ));
     }
 
     public static NetworkClient getOrCreate(String tag, String baseUrl,
                                             OkHttpClient.Builder okHttpBuilder,
                                             Retrofit.Builder retrofitBuilder) {
-        return clients.computeIfAbsent(tag, key ->
+        return clients.computeIfAbsent(tag, key -> warmUp(
                 new NetworkClient.Builder(baseUrl)
                         .tag(tag)
                         .okHttpBuilder(okHttpBuilder)
                         .retrofitBuilder(retrofitBuilder)
+                        .tuning(tunings.get(tag))
                         .build()
-        );
+        ));
     }
 
     /**
@@ -68,8 +100,12 @@ public class NetworkClientManager {
                 .tag(tag)
                 .okHttpBuilder(okHttpBuilder)
                 .retrofitBuilder(retrofitBuilder)
+                .tuning(tunings.get(tag))
                 .build();
-        clients.put(tag, newClient);
+        NetworkClient oldClient = clients.put(tag, newClient);
+        ServiceRegistry.invalidate(tag);
+        retire(oldClient, newClient);
+        warmUp(newClient);
     }
 
     /**
@@ -81,8 +117,37 @@ public class NetworkClientManager {
         reInitialize(DEFAULT_TAG, baseUrl, okHttpBuilder, retrofitBuilder);
     }
 
+    // 配置了预连接的客户端创建后立即预连接
+    private static NetworkClient warmUp(NetworkClient client) {
+        ClientTuning tuning = tunings.get(client.getTag());
+        if (tuning != null && tuning.isPreconnect()) {
+            client.preconnect();
+        }
+        return client;
+    }
+
+    /**
+     * 释放被替换客户端的空闲连接与 Dispatcher 线程；与新客户端共用的连接池或 Dispatcher 保留
+     */
+    private static void retire(@Nullable NetworkClient oldClient, @Nullable NetworkClient replacement) {
+        if (oldClient == null) {
+            return;
+        }
+        OkHttpClient old = oldClient.getOkHttpClient();
+        OkHttpClient current = replacement != null ? replacement.getOkHttpClient() : null;
+        if (current == null || current.connectionPool() != old.connectionPool()) {
+            old.connectionPool().evictAll();
+        }
+        if (current == null || current.dispatcher() != old.dispatcher()) {
+            // 已提交的请求照常完成，之后线程空闲退出
+            old.dispatcher().executorService().shutdown();
+        }
+    }
+
     public static void remove(String tag) {
-        clients.remove(tag);
+        NetworkClient oldClient = clients.remove(tag);
+        ServiceRegistry.invalidate(tag);
+        retire(oldClient, null);
     }
 
     public static Set<String> getAllTags() {
@@ -0,0 +1,153 @@
+package com.rapid.android.core.network.client;
+
+import androidx.annotation.NonNull;
+
+import com.rapid.android.core.log.LogKit;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+
+/**
+ * 按 NetworkClient tag 缓存 Retrofit 服务代理，避免热路径重复 {@code Retrofit.create}。
+ * 客户端被 {@link NetworkClientManager#reInitialize} 替换或移除时对应缓存失效。
+ */
+public final class ServiceRegistry {
+
+    private static final String TAG = "ServiceRegistry";
+
+    private static final Map<String, ClientServices> registry = new ConcurrentHashMap<>();
+    private static final AtomicLong createCount = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+
+    private ServiceRegistry() {
+    }
+
+    @NonNull
+    public static <T> T get(@NonNull String tag, @NonNull Class<T> service) {
+        NetworkClient client = NetworkClientManager.getClient(tag);
+        ClientServices services = registry.get(tag);
+        if (services == null || services.client != client) {
+            // 首次使用或客户端已被替换
+            services = registry.compute(tag, (key, current) ->
+                    current != null && current.client == client ? current : new ClientServices(client));
+        }
+        return services.get(service);
+    }
+
+    /**
+     * 在后台线程预先解析服务接口中 @GET/@POST 方法，使首个请求不再承担注解解析开销。
+     */
+    public static void prewarm(@NonNull String tag, @NonNull Class<?>... services) {
+        Schedulers.io().scheduleDirect(() -> {
+            long startNs = System.nanoTime();
+            int parsed = 0;
+            for (Class<?> service : services) {
+                try {
+                    parsed += parseMethods(get(tag, service), service);
+                } catch (RuntimeException e) {
+                    LogKit.w(TAG, e, "Prewarm failed: %s", service.getSimpleName());
+                }
+            }
+            LogKit.d(TAG, "Prewarmed %d methods for '%s' (%dms)",
+                    parsed, tag, (System.nanoTime() - startNs) / 1_000_000L);
+        });
+    }
+
+    static void invalidate(@NonNull String tag) {
+        registry.remove(tag);
+    }
+
+    public static long getCreateCount() {
+        return createCount.get();
+    }
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static float getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + createCount.get();
+        return total == 0 ? 0f : (float) hits / total;
+    }
+
+    // 以占位参数调用代理方法：Retrofit 会解析并缓存 ServiceMethod，
+    // 返回的 Observable 未被订阅，不会发起真实请求
+    private static int parseMethods(Object proxy, Class<?> service) {
+        int parsed = 0;
+        for (Method method : service.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(GET.class) && !method.isAnnotationPresent(POST.class)) {
+                continue;
+            }
+            Class<?>[] paramTypes = method.getParameterTypes();
+            Object[] args = new Object[paramTypes.length];
+            for (int i = 0; i < paramTypes.length; i++) {
+                args[i] = defaultValue(paramTypes[i]);
+            }
+            try {
+                method.invoke(proxy, args);
+                parsed++;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LogKit.w(TAG, "Prewarm skipped %s.%s: %s",
+                        service.getSimpleName(), method.getName(), e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    private static final class ClientServices {
+        final NetworkClient client;
+        final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+        ClientServices(NetworkClient client) {
+            this.client = client;
+        }
+
+        <T> T get(Class<T> service) {
+            Object cached = services.get(service);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                return service.cast(cached);
+            }
+            Object created = services.computeIfAbsent(service, key -> {
+                createCount.incrementAndGet();
+                return client.createService(key);
+            });
+            return service.cast(created);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.rapid.android.core.network.dns;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.rapid.android.core.log.LogKit;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import okhttp3.Dns;
+
+/**
+ * 带缓存的 DNS：解析结果在内存中按 TTL 缓存并持久化，进程重启后直接使用上次的结果。
+ * <ul>
+ *     <li>未过期：直接返回缓存</li>
+ *     <li>已过期但未超过 {@code staleTtl}：先返回旧记录，同时在后台刷新</li>
+ *     <li>超过 {@code staleTtl} 或没有记录：同步解析，失败时仍有旧记录则返回旧记录</li>
+ * </ul>
+ * 同一主机同时只有一次上游解析，并发的冷启动请求与后台刷新共用其结果。
+ * 返回的地址按 IPv4 / IPv6 交替排列，某一协议栈不可用时 OkHttp 能尽快尝试另一种地址。
+ */
+public final class CachingDns implements Dns {
+
+    private static final String TAG = "CachingDns";
+
+    private final Dns upstream;
+    @Nullable
+    private final DnsRecordStore store;
+    private final long ttlMillis;
+    private final long staleTtlMillis;
+    private final LongSupplier clock;
+    private final Executor executor;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /** 每个主机正在进行的上游解析 */
+    private final Map<String, FutureTask<Entry>> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    private CachingDns(Builder builder) {
+        this.upstream = builder.upstream;
+        this.store = builder.store;
+        this.ttlMillis = builder.ttlMillis;
+        this.staleTtlMillis = Math.max(builder.staleTtlMillis, builder.ttlMillis);
+        this.clock = builder.clock;
+        this.executor = builder.executor != null ? builder.executor : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dns-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @NonNull
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        ensureLoaded();
+        Entry entry = cache.get(hostname);
+        long now = clock.getAsLong();
+        if (entry != null) {
+            long age = now - entry.resolvedAt;
+            if (age < ttlMillis) {
+                return entry.addresses;
+            }
+            if (age < staleTtlMillis) {
+                refreshAsync(hostname);
+                return entry.addresses;
+            }
+        }
+        try {
+            return resolveShared(hostname).addresses;
+        } catch (UnknownHostException e) {
+            if (entry != null) {
+                LogKit.w(TAG, "Resolve %s failed, serving stale record: %s", hostname, e.getMessage());
+                return entry.addresses;
+            }
+            throw e;
+        }
+    }
+
+    private void refreshAsync(String hostname) {
+        if (!refreshing.add(hostname)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                resolveShared(hostname);
+            } catch (UnknownHostException | RuntimeException e) {
+                LogKit.d(TAG, "Background refresh of %s failed: %s", hostname, e.getMessage());
+            } finally {
+                refreshing.remove(hostname);
+            }
+        });
+    }
+
+    /**
+     * 同一主机已有解析在进行时等待其结果，否则由当前线程发起解析
+     */
+    private Entry resolveShared(String hostname) throws UnknownHostException {
+        FutureTask<Entry> task = new FutureTask<>(() -> resolve(hostname));
+        FutureTask<Entry> running = inFlight.putIfAbsent(hostname, task);
+        if (running == null) {
+            running = task;
+            try {
+                task.run();
+            } finally {
+                inFlight.remove(hostname, task);
+            }
+        }
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UnknownHostException) {
+                throw (UnknownHostException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            UnknownHostException wrapped = new UnknownHostException("Resolve " + hostname + " failed");
+            wrapped.initCause(cause);
+            throw wrapped;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnknownHostException("Interrupted while resolving " + hostname);
+        }
+    }
+
+    private Entry resolve(String hostname) throws UnknownHostException {
+        List<InetAddress> addresses = upstream.lookup(hostname);
+        if (addresses.isEmpty()) {
+            throw new UnknownHostException("No address for " + hostname);
+        }
+        Entry entry = new Entry(interleave(addresses), clock.getAsLong());
+        cache.put(hostname, entry);
+        persist(hostname, entry);
+        return entry;
+    }
+
+    private void persist(String hostname, Entry entry) {
+        if (store == null) {
+            return;
+        }
+        List<String> literals = new ArrayList<>(entry.addresses.size());
+        for (InetAddress address : entry.addresses) {
+            literals.add(address.getHostAddress());
+        }
+        DnsRecordStore.Record record = new DnsRecordStore.Record(literals, entry.resolvedAt);
+        executor.execute(() -> store.save(hostname, record));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (store != null) {
+                try {
+                    for (Map.Entry<String, DnsRecordStore.Record> item : store.loadAll().entrySet()) {
+                        Entry entry = fromRecord(item.getKey(), item.getValue());
+                        if (entry != null) {
+                            cache.putIfAbsent(item.getKey(), entry);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    LogKit.w(TAG, e, "Failed to load persisted dns records");
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    @Nullable
+    private static Entry fromRecord(String hostname, DnsRecordStore.Record record) {
+        List<InetAddress> addresses = new ArrayList<>(record.addresses.size());
+        for (String literal : record.addresses) {
+            try {
+                // 字面量只做格式解析，不会触发网络查询
+                InetAddress parsed = InetAddress.getByName(literal);
+                addresses.add(InetAddress.getByAddress(hostname, parsed.getAddress()));
+            } catch (UnknownHostException ignored) {
+                // 跳过无法解析的字面量
+            }
+        }
+        return addresses.isEmpty() ? null : new Entry(Collections.unmodifiableList(addresses), record.resolvedAt);
+    }
+
+    /**
+     * IPv4 与 IPv6 地址交替排列，IPv4 在前；同一协议内保持系统返回的顺序
+     */
+    @NonNull
+    static List<InetAddress> interleave(@NonNull List<InetAddress> addresses) {
+        List<InetAddress> v4 = new ArrayList<>();
+        List<InetAddress> v6 = new ArrayList<>();
+        for (InetAddress address : addresses) {
+            (address instanceof Inet6Address ? v6 : v4).add(address);
+        }
+        List<InetAddress> result = new ArrayList<>(addresses.size());
+        for (int i = 0; i < Math.max(v4.size(), v6.size()); i++) {
+            if (i < v4.size()) {
+                result.add(v4.get(i));
+            }
+            if (i < v6.size()) {
+                result.add(v6.get(i));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedAt;
+
+        Entry(List<InetAddress> addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    public static class Builder {
+        private Dns upstream = Dns.SYSTEM;
+        private DnsRecordStore store;
+        private long ttlMillis = TimeUnit.MINUTES.toMillis(10);
+        private long staleTtlMillis = TimeUnit.DAYS.toMillis(1);
+        private LongSupplier clock = System::currentTimeMillis;
+        private Executor executor;
+
+        /**
+         * 实际执行解析的 DNS，默认系统解析；测试时可替换为假实现
+         */
+        public Builder upstream(@NonNull Dns upstream) {
+            this.upstream = upstream;
+            return this;
+        }
+
+        public Builder store(@Nullable DnsRecordStore store) {
+            this.store = store;
+            return this;
+        }
+
+        public Builder ttl(long ttl, @NonNull TimeUnit unit) {
+            this.ttlMillis = unit.toMillis(ttl);
+            return this;
+        }
+
+        /**
+         * 记录过期后仍先返回旧值、在后台刷新的时间上限；超过后改为同步解析，解析失败时依然返回旧值
+         */
+        public Builder staleTtl(long staleTtl, @NonNull TimeUnit unit) {
+            this.staleTtlMillis = unit.toMillis(staleTtl);
+            return this;
+        }
+
+        public Builder clock(@NonNull LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * 后台刷新与持久化所用的线程，测试时可传入同步执行器
+         */
+        public Builder executor(@NonNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public CachingDns build() {
+            return new CachingDns(this);
+        }
+    }
+}
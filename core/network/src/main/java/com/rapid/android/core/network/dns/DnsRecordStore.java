@@ -0,0 +1,31 @@
+package com.rapid.android.core.network.dns;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DNS 解析结果的持久化，使进程重启后首个请求无需等待解析
+ */
+public interface DnsRecordStore {
+
+    /**
+     * 读取全部记录，只在首次解析前调用一次
+     */
+    @NonNull
+    Map<String, Record> loadAll();
+
+    void save(@NonNull String hostname, @NonNull Record record);
+
+    final class Record {
+        /** IP 字面量，如 "1.2.3.4"、"2001:db8::1" */
+        public final List<String> addresses;
+        public final long resolvedAt;
+
+        public Record(@NonNull List<String> addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.rapid.android.core.network.dns;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+
+import com.rapid.android.core.storage.PreferenceHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 以主机名为键保存在 MMKV 中，值为 "解析时间|地址1,地址2"
+ */
+public final class MmkvDnsRecordStore implements DnsRecordStore {
+
+    private static final String PREF_NAME = "dns_cache";
+
+    private final PreferenceHelper prefs = PreferenceHelper.with(PREF_NAME);
+
+    @NonNull
+    @Override
+    public Map<String, Record> loadAll() {
+        Map<String, Record> records = new HashMap<>();
+        for (String hostname : prefs.allKeys()) {
+            String value = prefs.getString(hostname, null);
+            if (value == null) {
+                continue;
+            }
+            int separator = value.indexOf('|');
+            if (separator <= 0 || separator == value.length() - 1) {
+                continue;
+            }
+            try {
+                long resolvedAt = Long.parseLong(value.substring(0, separator));
+                List<String> addresses = new ArrayList<>(Arrays.asList(value.substring(separator + 1).split(",")));
+                records.put(hostname, new Record(addresses, resolvedAt));
+            } catch (NumberFormatException ignored) {
+                prefs.remove(hostname);
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void save(@NonNull String hostname, @NonNull Record record) {
+        prefs.putString(hostname, record.resolvedAt + "|" + TextUtils.join(",", record.addresses));
+    }
+}
@@ -1,5 +1,7 @@
 package com.rapid.android.core.network.interceptor;
 
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 
 import com.rapid.android.core.log.LogKit;
@@ -18,6 +20,9 @@ public class LoggingInterceptor implements Interceptor {
     @Override
     public Response intercept(Chain chain) throws IOException {
         Request request = chain.request();
+        if (!LogKit.isLoggable(Log.DEBUG)) {
+            return chain.proceed(request);
+        }
         long startNs = System.nanoTime();
         LogKit.d(TAG, "→ %s %s", request.method(), request.url());
         Response response = chain.proceed(request);
@@ -0,0 +1,105 @@
+package com.rapid.android.core.network.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁耗时直方图（微秒），分桶方式参照 HdrHistogram：按 2 的幂分段，每段再等分 {@link #SUB_BUCKETS} 个子桶，
+ * 相对误差不超过 1/16。记录只有一次原子自增，可在 OkHttp 各线程上并发调用。
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** 覆盖到 2^40 微秒（约 12 天），超出的值计入最后一个桶 */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(0L, micros);
+        buckets.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxMicros() {
+        return max.get();
+    }
+
+    public long getMeanMicros() {
+        long total = count.get();
+        return total == 0 ? 0L : sum.get() / total;
+    }
+
+    /**
+     * 百分位耗时，返回所在桶的上界；无数据时为 0
+     *
+     * @param percentile 0~100
+     */
+    public long getPercentileMicros(double percentile) {
+        long total = 0L;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(total * Math.min(100d, Math.max(0d, percentile)) / 100d));
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.set(0L);
+        sum.set(0L);
+        max.set(0L);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.rapid.android.core.network.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * 每个调用一个实例，在阶段结束事件上把耗时写入所属路由的直方图。
+ * OkHttp 对同一调用的事件按顺序回调，字段无需同步。
+ */
+final class MetricsEventListener extends EventListener {
+
+    private final NetworkMetrics metrics;
+    private RouteMetrics route;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestStart;
+    private long requestEnd;
+    private long responseBodyStart;
+    /** 本次获取连接前是否新建了连接 */
+    private boolean connecting;
+
+    MetricsEventListener(@NonNull NetworkMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStart = System.nanoTime();
+        route = metrics.metricsFor(call.request());
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        record(NetworkPhase.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStart = System.nanoTime();
+        connecting = true;
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        record(NetworkPhase.TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, @Nullable Protocol protocol) {
+        record(NetworkPhase.CONNECT, connectStart);
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        if (route != null) {
+            route.onConnectionAcquired(!connecting);
+        }
+        connecting = false;
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        requestEnd = System.nanoTime();
+        // 没有请求体时写完请求头即写完请求；有请求体时在 requestBodyEnd 覆盖
+        if (request.body() == null) {
+            record(NetworkPhase.REQUEST_WRITE, requestStart, requestEnd);
+        }
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+        record(NetworkPhase.REQUEST_WRITE, requestStart, requestEnd);
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        record(NetworkPhase.TIME_TO_FIRST_BYTE, requestEnd);
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        record(NetworkPhase.BODY_READ, responseBodyStart);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        record(NetworkPhase.TOTAL, callStart);
+        if (route != null) {
+            route.onCallEnd(true);
+        }
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        if (route != null) {
+            route.onCallEnd(false);
+        }
+    }
+
+    private void record(NetworkPhase phase, long startNanos) {
+        record(phase, startNanos, System.nanoTime());
+    }
+
+    private void record(NetworkPhase phase, long startNanos, long endNanos) {
+        if (route == null || startNanos == 0L) {
+            return;
+        }
+        route.record(phase, (endNanos - startNanos) / 1000L);
+    }
+}
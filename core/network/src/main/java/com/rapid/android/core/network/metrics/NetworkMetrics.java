@@ -0,0 +1,146 @@
+package com.rapid.android.core.network.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import okhttp3.EventListener;
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * 网络耗时统计入口：按归一化路由（如 {@code /article/list/{page}/json}）汇总各阶段耗时与连接复用情况，
+ * 供调试面板与测试查询。
+ * <p>
+ * 通过 Retrofit 发起的请求直接使用接口注解中的路径模板；其他请求把纯数字路径段替换为 {@code {id}}。
+ * 带有 {@link Untracked} 标签的请求（如预连接）不计入统计。
+ */
+public final class NetworkMetrics {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private static volatile NetworkMetrics instance;
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private final Map<Method, String> templates = new ConcurrentHashMap<>();
+    private final EventListener.Factory eventListenerFactory = call -> call.request().tag(Untracked.class) != null
+            ? EventListener.NONE
+            : new MetricsEventListener(this);
+
+    private NetworkMetrics() {
+    }
+
+    public static NetworkMetrics getInstance() {
+        if (instance == null) {
+            synchronized (NetworkMetrics.class) {
+                if (instance == null) {
+                    instance = new NetworkMetrics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @NonNull
+    public EventListener.Factory getEventListenerFactory() {
+        return eventListenerFactory;
+    }
+
+    /**
+     * 指定路由的统计，尚无请求时返回 null
+     */
+    @Nullable
+    public RouteMetrics getRoute(@NonNull String route) {
+        return routes.get(route);
+    }
+
+    @NonNull
+    public List<RouteMetrics> getRoutes() {
+        return new ArrayList<>(routes.values());
+    }
+
+    public void reset() {
+        for (RouteMetrics metrics : routes.values()) {
+            metrics.reset();
+        }
+    }
+
+    @NonNull
+    RouteMetrics metricsFor(@NonNull Request request) {
+        String route = routeOf(request);
+        RouteMetrics metrics = routes.get(route);
+        if (metrics == null) {
+            metrics = routes.computeIfAbsent(route, RouteMetrics::new);
+        }
+        return metrics;
+    }
+
+    @NonNull
+    String routeOf(@NonNull Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            Method method = invocation.method();
+            String template = templates.get(method);
+            if (template == null) {
+                template = templateOf(method);
+                templates.put(method, template != null ? template : "");
+            }
+            if (template != null && !template.isEmpty()) {
+                return template;
+            }
+        }
+        return NUMERIC_SEGMENT.matcher(request.url().encodedPath()).replaceAll("/{id}");
+    }
+
+    @Nullable
+    private static String templateOf(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            String path = null;
+            if (annotation instanceof GET) {
+                path = ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                path = ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                path = ((PUT) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                path = ((DELETE) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                path = ((PATCH) annotation).value();
+            } else if (annotation instanceof HEAD) {
+                path = ((HEAD) annotation).value();
+            }
+            if (path != null && !path.isEmpty()) {
+                // 去掉查询参数，补齐前导斜杠
+                int query = path.indexOf('?');
+                if (query >= 0) {
+                    path = path.substring(0, query);
+                }
+                return path.startsWith("/") ? path : "/" + path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 请求标签，标记不计入耗时与连接复用统计的内部请求：{@code builder.tag(Untracked.class, Untracked.INSTANCE)}
+     */
+    public static final class Untracked {
+        public static final Untracked INSTANCE = new Untracked();
+
+        private Untracked() {
+        }
+    }
+}
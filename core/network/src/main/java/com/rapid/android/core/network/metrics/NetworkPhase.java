@@ -0,0 +1,21 @@
+package com.rapid.android.core.network.metrics;
+
+/**
+ * 一次请求中被计时的阶段
+ */
+public enum NetworkPhase {
+    /** DNS 解析 */
+    DNS,
+    /** 建立 TCP 连接（含 TLS 握手） */
+    CONNECT,
+    /** TLS 握手 */
+    TLS,
+    /** 写请求头与请求体 */
+    REQUEST_WRITE,
+    /** 请求写完到收到响应头 */
+    TIME_TO_FIRST_BYTE,
+    /** 读取响应体 */
+    BODY_READ,
+    /** 整个调用，含重试与重定向 */
+    TOTAL
+}
@@ -0,0 +1,106 @@
+package com.rapid.android.core.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个路由的统计：各阶段耗时直方图、调用与失败次数、连接复用情况
+ */
+public final class RouteMetrics {
+
+    private final String route;
+    private final LatencyHistogram[] phases = new LatencyHistogram[NetworkPhase.values().length];
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong reusedConnections = new AtomicLong();
+    private final AtomicLong newConnections = new AtomicLong();
+
+    RouteMetrics(@NonNull String route) {
+        this.route = route;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    @NonNull
+    public String getRoute() {
+        return route;
+    }
+
+    @NonNull
+    public LatencyHistogram getHistogram(@NonNull NetworkPhase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    public long getReusedConnectionCount() {
+        return reusedConnections.get();
+    }
+
+    public long getNewConnectionCount() {
+        return newConnections.get();
+    }
+
+    /**
+     * 连接复用率，取值 0~1，尚未获取过连接时为 0
+     */
+    public float getConnectionReuseRatio() {
+        long reused = reusedConnections.get();
+        long total = reused + newConnections.get();
+        return total == 0 ? 0f : (float) reused / total;
+    }
+
+    void record(NetworkPhase phase, long micros) {
+        phases[phase.ordinal()].record(micros);
+    }
+
+    void onCallEnd(boolean success) {
+        calls.incrementAndGet();
+        if (!success) {
+            failures.incrementAndGet();
+        }
+    }
+
+    void onConnectionAcquired(boolean reused) {
+        (reused ? reusedConnections : newConnections).incrementAndGet();
+    }
+
+    void reset() {
+        for (LatencyHistogram histogram : phases) {
+            histogram.reset();
+        }
+        calls.set(0L);
+        failures.set(0L);
+        reusedConnections.set(0L);
+        newConnections.set(0L);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(route)
+                .append(" calls=").append(calls.get())
+                .append(" failures=").append(failures.get())
+                .append(" reuse=").append(String.format("%.2f", getConnectionReuseRatio()));
+        for (NetworkPhase phase : NetworkPhase.values()) {
+            LatencyHistogram histogram = getHistogram(phase);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            builder.append(' ').append(phase.name())
+                    .append("[p50=").append(histogram.getPercentileMicros(50) / 1000d)
+                    .append(" p90=").append(histogram.getPercentileMicros(90) / 1000d)
+                    .append(" p99=").append(histogram.getPercentileMicros(99) / 1000d)
+                    .append("ms]");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.rapid.android.core.network.state;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import androidx.annotation.Nullable;
+
+/**
+ * 当前默认网络的粗粒度质量判断，供预取等可选的后台请求决定是否发起。
+ */
+public final class NetworkQuality {
+
+    /** 下行带宽低于该值（kbps）视为慢网，仅按需加载不做预取 */
+    private static final int SLOW_DOWNSTREAM_KBPS = 1_000;
+
+    public enum Level {
+        /** 无可用网络 */
+        OFFLINE,
+        /** 可用但带宽低 */
+        SLOW,
+        /** 计费网络（移动数据等） */
+        METERED,
+        /** 不计费且带宽充足 */
+        FAST
+    }
+
+    private NetworkQuality() {
+    }
+
+    public static Level current(@Nullable Context context) {
+        if (context == null) {
+            return Level.FAST;
+        }
+        ConnectivityManager cm = (ConnectivityManager) context.getApplicationContext()
+                .getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) {
+            return Level.FAST;
+        }
+        try {
+            Network network = cm.getActiveNetwork();
+            NetworkCapabilities caps = network != null ? cm.getNetworkCapabilities(network) : null;
+            if (caps == null || !caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)) {
+                return Level.OFFLINE;
+            }
+            int downKbps = caps.getLinkDownstreamBandwidthKbps();
+            if (downKbps > 0 && downKbps < SLOW_DOWNSTREAM_KBPS) {
+                return Level.SLOW;
+            }
+            if (cm.isActiveNetworkMetered()) {
+                return Level.METERED;
+            }
+            return Level.FAST;
+        } catch (SecurityException ignored) {
+            // 缺少权限时不做限制，退化为原有行为
+            return Level.FAST;
+        }
+    }
+}
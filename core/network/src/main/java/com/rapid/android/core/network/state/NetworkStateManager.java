@@ -27,6 +27,17 @@ public class NetworkStateManager implements DefaultLifecycleObserver {
         return S_MANAGER;
     }
 
+    /**
+     * 监听网络恢复；仅在有页面处于前台、回调已注册期间生效
+     */
+    public void addOnNetworkAvailableListener(@NonNull NetworkStateMonitor.OnNetworkAvailableListener listener) {
+        networkCallback.addOnNetworkAvailableListener(listener);
+    }
+
+    public void removeOnNetworkAvailableListener(@NonNull NetworkStateMonitor.OnNetworkAvailableListener listener) {
+        networkCallback.removeOnNetworkAvailableListener(listener);
+    }
+
     // tip：让 NetworkStateManager 可观察页面生命周期，
     // 从而在页面失去焦点时，
     // 及时断开本页面对网络状态的监测，以避免重复回调和一系列不可预期的问题。
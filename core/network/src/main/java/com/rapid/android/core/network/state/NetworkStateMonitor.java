@@ -7,11 +7,34 @@ import androidx.annotation.NonNull;
 
 import com.rapid.android.core.log.LogKit;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class NetworkStateMonitor extends ConnectivityManager.NetworkCallback {
 
+    /**
+     * 网络恢复可用时回调，运行在 ConnectivityManager 的回调线程
+     */
+    public interface OnNetworkAvailableListener {
+        void onNetworkAvailable();
+    }
+
+    private final List<OnNetworkAvailableListener> availableListeners = new CopyOnWriteArrayList<>();
+
+    void addOnNetworkAvailableListener(@NonNull OnNetworkAvailableListener listener) {
+        availableListeners.add(listener);
+    }
+
+    void removeOnNetworkAvailableListener(@NonNull OnNetworkAvailableListener listener) {
+        availableListeners.remove(listener);
+    }
+
     @Override
     public void onAvailable(@NonNull Network network) {
         LogKit.d("NetworkState", "Network available: %s", network.toString());
+        for (OnNetworkAvailableListener listener : availableListeners) {
+            listener.onNetworkAvailable();
+        }
     }
 
     @Override
@@ -0,0 +1,23 @@
+package com.rapid.android.core.network.util;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+
+/**
+ * 进程内共享的 Gson 实例，Retrofit 转换器、拦截器与响应缓存共用，避免重复构建类型适配器缓存
+ */
+public final class GsonProvider {
+
+    private GsonProvider() {
+    }
+
+    @NonNull
+    public static Gson get() {
+        return Holder.GSON;
+    }
+
+    private static class Holder {
+        static final Gson GSON = new Gson();
+    }
+}
@@ -0,0 +1,154 @@
+package com.rapid.android.core.network.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.rapid.android.core.network.metrics.NetworkMetrics;
+import com.rapid.android.core.network.metrics.NetworkPhase;
+import com.rapid.android.core.network.metrics.RouteMetrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cookie;
+import okhttp3.CookieJar;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+
+public class NetworkClientPreconnectTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000L;
+
+    private MockWebServer server;
+    private HandshakeCertificates clientCertificates;
+
+    @Before
+    public void setUp() throws Exception {
+        // 本地 HTTPS 服务，预连接需要完成 TLS 握手才有意义
+        String host = InetAddress.getByName("localhost").getCanonicalHostName();
+        HeldCertificate localhost = new HeldCertificate.Builder()
+                .addSubjectAlternativeName(host)
+                .build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(localhost)
+                .build();
+        clientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(localhost.certificate())
+                .build();
+        server = new MockWebServer();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        NetworkClientManager.remove("preconnect-test");
+        NetworkClientManager.remove("reinit-test");
+        server.shutdown();
+    }
+
+    @Test
+    public void firstRequestReusesPreconnectedConnection() throws Exception {
+        server.enqueue(new MockResponse().addHeader("Set-Cookie", "token=preconnect"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        List<Cookie> savedCookies = new CopyOnWriteArrayList<>();
+        NetworkClient client = new NetworkClient.Builder(server.url("/").toString())
+                .tag("preconnect-test")
+                .okHttpBuilder(trustingBuilder()
+                        .eventListenerFactory(NetworkMetrics.getInstance().getEventListenerFactory())
+                        .cookieJar(new CookieJar() {
+                            @Override
+                            public void saveFromResponse(HttpUrl url, List<Cookie> cookies) {
+                                savedCookies.addAll(cookies);
+                            }
+
+                            @Override
+                            public List<Cookie> loadForRequest(HttpUrl url) {
+                                return Collections.emptyList();
+                            }
+                        }))
+                .build();
+        OkHttpClient okHttpClient = client.getOkHttpClient();
+
+        client.preconnect();
+        RecordedRequest head = server.takeRequest(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertNotNull(head);
+        assertEquals("HEAD", head.getMethod());
+        assertNotNull(head.getHandshake());
+        awaitIdleConnections(okHttpClient, 1);
+
+        try (Response response = okHttpClient.newCall(new Request.Builder()
+                .url(server.url("/preconnect/list/0/json"))
+                .build()).execute()) {
+            assertEquals(200, response.code());
+        }
+
+        RecordedRequest get = server.takeRequest(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertNotNull(get);
+        // 同一 TLS 连接上的第二个请求
+        assertNotNull(get.getHandshake());
+        assertEquals(1, get.getSequenceNumber());
+
+        RouteMetrics route = NetworkMetrics.getInstance().getRoute("/preconnect/list/{id}/json");
+        assertNotNull(route);
+        assertEquals(1, route.getReusedConnectionCount());
+        assertEquals(0, route.getNewConnectionCount());
+        // 复用已握手的连接，首个业务请求没有 secureConnectStart / secureConnectEnd
+        assertEquals(0, route.getHistogram(NetworkPhase.TLS).getCount());
+        assertEquals(0, route.getHistogram(NetworkPhase.CONNECT).getCount());
+        // 预连接不计入统计，也不写入 Cookie
+        assertNull(NetworkMetrics.getInstance().getRoute("/"));
+        assertTrue(savedCookies.isEmpty());
+    }
+
+    @Test
+    public void reInitializeReleasesReplacedClient() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        String baseUrl = server.url("/").toString();
+
+        OkHttpClient old = NetworkClientManager.getOrCreate("reinit-test", baseUrl,
+                trustingBuilder(), NetworkClient.getDefaultRetrofitBuilder()).getOkHttpClient();
+        try (Response response = old.newCall(new Request.Builder().url(baseUrl).build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        awaitIdleConnections(old, 1);
+
+        NetworkClientManager.reInitialize("reinit-test", baseUrl,
+                trustingBuilder(), NetworkClient.getDefaultRetrofitBuilder());
+
+        assertEquals(0, old.connectionPool().connectionCount());
+        assertTrue(old.dispatcher().executorService().isShutdown());
+    }
+
+    private OkHttpClient.Builder trustingBuilder() {
+        return new OkHttpClient.Builder()
+                .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager());
+    }
+
+    private static void awaitIdleConnections(OkHttpClient client, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (client.connectionPool().idleConnectionCount() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Connection was not returned to the pool");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
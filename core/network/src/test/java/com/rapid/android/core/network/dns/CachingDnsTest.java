@@ -0,0 +1,196 @@
+package com.rapid.android.core.network.dns;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Dns;
+
+public class CachingDnsTest {
+
+    private static final String HOST = "www.example.com";
+    private static final long TTL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long STALE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Map<String, DnsRecordStore.Record> saved = new HashMap<>();
+    private final DnsRecordStore store = new DnsRecordStore() {
+        @Override
+        public Map<String, Record> loadAll() {
+            return new HashMap<>(saved);
+        }
+
+        @Override
+        public void save(String hostname, Record record) {
+            saved.put(hostname, record);
+        }
+    };
+
+    private long now = 1_000L;
+    private volatile boolean failing = false;
+    private volatile List<InetAddress> answer;
+
+    private final Dns upstream = hostname -> {
+        upstreamCalls.incrementAndGet();
+        if (failing) {
+            throw new UnknownHostException(hostname);
+        }
+        return answer;
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        answer = Arrays.asList(address("10.0.0.1"));
+    }
+
+    @Test
+    public void freshRecordIsServedFromCache() throws Exception {
+        CachingDns dns = newDns(store);
+
+        assertEquals(answer, dns.lookup(HOST));
+        now += TTL_MILLIS - 1;
+        assertEquals(answer, dns.lookup(HOST));
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    public void expiredRecordIsServedWhileRefreshing() throws Exception {
+        CachingDns dns = newDns(store);
+        List<InetAddress> first = dns.lookup(HOST);
+
+        answer = Arrays.asList(address("10.0.0.2"));
+        now += TTL_MILLIS;
+        // 过期但未超过 staleTtl：先返回旧记录，同步执行器上的后台刷新随即完成
+        assertEquals(first, dns.lookup(HOST));
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(answer, dns.lookup(HOST));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    public void staleRecordIsServedWhenResolveFails() throws Exception {
+        CachingDns dns = newDns(store);
+        List<InetAddress> first = dns.lookup(HOST);
+
+        failing = true;
+        now += STALE_TTL_MILLIS + 1;
+        assertEquals(first, dns.lookup(HOST));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    public void failureWithoutRecordPropagates() {
+        failing = true;
+        try {
+            newDns(store).lookup(HOST);
+            fail("Expected UnknownHostException");
+        } catch (UnknownHostException expected) {
+            assertEquals(1, upstreamCalls.get());
+        }
+    }
+
+    @Test
+    public void persistedRecordIsRestoredAfterRestart() throws Exception {
+        answer = Arrays.asList(address("10.0.0.1"), address("::1"));
+        newDns(store).lookup(HOST);
+        assertEquals(Arrays.asList("10.0.0.1", "0:0:0:0:0:0:0:1"), saved.get(HOST).addresses);
+
+        // 新进程：上游不可用，直接使用持久化的记录
+        failing = true;
+        upstreamCalls.set(0);
+        List<InetAddress> restored = newDns(store).lookup(HOST);
+
+        assertEquals(0, upstreamCalls.get());
+        assertEquals(2, restored.size());
+        assertEquals(HOST, restored.get(0).getHostName());
+        assertEquals("10.0.0.1", restored.get(0).getHostAddress());
+        assertTrue(restored.get(1) instanceof Inet6Address);
+    }
+
+    @Test
+    public void concurrentColdLookupsShareOneResolve() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Dns slow = hostname -> {
+            upstreamCalls.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return answer;
+        };
+        CachingDns dns = new CachingDns.Builder()
+                .upstream(slow)
+                .clock(() -> now)
+                .executor(Runnable::run)
+                .build();
+
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<InetAddress>>> results = new ArrayList<>();
+            results.add(pool.submit(() -> dns.lookup(HOST)));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> dns.lookup(HOST)));
+            }
+            // 给其余线程进入等待的时间
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<InetAddress>> result : results) {
+                assertEquals(answer, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    public void addressesAreInterleavedIpv4First() throws Exception {
+        InetAddress v6a = address("::1");
+        InetAddress v6b = address("::2");
+        InetAddress v4a = address("10.0.0.1");
+        InetAddress v4b = address("10.0.0.2");
+        InetAddress v4c = address("10.0.0.3");
+
+        assertEquals(Arrays.asList(v4a, v6a, v4b, v6b, v4c),
+                CachingDns.interleave(Arrays.asList(v6a, v6b, v4a, v4b, v4c)));
+    }
+
+    private CachingDns newDns(DnsRecordStore recordStore) {
+        return new CachingDns.Builder()
+                .upstream(upstream)
+                .store(recordStore)
+                .clock(() -> now)
+                .executor(Runnable::run)
+                .ttl(TTL_MILLIS, TimeUnit.MILLISECONDS)
+                .staleTtl(STALE_TTL_MILLIS, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static InetAddress address(String literal) throws UnknownHostException {
+        return InetAddress.getByName(literal);
+    }
+}
@@ -1,5 +1,8 @@
 package com.rapid.android.core.storage;
 
+/**
+ * 应用设置。各项设置读取一次后缓存在内存中，需要响应变化的地方通过句柄订阅，而不是反复读取
+ */
 public final class AppPreferencesStorage {
 
     private static final String PREF_NAME = "app_preferences";
@@ -14,38 +17,47 @@ public final class AppPreferencesStorage {
     private AppPreferencesStorage() {
     }
 
-    private static PreferenceHelper getPrefs() {
-        return PreferenceHelper.with(PREF_NAME);
-    }
+    private static final PreferenceHelper PREFS = PreferenceHelper.with(PREF_NAME);
+
+    private static final TypedPreference<Integer> THEME_MODE = TypedPreference.ofInt(PREFS, KEY_THEME_MODE, 0);
+    private static final TypedPreference<Boolean> NOTIFICATIONS = TypedPreference.ofBoolean(PREFS, KEY_NOTIFICATIONS, true);
+    private static final TypedPreference<Boolean> NOTIFICATION_PREFERENCE_REQUESTED =
+            TypedPreference.ofBoolean(PREFS, KEY_NOTIFICATION_PREFERENCE_REQUESTED, false);
+    private static final TypedPreference<Long> NOTIFICATION_PERMISSION_DENIED_TIME =
+            TypedPreference.ofLong(PREFS, KEY_NOTIFICATION_PERMISSION_DENIED_TIME, 0L);
+    private static final TypedPreference<Boolean> HOME_TOP_ENABLED = TypedPreference.ofBoolean(PREFS, KEY_HOME_TOP_ENABLED, false);
+    private static final TypedPreference<Boolean> NO_IMAGE_MODE = TypedPreference.ofBoolean(PREFS, KEY_NO_IMAGE_MODE, false);
+    private static final TypedPreference<Boolean> AUTO_HIDE_BOTTOM_BAR =
+            TypedPreference.ofBoolean(PREFS, KEY_AUTO_HIDE_BOTTOM_BAR, false);
 
     public static int getThemeModeValue() {
-        return getPrefs().getInt(KEY_THEME_MODE, 0);
+        return THEME_MODE.get();
     }
 
     public static void setThemeModeValue(int mode) {
-        getPrefs().putInt(KEY_THEME_MODE, mode);
+        THEME_MODE.set(mode);
     }
 
     public static boolean isNotificationsEnabled() {
-        return getPrefs().getBoolean(KEY_NOTIFICATIONS, true);
+        return NOTIFICATIONS.get();
     }
 
     public static void setNotificationsEnabled(boolean enabled) {
-        getPrefs().putBoolean(KEY_NOTIFICATIONS, enabled);
+        NOTIFICATIONS.set(enabled);
     }
 
     /**
      * 获取用户是否请求过通知偏好（记录用户意图）
      */
     public static boolean isNotificationPreferenceRequested() {
-        return getPrefs().getBoolean(KEY_NOTIFICATION_PREFERENCE_REQUESTED, false);
+        return NOTIFICATION_PREFERENCE_REQUESTED.get();
     }
 
     /**
      * 设置用户通知偏好请求状态
      */
     public static void setNotificationPreferenceRequested(boolean requested) {
-        getPrefs().putBoolean(KEY_NOTIFICATION_PREFERENCE_REQUESTED, requested);
+        NOTIFICATION_PREFERENCE_REQUESTED.set(requested);
     }
 
     /**
@@ -54,37 +66,49 @@ public final class AppPreferencesStorage {
      * @return 时间戳，如果从未被拒绝则返回 0
      */
     public static long getNotificationPermissionDeniedTime() {
-        return getPrefs().getLong(KEY_NOTIFICATION_PERMISSION_DENIED_TIME, 0);
+        return NOTIFICATION_PERMISSION_DENIED_TIME.get();
     }
 
     /**
      * 记录通知权限被拒绝的时间戳
      */
     public static void setNotificationPermissionDeniedTime(long timestamp) {
-        getPrefs().putLong(KEY_NOTIFICATION_PERMISSION_DENIED_TIME, timestamp);
+        NOTIFICATION_PERMISSION_DENIED_TIME.set(timestamp);
     }
 
     public static boolean isHomeTopEnabled() {
-        return getPrefs().getBoolean(KEY_HOME_TOP_ENABLED, false);
+        return HOME_TOP_ENABLED.get();
     }
 
     public static void setHomeTopEnabled(boolean enabled) {
-        getPrefs().putBoolean(KEY_HOME_TOP_ENABLED, enabled);
+        HOME_TOP_ENABLED.set(enabled);
     }
 
     public static boolean isNoImageModeEnabled() {
-        return getPrefs().getBoolean(KEY_NO_IMAGE_MODE, false);
+        return NO_IMAGE_MODE.get();
     }
 
     public static void setNoImageModeEnabled(boolean enabled) {
-        getPrefs().putBoolean(KEY_NO_IMAGE_MODE, enabled);
+        NO_IMAGE_MODE.set(enabled);
     }
 
     public static boolean isAutoHideBottomBarEnabled() {
-        return getPrefs().getBoolean(KEY_AUTO_HIDE_BOTTOM_BAR, false);
+        return AUTO_HIDE_BOTTOM_BAR.get();
     }
 
     public static void setAutoHideBottomBarEnabled(boolean enabled) {
-        getPrefs().putBoolean(KEY_AUTO_HIDE_BOTTOM_BAR, enabled);
+        AUTO_HIDE_BOTTOM_BAR.set(enabled);
+    }
+
+    public static TypedPreference<Boolean> homeTopEnabled() {
+        return HOME_TOP_ENABLED;
+    }
+
+    public static TypedPreference<Boolean> noImageMode() {
+        return NO_IMAGE_MODE;
+    }
+
+    public static TypedPreference<Boolean> autoHideBottomBar() {
+        return AUTO_HIDE_BOTTOM_BAR;
     }
 }
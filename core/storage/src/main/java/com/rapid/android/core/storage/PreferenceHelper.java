@@ -10,7 +10,9 @@ import com.tencent.mmkv.MMKV;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 基于 MMKV 的统一键值对存储工具类
@@ -18,6 +20,7 @@ import java.util.Set;
 public class PreferenceHelper {
 
     private static final String DEFAULT_MMKV_ID = "default_config";
+    private static final Map<String, PreferenceHelper> INSTANCES = new ConcurrentHashMap<>();
     private final MMKV mmkv;
 
     // 私有构造，防止外部 new
@@ -30,12 +33,12 @@ public class PreferenceHelper {
         return Holder.DEFAULT_INSTANCE;
     }
 
-    // 获取指定 ID 的实例（如用户专属配置）
+    // 获取指定 ID 的实例（如用户专属配置），同一 ID 复用同一个实例
     public static PreferenceHelper with(@NonNull String mmkvId) {
         if (TextUtils.isEmpty(mmkvId)) {
             throw new IllegalArgumentException("mmkvId cannot be empty");
         }
-        return new PreferenceHelper(mmkvId);
+        return INSTANCES.computeIfAbsent(mmkvId, PreferenceHelper::new);
     }
 
     public void putString(@NonNull String key, @Nullable String value) {
@@ -81,6 +84,15 @@ public class PreferenceHelper {
         return mmkv.decodeBool(key, defValue);
     }
 
+    public void putBytes(@NonNull String key, @Nullable byte[] value) {
+        mmkv.encode(key, value);
+    }
+
+    @Nullable
+    public byte[] getBytes(@NonNull String key) {
+        return mmkv.decodeBytes(key);
+    }
+
     public void putStringSet(@NonNull String key, @Nullable Set<String> value) {
         if (value == null) {
             mmkv.removeValueForKey(key);
@@ -132,6 +144,12 @@ public class PreferenceHelper {
         return mmkv.contains(key);
     }
 
+    @NonNull
+    public String[] allKeys() {
+        String[] keys = mmkv.allKeys();
+        return keys != null ? keys : new String[0];
+    }
+
     // 静态内部类单例（线程安全）
     private static class Holder {
         static final PreferenceHelper DEFAULT_INSTANCE = new PreferenceHelper(DEFAULT_MMKV_ID);
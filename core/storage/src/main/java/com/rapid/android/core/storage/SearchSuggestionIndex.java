@@ -0,0 +1,417 @@
+package com.rapid.android.core.storage;
+
+import android.text.TextUtils;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 搜索联想索引：搜索历史与热词合并在一棵前缀树中，按使用频次与最近使用时间排序。
+ * <p>
+ * 历史只在首次访问时从 MMKV 读取一次，之后的查询全部在内存中完成；修改后延迟合并写回，不阻塞调用线程。
+ * 热词只保存在内存中，由调用方在拉取后通过 {@link #setHotTerms(List)} 注入。
+ */
+public final class SearchSuggestionIndex {
+
+    private static final String PREF_NAME = "search_suggestions";
+    private static final String KEY_ENTRIES = "entries";
+    private static final String LEGACY_KEY_HISTORY = "history_list";
+
+    private static final int MAX_ENTRIES = 2000;
+    private static final long WRITE_DELAY_MILLIS = 1000L;
+    /** 使用频次的半衰期，越久未用的历史权重越低 */
+    private static final double HALF_LIFE_MILLIS = TimeUnit.DAYS.toMillis(14);
+    /** 热词的基础权重，低于一条刚用过的历史 */
+    private static final double HOT_WEIGHT = 0.5d;
+
+    private static volatile SearchSuggestionIndex instance;
+
+    private final PreferenceHelper prefs = PreferenceHelper.with(PREF_NAME);
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Node root = new Node();
+    private boolean writeScheduled = false;
+
+    private SearchSuggestionIndex() {
+        load();
+    }
+
+    public static SearchSuggestionIndex getInstance() {
+        if (instance == null) {
+            synchronized (SearchSuggestionIndex.class) {
+                if (instance == null) {
+                    instance = new SearchSuggestionIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 记录一次搜索：已存在的词累加频次并刷新时间，大小写不同视为同一个词
+     */
+    public synchronized void record(@Nullable String keyword) {
+        String text = sanitize(keyword);
+        if (text.isEmpty()) {
+            return;
+        }
+        String key = normalize(text);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key, text);
+            put(entry);
+        }
+        entry.text = text;
+        entry.count++;
+        entry.lastUsed = System.currentTimeMillis();
+        trimToCapacity();
+        scheduleWrite();
+    }
+
+    /**
+     * 替换当前热词，排在前面的热词权重更高
+     */
+    public synchronized void setHotTerms(@Nullable List<String> terms) {
+        List<Entry> stale = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            entry.hotRank = -1;
+            if (entry.count == 0) {
+                stale.add(entry);
+            }
+        }
+        for (Entry entry : stale) {
+            remove(entry);
+        }
+        if (terms == null) {
+            return;
+        }
+        for (int i = 0; i < terms.size(); i++) {
+            String text = sanitize(terms.get(i));
+            if (text.isEmpty()) {
+                continue;
+            }
+            String key = normalize(text);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key, text);
+                put(entry);
+            }
+            if (entry.hotRank < 0) {
+                entry.hotRank = i;
+            }
+        }
+    }
+
+    /**
+     * 以 {@code prefix} 开头的联想词，按权重从高到低
+     */
+    @NonNull
+    public synchronized List<String> suggest(@Nullable String prefix, int limit) {
+        String key = normalize(sanitize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        // 小顶堆保留权重最高的 limit 个
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1);
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            if (current.entry != null && !current.entry.key.equals(key)) {
+                top.offer(new Scored(current.entry, score(current.entry, now)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            if (current.children != null) {
+                for (int i = 0; i < current.children.size(); i++) {
+                    pending.push(current.children.valueAt(i));
+                }
+            }
+        }
+        List<String> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().entry.text);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 最近使用的搜索历史（不含热词），新的在前
+     */
+    @NonNull
+    public synchronized List<String> recent(int limit) {
+        List<Entry> history = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.count > 0) {
+                history.add(entry);
+            }
+        }
+        Collections.sort(history, (a, b) -> Long.compare(b.lastUsed, a.lastUsed));
+        List<String> result = new ArrayList<>(Math.min(limit, history.size()));
+        for (int i = 0; i < history.size() && i < limit; i++) {
+            result.add(history.get(i).text);
+        }
+        return result;
+    }
+
+    /**
+     * 清空搜索历史，热词保留
+     */
+    public synchronized void clearHistory() {
+        List<Entry> history = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.count > 0) {
+                history.add(entry);
+            }
+        }
+        for (Entry entry : history) {
+            if (entry.hotRank >= 0) {
+                entry.count = 0;
+                entry.lastUsed = 0L;
+            } else {
+                remove(entry);
+            }
+        }
+        scheduleWrite();
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.key, entry);
+        Node node = root;
+        for (int i = 0; i < entry.key.length(); i++) {
+            node = node.getOrCreateChild(entry.key.charAt(i));
+        }
+        node.entry = entry;
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.key);
+        Node[] path = new Node[entry.key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < entry.key.length(); i++) {
+            path[i + 1] = path[i].child(entry.key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[path.length - 1].entry = null;
+        // 自下而上剪掉已经不再通向任何词的节点
+        for (int i = path.length - 1; i > 0; i--) {
+            Node node = path[i];
+            if (node.entry != null || (node.children != null && node.children.size() > 0)) {
+                break;
+            }
+            path[i - 1].children.remove(entry.key.charAt(i - 1));
+        }
+    }
+
+    /**
+     * 超出容量时淘汰权重最低的历史
+     */
+    private void trimToCapacity() {
+        if (entries.size() <= MAX_ENTRIES) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Entry weakest = null;
+        double weakestScore = Double.MAX_VALUE;
+        for (Entry entry : entries.values()) {
+            if (entry.hotRank >= 0) {
+                continue;
+            }
+            double score = score(entry, now);
+            if (score < weakestScore) {
+                weakest = entry;
+                weakestScore = score;
+            }
+        }
+        if (weakest != null) {
+            remove(weakest);
+        }
+    }
+
+    private void scheduleWrite() {
+        if (writeScheduled) {
+            return;
+        }
+        writeScheduled = true;
+        // 短时间内的多次修改合并为一次写入
+        Schedulers.io().scheduleDirect(this::write, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void write() {
+        String serialized;
+        synchronized (this) {
+            writeScheduled = false;
+            StringBuilder builder = new StringBuilder();
+            for (Entry entry : entries.values()) {
+                if (entry.count == 0) {
+                    continue;
+                }
+                if (builder.length() > 0) {
+                    builder.append('\n');
+                }
+                builder.append(entry.count).append('\t')
+                        .append(entry.lastUsed).append('\t')
+                        .append(entry.text);
+            }
+            serialized = builder.toString();
+        }
+        if (serialized.isEmpty()) {
+            prefs.remove(KEY_ENTRIES);
+        } else {
+            prefs.putString(KEY_ENTRIES, serialized);
+        }
+    }
+
+    private void load() {
+        String stored = prefs.getString(KEY_ENTRIES, null);
+        if (stored == null) {
+            migrateLegacyHistory();
+            return;
+        }
+        for (String line : stored.split("\n")) {
+            String[] parts = line.split("\t", 3);
+            if (parts.length < 3 || parts[2].isEmpty()) {
+                continue;
+            }
+            try {
+                Entry entry = new Entry(normalize(parts[2]), parts[2]);
+                entry.count = Integer.parseInt(parts[0]);
+                entry.lastUsed = Long.parseLong(parts[1]);
+                put(entry);
+            } catch (NumberFormatException ignored) {
+                // 跳过损坏的行
+            }
+        }
+    }
+
+    /**
+     * 旧版本以 "||" 拼接保存在默认配置中的历史，导入后删除
+     */
+    private void migrateLegacyHistory() {
+        PreferenceHelper legacy = PreferenceHelper.getDefault();
+        String stored = legacy.getString(LEGACY_KEY_HISTORY, "");
+        if (TextUtils.isEmpty(stored)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String[] items = stored.split("\\|\\|");
+        for (int i = 0; i < items.length; i++) {
+            String text = sanitize(items[i]);
+            if (text.isEmpty() || entries.containsKey(normalize(text))) {
+                continue;
+            }
+            Entry entry = new Entry(normalize(text), text);
+            entry.count = 1;
+            // 保持原有的先后顺序
+            entry.lastUsed = now - i;
+            put(entry);
+        }
+        legacy.remove(LEGACY_KEY_HISTORY);
+        scheduleWrite();
+    }
+
+    private static double score(Entry entry, long now) {
+        double score = 0d;
+        if (entry.count > 0) {
+            long age = Math.max(0L, now - entry.lastUsed);
+            score += entry.count * Math.pow(0.5d, age / HALF_LIFE_MILLIS);
+        }
+        if (entry.hotRank >= 0) {
+            score += HOT_WEIGHT / (entry.hotRank + 1);
+        }
+        return score;
+    }
+
+    /**
+     * 去掉首尾空白，并把换行、制表符替换为空格（二者用作持久化的分隔符）
+     */
+    @NonNull
+    private static String sanitize(@Nullable String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ').trim();
+    }
+
+    @NonNull
+    private static String normalize(@NonNull String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        @Nullable
+        SparseArray<Node> children;
+        @Nullable
+        Entry entry;
+
+        @Nullable
+        Node child(char c) {
+            return children != null ? children.get(c) : null;
+        }
+
+        Node getOrCreateChild(char c) {
+            if (children == null) {
+                children = new SparseArray<>(2);
+            }
+            Node child = children.get(c);
+            if (child == null) {
+                child = new Node();
+                children.put(c, child);
+            }
+            return child;
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        String text;
+        int count;
+        long lastUsed;
+        /** 在当前热词中的位置，-1 表示不是热词 */
+        int hotRank = -1;
+
+        Entry(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    private static final class Scored implements Comparable<Scored> {
+        final Entry entry;
+        final double score;
+
+        Scored(Entry entry, double score) {
+            this.entry = entry;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.rapid.android.core.storage;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * 单个配置项的类型化句柄：首次读取后值保存在内存中，之后的读取不再访问 MMKV；
+ * 通过 {@link #set(Object)} 修改时同步写入并通知监听者。
+ * <p>
+ * 同一配置项应只创建一个句柄（通常作为静态常量），否则各句柄的内存值互不感知。
+ */
+public final class TypedPreference<T> {
+
+    private final PreferenceHelper helper;
+    private final String key;
+    private final T defaultValue;
+    private final Reader<T> reader;
+    private final Writer<T> writer;
+    private final CopyOnWriteArrayList<OnChangeListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile T snapshot;
+
+    private TypedPreference(PreferenceHelper helper, String key, T defaultValue, Reader<T> reader, Writer<T> writer) {
+        this.helper = helper;
+        this.key = key;
+        this.defaultValue = defaultValue;
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    @NonNull
+    public static TypedPreference<Boolean> ofBoolean(@NonNull PreferenceHelper helper, @NonNull String key, boolean defaultValue) {
+        return new TypedPreference<>(helper, key, defaultValue, PreferenceHelper::getBoolean, PreferenceHelper::putBoolean);
+    }
+
+    @NonNull
+    public static TypedPreference<Integer> ofInt(@NonNull PreferenceHelper helper, @NonNull String key, int defaultValue) {
+        return new TypedPreference<>(helper, key, defaultValue, PreferenceHelper::getInt, PreferenceHelper::putInt);
+    }
+
+    @NonNull
+    public static TypedPreference<Long> ofLong(@NonNull PreferenceHelper helper, @NonNull String key, long defaultValue) {
+        return new TypedPreference<>(helper, key, defaultValue, PreferenceHelper::getLong, PreferenceHelper::putLong);
+    }
+
+    @NonNull
+    public static TypedPreference<String> ofString(@NonNull PreferenceHelper helper, @NonNull String key, @NonNull String defaultValue) {
+        return new TypedPreference<>(helper, key, defaultValue,
+                (prefs, k, def) -> {
+                    String value = prefs.getString(k, def);
+                    return value != null ? value : def;
+                },
+                PreferenceHelper::putString);
+    }
+
+    @NonNull
+    public T get() {
+        T value = snapshot;
+        if (value == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = reader.read(helper, key, defaultValue);
+                }
+                value = snapshot;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 写入新值，与当前值相同时忽略；监听者在调用线程上收到通知
+     */
+    public void set(@NonNull T value) {
+        synchronized (this) {
+            if (value.equals(get())) {
+                return;
+            }
+            snapshot = value;
+            writer.write(helper, key, value);
+        }
+        for (OnChangeListener<T> listener : listeners) {
+            listener.onChanged(value);
+        }
+    }
+
+    public void addListener(@NonNull OnChangeListener<T> listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(@NonNull OnChangeListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 订阅时先发射当前值，之后每次修改发射新值；取消订阅即移除监听
+     */
+    @NonNull
+    public Observable<T> observe() {
+        return Observable.create(emitter -> {
+            OnChangeListener<T> listener = emitter::onNext;
+            addListener(listener);
+            emitter.setCancellable(() -> removeListener(listener));
+            emitter.onNext(get());
+        });
+    }
+
+    public interface OnChangeListener<T> {
+        void onChanged(@NonNull T value);
+    }
+
+    private interface Reader<T> {
+        T read(PreferenceHelper helper, String key, T defaultValue);
+    }
+
+    private interface Writer<T> {
+        void write(PreferenceHelper helper, String key, T value);
+    }
+}